@@ -0,0 +1,101 @@
+package com.brodygaudel.accountservice.benchmark;
+
+import com.brodygaudel.accountservice.command.aggregate.AccountAggregate;
+import com.brodygaudel.accountservice.command.cache.CaffeineAggregateCache;
+import com.brodygaudel.accountservice.command.model.CreateAccountCommand;
+import com.brodygaudel.accountservice.command.model.CreditAccountCommand;
+import com.brodygaudel.accountservice.command.model.DebitAccountCommand;
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.Currency;
+import org.axonframework.commandhandling.SimpleCommandBus;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.commandhandling.gateway.DefaultCommandGateway;
+import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.modelling.command.AggregateAnnotationCommandHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast {@link AccountAggregate} handles commands, from the command bus to the appended events.
+ *
+ * <p>
+ * The aggregate is set up as in the service, with the {@link CaffeineAggregateCache}, but on an in-memory event
+ * store, so that the numbers are those of Axon and of the aggregate rather than of Axon Server. The event store is
+ * recreated for each iteration, so that the appended events do not pile up.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountAggregateCommandBenchmark {
+
+    private EmbeddedEventStore eventStore;
+    private CommandGateway commandGateway;
+    private String accountId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        eventStore = EmbeddedEventStore.builder().storageEngine(new InMemoryEventStorageEngine()).build();
+        EventSourcingRepository<AccountAggregate> repository = EventSourcingRepository.builder(AccountAggregate.class)
+                .eventStore(eventStore)
+                .cache(new CaffeineAggregateCache(10_000, Duration.ofMinutes(10)))
+                .build();
+        SimpleCommandBus commandBus = SimpleCommandBus.builder().build();
+        AggregateAnnotationCommandHandler.<AccountAggregate>builder()
+                .aggregateType(AccountAggregate.class)
+                .repository(repository)
+                .build()
+                .subscribe(commandBus);
+        commandGateway = DefaultCommandGateway.builder().commandBus(commandBus).build();
+        accountId = UUID.randomUUID().toString();
+        commandGateway.sendAndWait(createCommand(accountId));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        eventStore.shutDown();
+    }
+
+    /**
+     * Creates a new account: a new aggregate, two events.
+     */
+    @Benchmark
+    public Object createAccount() {
+        return commandGateway.sendAndWait(createCommand(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * Credits an account already in the aggregate cache.
+     */
+    @Benchmark
+    public Object creditAccount() {
+        return commandGateway.sendAndWait(new CreditAccountCommand(accountId, "benchmark", BigDecimal.TEN, LocalDateTime.now()));
+    }
+
+    /**
+     * Debits an account already in the aggregate cache.
+     */
+    @Benchmark
+    public Object debitAccount() {
+        return commandGateway.sendAndWait(new DebitAccountCommand(accountId, "benchmark", BigDecimal.ONE, LocalDateTime.now()));
+    }
+
+    private static CreateAccountCommand createCommand(String id) {
+        return new CreateAccountCommand(id, AccountStatus.CREATED, BigDecimal.ZERO, Currency.EUR,
+                UUID.randomUUID().toString(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,117 @@
+package com.brodygaudel.accountservice.benchmark;
+
+import com.brodygaudel.accountservice.command.aggregate.AccountAggregate;
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.Currency;
+import com.brodygaudel.accountservice.common.event.AccountCreatedEvent;
+import com.brodygaudel.accountservice.common.event.AccountCreditedEvent;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventsourcing.AggregateSnapshotter;
+import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.GenericAggregateFactory;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to load an {@link AccountAggregate} from its events, with and without a snapshot.
+ *
+ * <p>
+ * The account has {@code events} events. With {@code snapshot}, a snapshot is taken and
+ * {@value #EVENTS_AFTER_SNAPSHOT} events are appended after it: half the default
+ * {@code account.snapshot.event-threshold}, the tail an aggregate has on average when it is loaded. The aggregate
+ * cache is left out, so that every load reads the event store. Run with {@code -p events=1000000} and a larger heap
+ * for the largest histories.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountAggregateReplayBenchmark {
+
+    private static final String AGGREGATE_TYPE = AccountAggregate.class.getSimpleName();
+    private static final String ACCOUNT_ID = "2024010100000001";
+    private static final int EVENTS_AFTER_SNAPSHOT = 250;
+    private static final int PUBLISH_BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    private int events;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private EmbeddedEventStore eventStore;
+    private EventSourcingRepository<AccountAggregate> repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eventStore = EmbeddedEventStore.builder().storageEngine(new InMemoryEventStorageEngine()).build();
+        repository = EventSourcingRepository.builder(AccountAggregate.class).eventStore(eventStore).build();
+        LocalDateTime creation = LocalDateTime.now();
+        int history = snapshot ? Math.max(1, events - EVENTS_AFTER_SNAPSHOT) : events;
+        append(0, history, creation);
+        if (snapshot) {
+            AggregateSnapshotter.builder()
+                    .eventStore(eventStore)
+                    .aggregateFactories(new GenericAggregateFactory<>(AccountAggregate.class))
+                    .build()
+                    .scheduleSnapshot(AccountAggregate.class, ACCOUNT_ID);
+            append(history, events, creation);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        eventStore.shutDown();
+    }
+
+    /**
+     * Loads the aggregate and reads its balance.
+     */
+    @Benchmark
+    public BigDecimal load() {
+        DefaultUnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(GenericCommandMessage.asCommandMessage("load"));
+        try {
+            return repository.load(ACCOUNT_ID).invoke(AccountAggregate::getBalance);
+        } finally {
+            unitOfWork.rollback();
+        }
+    }
+
+    /**
+     * Appends the events of sequence numbers {@code from} (inclusive) to {@code to} (exclusive): the creation of the
+     * account first, then credits.
+     */
+    private void append(int from, int to, LocalDateTime creation) {
+        List<DomainEventMessage<?>> batch = new ArrayList<>(PUBLISH_BATCH_SIZE);
+        for (int sequence = from; sequence < to; sequence++) {
+            Object payload = sequence == 0
+                    ? new AccountCreatedEvent(ACCOUNT_ID, AccountStatus.ACTIVATED, BigDecimal.ZERO, Currency.EUR, "customer", creation)
+                    : new AccountCreditedEvent(ACCOUNT_ID, "credit " + sequence, BigDecimal.ONE, creation.plusSeconds(sequence));
+            batch.add(new GenericDomainEventMessage<>(AGGREGATE_TYPE, ACCOUNT_ID, sequence, payload));
+            if (batch.size() == PUBLISH_BATCH_SIZE) {
+                eventStore.publish(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            eventStore.publish(batch);
+        }
+    }
+}
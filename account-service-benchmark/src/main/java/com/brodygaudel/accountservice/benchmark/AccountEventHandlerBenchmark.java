@@ -0,0 +1,97 @@
+package com.brodygaudel.accountservice.benchmark;
+
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.Currency;
+import com.brodygaudel.accountservice.common.event.AccountCreatedEvent;
+import com.brodygaudel.accountservice.common.event.AccountCreditedEvent;
+import com.brodygaudel.accountservice.common.event.AccountDebitedEvent;
+import com.brodygaudel.accountservice.query.service.AccountEventHandlerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the account projection: how many batches of credit and debit events
+ * {@link AccountEventHandlerService} writes per second.
+ *
+ * <p>
+ * Each batch is handled within a single transaction, as the tracking processor hands it over (see
+ * {@code ProjectionConfig}), and spreads its events over {@value #ACCOUNTS} accounts. Multiply the score by
+ * {@code batchSize} to get events per second. The operations written are deleted before each iteration.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountEventHandlerBenchmark {
+
+    private static final int ACCOUNTS = 100;
+
+    /** Events per transaction: 1, or the default {@code account.projection.batch-size} */
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private AccountEventHandlerService eventHandlerService;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("projection");
+        eventHandlerService = context.getBean(AccountEventHandlerService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime creation = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ACCOUNTS; i++) {
+                eventHandlerService.handle(new AccountCreatedEvent(accountId(i), AccountStatus.ACTIVATED,
+                        BigDecimal.valueOf(1_000_000), Currency.EUR, "customer-" + i, creation));
+            }
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void deleteOperations() {
+        jdbcTemplate.update("delete from operation");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void handleBatch() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < batchSize; i++) {
+                long next = sequence++;
+                String accountId = accountId((int) (next % ACCOUNTS));
+                LocalDateTime dateTime = LocalDateTime.now();
+                if ((next & 1) == 0) {
+                    eventHandlerService.handle(new AccountCreditedEvent(accountId, "credit", BigDecimal.TEN, dateTime));
+                } else {
+                    eventHandlerService.handle(new AccountDebitedEvent(accountId, "debit", BigDecimal.TEN, dateTime));
+                }
+            }
+        });
+    }
+
+    private static String accountId(int index) {
+        return String.format("%016d", index);
+    }
+}
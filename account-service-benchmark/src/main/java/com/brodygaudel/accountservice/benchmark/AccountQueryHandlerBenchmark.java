@@ -0,0 +1,85 @@
+package com.brodygaudel.accountservice.benchmark;
+
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.Currency;
+import com.brodygaudel.accountservice.query.dto.AccountDTO;
+import com.brodygaudel.accountservice.query.entity.Account;
+import com.brodygaudel.accountservice.query.model.GetAccountByCustomerIdQuery;
+import com.brodygaudel.accountservice.query.model.GetAccountByIdQuery;
+import com.brodygaudel.accountservice.query.repository.AccountRepository;
+import com.brodygaudel.accountservice.query.service.AccountQueryHandlerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast {@link AccountQueryHandlerService} reads accounts and maps them to {@link AccountDTO}, by ID and
+ * by customer ID, among {@value #ACCOUNTS} accounts.
+ *
+ * <p>
+ * With {@code queryCache} on, the accounts are read through the {@code AccountQueryCache} as in the service; with it
+ * off, every query reads the database.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountQueryHandlerBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+
+    @Param({"true", "false"})
+    private boolean queryCache;
+
+    private ConfigurableApplicationContext context;
+    private AccountQueryHandlerService queryHandlerService;
+    private List<GetAccountByIdQuery> byIdQueries;
+    private List<GetAccountByCustomerIdQuery> byCustomerIdQueries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("account-query", "account.query-cache.enabled=" + queryCache);
+        queryHandlerService = context.getBean(AccountQueryHandlerService.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        byIdQueries = new ArrayList<>(ACCOUNTS);
+        byCustomerIdQueries = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String id = String.format("%016d", i);
+            String customerId = "customer-" + i;
+            accounts.add(Account.builder().id(id).status(AccountStatus.ACTIVATED).balance(BigDecimal.TEN)
+                    .currency(Currency.EUR).customerId(customerId).creation(LocalDateTime.now()).build());
+            byIdQueries.add(new GetAccountByIdQuery(id));
+            byCustomerIdQueries.add(new GetAccountByCustomerIdQuery(customerId));
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountDTO getAccountById() {
+        return queryHandlerService.handle(byIdQueries.get(ThreadLocalRandom.current().nextInt(ACCOUNTS)));
+    }
+
+    @Benchmark
+    public AccountDTO getAccountByCustomerId() {
+        return queryHandlerService.handle(byCustomerIdQueries.get(ThreadLocalRandom.current().nextInt(ACCOUNTS)));
+    }
+}
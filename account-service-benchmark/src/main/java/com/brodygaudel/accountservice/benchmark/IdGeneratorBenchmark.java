@@ -0,0 +1,67 @@
+package com.brodygaudel.accountservice.benchmark;
+
+import com.brodygaudel.accountservice.command.util.IdGenerator;
+import com.brodygaudel.accountservice.command.util.implementation.BlockGenerator;
+import com.brodygaudel.accountservice.command.util.implementation.CounterRepository;
+import com.brodygaudel.accountservice.command.util.implementation.Generator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast account numbers are generated, by {@link Generator#autoGenerate()}, which updates the counter
+ * of the day for every number, and by the {@link BlockGenerator} of the service, which reserves them by blocks.
+ *
+ * <p>
+ * {@link Generator} runs in a transaction of its own, as its {@code @Transactional} proxy would. Run with
+ * {@code -t 8} to see how both behave when accounts are created concurrently.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({"counter", "block"})
+    private String strategy;
+
+    @Param({"100"})
+    private int blockSize;
+
+    private ConfigurableApplicationContext context;
+    private IdGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("id-generator");
+        CounterRepository counterRepository = context.getBean(CounterRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        if ("block".equals(strategy)) {
+            generator = new BlockGenerator(counterRepository, transactionManager, blockSize);
+        } else {
+            Generator counterGenerator = new Generator(counterRepository);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            generator = () -> transactionTemplate.execute(status -> counterGenerator.autoGenerate());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String autoGenerate() {
+        return generator.autoGenerate();
+    }
+}
@@ -0,0 +1,115 @@
+package com.brodygaudel.accountservice.benchmark;
+
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.Currency;
+import com.brodygaudel.accountservice.common.enums.OperationType;
+import com.brodygaudel.accountservice.query.dto.OperationCursorPageDTO;
+import com.brodygaudel.accountservice.query.dto.OperationDTO;
+import com.brodygaudel.accountservice.query.entity.Account;
+import com.brodygaudel.accountservice.query.entity.Operation;
+import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdAfterQuery;
+import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdQuery;
+import com.brodygaudel.accountservice.query.repository.AccountRepository;
+import com.brodygaudel.accountservice.query.repository.OperationRepository;
+import com.brodygaudel.accountservice.query.service.AccountQueryHandlerService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link AccountQueryHandlerService} takes to read a page of the operations of an account, by
+ * offset and by cursor, as the page number grows.
+ *
+ * <p>
+ * The account has {@value #OPERATIONS} operations, read by page of {@value #PAGE_SIZE}. The page {@code page} is read
+ * once with {@link GetOperationsByAccountIdQuery}, which skips the operations of the previous pages, and once with
+ * {@link GetOperationsByAccountIdAfterQuery}, which starts from the last operation of the previous page.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperationPageBenchmark {
+
+    private static final String ACCOUNT_ID = "2024010100000001";
+    private static final int OPERATIONS = 25_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    @Param({"1", "100", "1000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private AccountQueryHandlerService queryHandlerService;
+    private GetOperationsByAccountIdQuery offsetQuery;
+    private GetOperationsByAccountIdAfterQuery cursorQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("operation-page");
+        queryHandlerService = context.getBean(AccountQueryHandlerService.class);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        insert(start);
+
+        // operations are listed from the latest: the previous page ends with operation OPERATIONS - page * PAGE_SIZE
+        int lastOfPreviousPage = OPERATIONS - page * PAGE_SIZE;
+        offsetQuery = new GetOperationsByAccountIdQuery(ACCOUNT_ID, page, PAGE_SIZE);
+        cursorQuery = new GetOperationsByAccountIdAfterQuery(ACCOUNT_ID, start.plusSeconds(lastOfPreviousPage),
+                operationId(lastOfPreviousPage), PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OperationDTO> byOffset() {
+        return queryHandlerService.handle(offsetQuery);
+    }
+
+    @Benchmark
+    public OperationCursorPageDTO byCursor() {
+        return queryHandlerService.handle(cursorQuery);
+    }
+
+    private void insert(LocalDateTime start) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        OperationRepository operationRepository = context.getBean(OperationRepository.class);
+        context.getBean(AccountRepository.class).save(Account.builder().id(ACCOUNT_ID).status(AccountStatus.ACTIVATED)
+                .balance(BigDecimal.valueOf(OPERATIONS)).currency(Currency.EUR).customerId("customer")
+                .creation(start).build());
+        for (int from = 0; from < OPERATIONS; from += INSERT_BATCH_SIZE) {
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                Account account = entityManager.getReference(Account.class, ACCOUNT_ID);
+                for (int i = first; i < Math.min(OPERATIONS, first + INSERT_BATCH_SIZE); i++) {
+                    operationRepository.insert(Operation.builder().id(operationId(i)).account(account)
+                            .amount(BigDecimal.ONE).type(OperationType.CREDIT).description("credit " + i)
+                            .dateTime(start.plusSeconds(i)).build());
+                }
+            });
+        }
+    }
+
+    private static String operationId(int index) {
+        return String.format("operation-%08d", index);
+    }
+}
@@ -7,6 +7,8 @@ import com.brodygaudel.accountservice.common.enums.AccountStatus;
 import com.brodygaudel.accountservice.common.enums.Currency;
 
 import com.brodygaudel.accountservice.common.event.*;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.axonframework.commandhandling.CommandHandler;
@@ -26,11 +28,19 @@ import java.time.LocalDateTime;
  * This aggregate captures the state changes of an account, including creation, activation, suspension,
  * credit, and debit events. It applies the events and updates its internal state accordingly.
  * </p>
+ * <p>
+ * Snapshots are taken according to the {@code accountSnapshotTriggerDefinition} bean. They are serialized
+ * field by field with the general (Jackson) serializer, omitting {@code null} values to keep them compact.
+ * Loaded aggregates are kept in the {@code accountAggregateCache} bean between commands.
+ * </p>
  * @author Brody Gaudel MOUNANGA BOUKA
  * @since 2024
  * @version 3.0
  */
-@Aggregate
+@Aggregate(snapshotTriggerDefinition = "accountSnapshotTriggerDefinition", cache = "accountAggregateCache")
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE,
+        isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Slf4j
 @Getter
 public class AccountAggregate {
@@ -68,7 +78,7 @@ public class AccountAggregate {
      */
     @EventSourcingHandler
     public void on(@NotNull AccountCreatedEvent event){
-        log.info("# AccountCreatedEvent handled");
+        log.debug("# AccountCreatedEvent handled");
         this.accountId = event.getId();
         this.status = event.getStatus();
         this.balance = event.getBalance();
@@ -102,7 +112,7 @@ public class AccountAggregate {
      */
     @EventSourcingHandler
     public void on(@NotNull AccountDebitedEvent event) {
-        log.info("# AccountDebitedEvent handled");
+        log.debug("# AccountDebitedEvent handled");
         this.accountId = event.getId();
         this.balance = this.balance.subtract(event.getAmount());
         this.lastUpdate = event.getDateTime();
@@ -135,7 +145,7 @@ public class AccountAggregate {
      */
     @EventSourcingHandler
     public void on(@NotNull AccountCreditedEvent event) {
-        log.info("# AccountCreditedEvent handled");
+        log.debug("# AccountCreditedEvent handled");
         this.accountId = event.getId();
         this.lastUpdate = event.getDateTime();
         this.balance = this.balance.add(event.getAmount());
@@ -163,7 +173,7 @@ public class AccountAggregate {
      */
     @EventSourcingHandler
     public void on(@NotNull AccountActivatedEvent event) {
-        log.info("# AccountActivatedEvent handled");
+        log.debug("# AccountActivatedEvent handled");
         this.accountId = event.getId();
         this.status = event.getStatus();
         this.lastUpdate = event.getDateTime();
@@ -191,7 +201,7 @@ public class AccountAggregate {
      */
     @EventSourcingHandler
     public void on(@NotNull AccountSuspendedEvent event) {
-        log.info("# AccountSuspendedEvent handled");
+        log.debug("# AccountSuspendedEvent handled");
         this.accountId = event.getId();
         this.status = event.getStatus();
         this.lastUpdate = event.getDateTime();
@@ -215,8 +225,9 @@ public class AccountAggregate {
      */
     @EventSourcingHandler
     public void on(@NotNull AccountDeletedEvent event) {
-        log.info("# AccountDeletedEvent handled");
+        log.debug("# AccountDeletedEvent handled");
         this.accountId = event.getId();
+        AggregateLifecycle.markDeleted();
     }
 
 }
\ No newline at end of file
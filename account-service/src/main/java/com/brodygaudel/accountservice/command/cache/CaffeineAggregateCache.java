@@ -0,0 +1,131 @@
+package com.brodygaudel.accountservice.command.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.axonframework.common.Registration;
+import org.axonframework.common.caching.Cache;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+/**
+ * Axon {@link Cache} backed by a bounded Caffeine cache.
+ *
+ * <p>
+ * Entries are evicted once the cache holds more than {@code maximumSize} entries (least recently used first)
+ * or when they have not been accessed for {@code expireAfterAccess}. Statistics are recorded so that hits,
+ * misses and evictions can be exposed through Micrometer.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class CaffeineAggregateCache implements Cache {
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> delegate;
+    private final List<EntryListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new {@code CaffeineAggregateCache}.
+     *
+     * @param maximumSize       the maximum number of aggregates kept in the cache.
+     * @param expireAfterAccess the duration after which an aggregate that has not been accessed is evicted.
+     */
+    public CaffeineAggregateCache(long maximumSize, @NotNull Duration expireAfterAccess) {
+        this.delegate = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /**
+     * Returns the underlying Caffeine cache, used to bind its statistics to a meter registry.
+     *
+     * @return the underlying Caffeine cache.
+     */
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> V get(K key) {
+        return (V) delegate.getIfPresent(key);
+    }
+
+    @Override
+    public void put(@NotNull Object key, Object value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        Object previous = delegate.asMap().put(key, value);
+        if (previous == null) {
+            listeners.forEach(listener -> listener.onEntryCreated(key, value));
+        } else {
+            listeners.forEach(listener -> listener.onEntryUpdated(key, value));
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(@NotNull Object key, @NotNull Object value) {
+        boolean absent = delegate.asMap().putIfAbsent(key, value) == null;
+        if (absent) {
+            listeners.forEach(listener -> listener.onEntryCreated(key, value));
+        }
+        return absent;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> void computeIfPresent(@NotNull Object key, @NotNull UnaryOperator<V> update) {
+        Object updated = delegate.asMap().computeIfPresent(key, (k, current) -> update.apply((V) current));
+        if (updated != null) {
+            listeners.forEach(listener -> listener.onEntryUpdated(key, updated));
+        }
+    }
+
+    @Override
+    public boolean remove(@NotNull Object key) {
+        return delegate.asMap().remove(key) != null;
+    }
+
+    @Override
+    public void removeAll() {
+        delegate.invalidateAll();
+    }
+
+    @Override
+    public boolean containsKey(@NotNull Object key) {
+        return delegate.asMap().containsKey(key);
+    }
+
+    @Override
+    public Registration registerCacheEntryListener(@NotNull EntryListener cacheEntryListener) {
+        listeners.add(cacheEntryListener);
+        return () -> listeners.remove(cacheEntryListener);
+    }
+
+    /**
+     * Notifies the registered listeners when an entry leaves the cache.
+     *
+     * @param key   the key of the removed entry.
+     * @param value the removed value.
+     * @param cause the reason of the removal.
+     */
+    private void onRemoval(Object key, Object value, @NotNull RemovalCause cause) {
+        if (cause == RemovalCause.REPLACED) {
+            return;
+        }
+        if (cause == RemovalCause.EXPIRED) {
+            listeners.forEach(listener -> listener.onEntryExpired(key));
+        } else {
+            listeners.forEach(listener -> listener.onEntryRemoved(key));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.brodygaudel.accountservice.command.config;
+
+import com.brodygaudel.accountservice.command.cache.CaffeineAggregateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.common.caching.Cache;
+import org.axonframework.common.caching.NoCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-memory cache used by the {@code AccountAggregate} repository.
+ *
+ * <p>
+ * Cached aggregates are reused by subsequent commands without reading the event store. Axon removes an
+ * aggregate from the cache when the command handling it fails, and when the aggregate is marked deleted.
+ * Commands are routed to the same instance by aggregate id, so each replica only caches its own accounts.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Configuration
+public class AggregateCacheConfig {
+
+    /**
+     * Builds the cache referenced by the {@code AccountAggregate}.
+     *
+     * @param meterRegistry the registry to which hit, miss and eviction metrics are bound.
+     * @param enabled whether the aggregate cache is enabled.
+     * @param maximumSize the maximum number of aggregates kept in memory.
+     * @param expireAfterAccess the idle duration after which an aggregate is evicted.
+     * @return the {@link Cache} used by the account aggregate repository.
+     */
+    @Bean
+    public Cache accountAggregateCache(MeterRegistry meterRegistry,
+                                       @Value("${account.cache.enabled:true}") boolean enabled,
+                                       @Value("${account.cache.maximum-size:10000}") long maximumSize,
+                                       @Value("${account.cache.expire-after-access:PT10M}") Duration expireAfterAccess) {
+        log.info("Account aggregate cache: enabled={}, maximum-size={}, expire-after-access={}",
+                enabled, maximumSize, expireAfterAccess);
+        if (!enabled) {
+            return NoCache.INSTANCE;
+        }
+        CaffeineAggregateCache cache = new CaffeineAggregateCache(maximumSize, expireAfterAccess);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), "account-aggregate");
+        return cache;
+    }
+}
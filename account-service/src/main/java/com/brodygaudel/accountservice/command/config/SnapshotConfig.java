@@ -0,0 +1,124 @@
+package com.brodygaudel.accountservice.command.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventsourcing.AggregateLoadTimeSnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.EventCountSnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.NoSnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.SnapshotTrigger;
+import org.axonframework.eventsourcing.SnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.Snapshotter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the snapshotting strategy used by the {@code AccountAggregate}.
+ *
+ * <p>
+ * Without snapshots every command replays the full event stream of the targeted account. When enabled,
+ * a snapshot is taken once the number of events read since the last snapshot reaches
+ * {@code account.snapshot.event-threshold}, or once loading the aggregate took longer than
+ * {@code account.snapshot.load-time-threshold} milliseconds. A threshold lower or equal to zero disables
+ * the corresponding trigger.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Configuration
+public class SnapshotConfig {
+
+    /**
+     * Builds the snapshot trigger definition referenced by the {@code AccountAggregate}.
+     *
+     * @param snapshotter the snapshotter provided by the Axon auto-configuration.
+     * @param enabled whether snapshotting is enabled.
+     * @param eventThreshold the number of events after which a snapshot is taken.
+     * @param loadTimeThreshold the aggregate load time, in milliseconds, after which a snapshot is taken.
+     * @return the {@link SnapshotTriggerDefinition} to apply to the account aggregate.
+     */
+    @Bean
+    public SnapshotTriggerDefinition accountSnapshotTriggerDefinition(
+            Snapshotter snapshotter,
+            @Value("${account.snapshot.enabled:true}") boolean enabled,
+            @Value("${account.snapshot.event-threshold:500}") int eventThreshold,
+            @Value("${account.snapshot.load-time-threshold:0}") long loadTimeThreshold) {
+        List<SnapshotTriggerDefinition> definitions = new ArrayList<>();
+        if (enabled && eventThreshold > 0) {
+            definitions.add(new EventCountSnapshotTriggerDefinition(snapshotter, eventThreshold));
+        }
+        if (enabled && loadTimeThreshold > 0) {
+            definitions.add(new AggregateLoadTimeSnapshotTriggerDefinition(snapshotter, loadTimeThreshold));
+        }
+        log.info("Account snapshotting: enabled={}, event-threshold={}, load-time-threshold={}ms",
+                enabled, eventThreshold, loadTimeThreshold);
+        if (definitions.isEmpty()) {
+            return NoSnapshotTriggerDefinition.INSTANCE;
+        }
+        if (definitions.size() == 1) {
+            return definitions.get(0);
+        }
+        return new CompositeSnapshotTriggerDefinition(definitions);
+    }
+
+    /**
+     * {@link SnapshotTriggerDefinition} combining several definitions: a snapshot is scheduled as soon as
+     * one of them fires. Concurrent requests for the same aggregate are de-duplicated by the snapshotter.
+     */
+    static class CompositeSnapshotTriggerDefinition implements SnapshotTriggerDefinition {
+
+        private final List<SnapshotTriggerDefinition> definitions;
+
+        CompositeSnapshotTriggerDefinition(List<SnapshotTriggerDefinition> definitions) {
+            this.definitions = List.copyOf(definitions);
+        }
+
+        @Override
+        public SnapshotTrigger prepareTrigger(@NotNull Class<?> aggregateType) {
+            return new CompositeSnapshotTrigger(definitions.stream()
+                    .map(definition -> definition.prepareTrigger(aggregateType))
+                    .toList());
+        }
+
+        @Override
+        public SnapshotTrigger reconfigure(@NotNull Class<?> aggregateType, SnapshotTrigger trigger) {
+            if (trigger instanceof CompositeSnapshotTrigger composite) {
+                List<SnapshotTrigger> triggers = new ArrayList<>();
+                for (int i = 0; i < definitions.size(); i++) {
+                    triggers.add(definitions.get(i).reconfigure(aggregateType, composite.triggers.get(i)));
+                }
+                return new CompositeSnapshotTrigger(triggers);
+            }
+            return prepareTrigger(aggregateType);
+        }
+    }
+
+    /**
+     * {@link SnapshotTrigger} forwarding every notification to each of its delegates.
+     */
+    static class CompositeSnapshotTrigger implements SnapshotTrigger, Serializable {
+
+        private final List<SnapshotTrigger> triggers;
+
+        CompositeSnapshotTrigger(List<SnapshotTrigger> triggers) {
+            this.triggers = List.copyOf(triggers);
+        }
+
+        @Override
+        public void eventHandled(@NotNull EventMessage<?> msg) {
+            triggers.forEach(trigger -> trigger.eventHandled(msg));
+        }
+
+        @Override
+        public void initializationFinished() {
+            triggers.forEach(SnapshotTrigger::initializationFinished);
+        }
+    }
+}
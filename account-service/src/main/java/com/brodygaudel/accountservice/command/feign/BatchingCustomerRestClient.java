@@ -0,0 +1,205 @@
+package com.brodygaudel.accountservice.command.feign;
+
+import com.brodygaudel.accountservice.command.dto.CustomerDTO;
+import com.brodygaudel.accountservice.common.tracing.TraceContexts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Client retrieving customers one by one while sending them to the customer service in batches.
+ *
+ * <p>
+ * Lookups received within {@code window} of the first pending one are coalesced into a single
+ * {@link CustomerRestClient#getByIds(List)} call. A batch is sent earlier once it holds {@code maxBatchSize} IDs,
+ * which cannot exceed the {@value #MAX_BATCH_SIZE} IDs the customer service accepts per request.
+ * Batches are sent from a dedicated pool with a bounded queue: when its threads are busy and its queue is full, a
+ * batch is sent from the thread that filled it up, or whose window elapsed, slowing lookups down instead of piling
+ * batches up. With {@code spring.threads.virtual.enabled=true}, the threads of the pool are virtual threads. A batch
+ * is sent within the trace of the lookup that started it, or filled it up.
+ * </p>
+ *
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Slf4j
+@Component
+public class BatchingCustomerRestClient implements DisposableBean {
+
+    /**
+     * The maximum number of IDs the customer service accepts in a single request.
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final CustomerRestClient customerRestClient;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService sender;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private Map<String, CompletableFuture<CustomerDTO>> pending = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Constructs a new {@code BatchingCustomerRestClient} with its own pools.
+     *
+     * @param customerRestClient The client used to send the batches.
+     * @param threads            The number of threads sending batches.
+     * @param queueCapacity      The number of batches waiting for a thread.
+     * @param window             The time during which lookups are collected before a batch is sent.
+     * @param maxBatchSize       The maximum number of IDs per batch.
+     * @param virtualThreads     Whether the batches are sent from virtual threads.
+     */
+    @Autowired
+    public BatchingCustomerRestClient(CustomerRestClient customerRestClient,
+                                      @Value("${account.customer-lookup.threads:16}") int threads,
+                                      @Value("${account.customer-lookup.queue-capacity:1000}") int queueCapacity,
+                                      @Value("${account.customer-lookup.batch-window:PT0.005S}") Duration window,
+                                      @Value("${account.customer-lookup.max-batch-size:100}") int maxBatchSize,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(customerRestClient,
+                TraceContexts.propagating(new ScheduledThreadPoolExecutor(1,
+                        threadFactory("customer-lookup-timer-", virtualThreads))),
+                TraceContexts.propagating(new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), threadFactory("customer-lookup-", virtualThreads),
+                        new ThreadPoolExecutor.CallerRunsPolicy())),
+                window, maxBatchSize);
+    }
+
+    /**
+     * Constructs a new {@code BatchingCustomerRestClient}.
+     *
+     * @param customerRestClient The client used to send the batches.
+     * @param scheduler          The executor flushing the pending lookups once the window has elapsed.
+     * @param sender             The executor sending the batches.
+     * @param window             The time during which lookups are collected before a batch is sent.
+     * @param maxBatchSize       The maximum number of IDs per batch.
+     * @throws IllegalArgumentException if {@code maxBatchSize} is not between 1 and {@value #MAX_BATCH_SIZE}.
+     */
+    public BatchingCustomerRestClient(CustomerRestClient customerRestClient, ScheduledExecutorService scheduler,
+                                      ExecutorService sender, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("max batch size must be between 1 and " + MAX_BATCH_SIZE
+                    + ", was " + maxBatchSize);
+        }
+        this.customerRestClient = customerRestClient;
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Retrieves customer details by their unique ID, as part of the next batch.
+     *
+     * @param id The unique identifier of the customer.
+     * @return A CompletableFuture completed with the {@code CustomerDTO}, with {@code null} if the customer does
+     *         not exist, or exceptionally if the batch request failed.
+     */
+    public CompletableFuture<CustomerDTO> getById(String id) {
+        CompletableFuture<CustomerDTO> future;
+        Map<String, CompletableFuture<CustomerDTO>> full = null;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            Map<String, CompletableFuture<CustomerDTO>> batch = full;
+            sender.execute(() -> send(batch));
+        }
+        return future;
+    }
+
+    /**
+     * Shuts down the pools flushing and sending the batches.
+     */
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        sender.shutdown();
+    }
+
+    /**
+     * Creates the factory of the threads of a pool.
+     *
+     * @param prefix         The prefix of the names of the threads.
+     * @param virtualThreads Whether the threads are virtual threads.
+     * @return The thread factory.
+     */
+    private static ThreadFactory threadFactory(String prefix, boolean virtualThreads) {
+        return virtualThreads
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : new CustomizableThreadFactory(prefix);
+    }
+
+    /**
+     * Hands the pending lookups to the sending pool once the window has elapsed.
+     */
+    private void flush() {
+        Map<String, CompletableFuture<CustomerDTO>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            sender.execute(() -> send(batch));
+        }
+    }
+
+    /**
+     * Takes the pending lookups and cancels the scheduled flush. Must be called while holding the lock.
+     *
+     * @return The pending lookups, keyed by customer ID.
+     */
+    private Map<String, CompletableFuture<CustomerDTO>> drain() {
+        Map<String, CompletableFuture<CustomerDTO>> batch = pending;
+        pending = new HashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    /**
+     * Sends a batch to the customer service and completes the lookups it contains.
+     *
+     * @param batch The lookups to complete, keyed by customer ID.
+     */
+    private void send(Map<String, CompletableFuture<CustomerDTO>> batch) {
+        try {
+            List<CustomerDTO> customers = customerRestClient.getByIds(new ArrayList<>(batch.keySet()));
+            Map<String, CustomerDTO> byId = customers.stream()
+                    .collect(Collectors.toMap(CustomerDTO::id, Function.identity(), (first, second) -> first));
+            batch.forEach((id, future) -> future.complete(byId.get(id)));
+        } catch (RuntimeException e) {
+            log.warn("customer batch lookup of {} id(s) failed: {}", batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
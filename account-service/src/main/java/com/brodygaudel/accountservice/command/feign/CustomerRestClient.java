@@ -4,6 +4,10 @@ import com.brodygaudel.accountservice.command.dto.CustomerDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 
 /**
@@ -26,4 +30,13 @@ public interface CustomerRestClient {
      */
     @GetMapping("/bank/customers/get/{id}")
     CustomerDTO getById(@PathVariable String id);
+
+    /**
+     * Retrieves the details of several customers in a single request.
+     *
+     * @param ids The unique identifiers of the customers, at most 100 distinct values.
+     * @return The {@code CustomerDTO} of each customer found; unknown IDs are omitted.
+     */
+    @PostMapping("/bank/customers/get-all")
+    List<CustomerDTO> getByIds(@RequestBody List<String> ids);
 }
@@ -2,9 +2,9 @@ package com.brodygaudel.accountservice.command.service.implementation;
 
 import com.brodygaudel.accountservice.command.dto.*;
 import com.brodygaudel.accountservice.common.exception.CustomerNotFoundException;
-import com.brodygaudel.accountservice.command.feign.CustomerRestClient;
 import com.brodygaudel.accountservice.command.model.*;
 import com.brodygaudel.accountservice.command.service.AccountCommandService;
+import com.brodygaudel.accountservice.command.util.CustomerVerifier;
 import com.brodygaudel.accountservice.command.util.IdGenerator;
 import com.brodygaudel.accountservice.common.enums.AccountStatus;
 import lombok.extern.slf4j.Slf4j;
@@ -32,16 +32,18 @@ public class AccountCommandServiceImpl implements AccountCommandService {
 
     private final CommandGateway commandGateway;
     private final IdGenerator idGenerator;
-    private final CustomerRestClient customerRestClient;
+    private final CustomerVerifier customerVerifier;
 
-    public AccountCommandServiceImpl(CommandGateway commandGateway, IdGenerator idGenerator, CustomerRestClient customerRestClient) {
+    public AccountCommandServiceImpl(CommandGateway commandGateway, IdGenerator idGenerator, CustomerVerifier customerVerifier) {
         this.commandGateway = commandGateway;
         this.idGenerator = idGenerator;
-        this.customerRestClient = customerRestClient;
+        this.customerVerifier = customerVerifier;
     }
 
     /**
      * Creates a new account based on the provided DTO (Data Transfer Object).
+     * The customer is looked up asynchronously: the returned future completes exceptionally with a
+     * {@link CustomerNotFoundException} if the customer does not exist.
      *
      * @param dto The DTO containing information needed to create the account.
      * @return A CompletableFuture representing the asynchronous result of the operation,
@@ -50,12 +52,14 @@ public class AccountCommandServiceImpl implements AccountCommandService {
     @Override
     public CompletableFuture<String> create(@NotNull CreateAccountDTO dto) {
         log.info("# In create()");
-        if(customerNotExist(dto.customerId())){
-            throw new CustomerNotFoundException("customer not found");
-        }
-        return commandGateway.send(new CreateAccountCommand(idGenerator.autoGenerate(), AccountStatus.CREATED,
-                BigDecimal.ZERO, dto.currency(), dto.customerId(), LocalDateTime.now()
-        ));
+        return customerVerifier.existsAsync(dto.customerId()).thenCompose(exists -> {
+            if (Boolean.FALSE.equals(exists)) {
+                throw new CustomerNotFoundException("customer not found");
+            }
+            return commandGateway.send(new CreateAccountCommand(idGenerator.autoGenerate(), AccountStatus.CREATED,
+                    BigDecimal.ZERO, dto.currency(), dto.customerId(), LocalDateTime.now()
+            ));
+        });
     }
 
     /**
@@ -117,23 +121,4 @@ public class AccountCommandServiceImpl implements AccountCommandService {
         return commandGateway.send( new DeleteAccountCommand(id));
     }
 
-    /**
-     * Checks if a customer with the specified ID exists.
-     *
-     * @param customerId The ID of the customer to check for existence.
-     * @return {@code true} if a customer with the specified ID exists, {@code false} otherwise.
-     */
-    private boolean customerNotExist(String customerId) {
-        try {
-            // Attempt to retrieve the customer information by ID
-            CustomerDTO dto = customerRestClient.getById(customerId);
-            // Return true if the DTO is not null, indicating the customer exists
-            return dto == null;
-        } catch (Exception e) {
-            log.warn(e.getMessage());
-            // In case of any exception during retrieval, return false
-            return false;
-        }
-    }
-
 }
@@ -0,0 +1,20 @@
+package com.brodygaudel.accountservice.command.util;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for checking that a customer exists in the customer service.
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+public interface CustomerVerifier {
+
+    /**
+     * Checks asynchronously if a customer with the specified ID exists.
+     * @param customerId The ID of the customer to check for existence.
+     * @return A CompletableFuture completed with {@code true} if a customer with the specified ID exists,
+     *         {@code false} otherwise, or completed exceptionally if the customer service could not be reached.
+     */
+    CompletableFuture<Boolean> existsAsync(String customerId);
+}
@@ -0,0 +1,180 @@
+package com.brodygaudel.accountservice.command.util.implementation;
+
+import com.brodygaudel.accountservice.command.util.IdGenerator;
+import com.brodygaudel.accountservice.common.exception.MaxAccountPerDayException;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Service class responsible for generating unique IDs from blocks of counter values reserved in advance.
+ * Implements the IdGenerator interface.
+ *
+ * <p>
+ * Instead of updating the {@link Counter} row of the day for every ID, this generator reserves a block of
+ * {@code blockSize} values in a short dedicated transaction holding a row lock, then hands them out from
+ * memory. Several replicas can run concurrently: each reservation moves the counter forward, so two
+ * instances never receive overlapping blocks. Values of a block that are not used before a restart or
+ * before the end of the day are skipped, IDs therefore stay unique but are not contiguous.
+ * </p>
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "account.id-generator.strategy", havingValue = "block", matchIfMissing = true)
+public class BlockGenerator implements IdGenerator {
+
+    /** Date formatter for generating date-based IDs */
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /** Maximum number of accounts that can be generated per day */
+    private static final int MAX_ACCOUNTS_PER_DAY = 99999999;
+
+    /**
+     * Number of attempts made to reserve a block when the counter of the day is created concurrently, or when the
+     * reservation loses a deadlock or times out waiting for the row lock
+     */
+    private static final int MAX_RESERVATION_ATTEMPTS = 3;
+
+    /** Repository for accessing and storing counter values */
+    private final CounterRepository counterRepository;
+
+    /** Template running each reservation in its own transaction */
+    private final TransactionTemplate transactionTemplate;
+
+    /** Number of counter values reserved at once */
+    private final int blockSize;
+
+    /** Clock giving the current day */
+    private final Clock clock;
+
+    /** Day of the current block */
+    private LocalDate blockDate;
+
+    /** Next value to hand out from the current block */
+    private int next;
+
+    /** Last value of the current block */
+    private int last;
+
+    /**
+     * Constructor for BlockGenerator class.
+     * @param counterRepository The repository for counter values.
+     * @param transactionManager The transaction manager used to reserve blocks.
+     * @param blockSize The number of counter values reserved at once.
+     */
+    @Autowired
+    public BlockGenerator(CounterRepository counterRepository, PlatformTransactionManager transactionManager,
+                          @Value("${account.id-generator.block-size:100}") int blockSize) {
+        this(counterRepository, transactionManager, blockSize, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor for BlockGenerator class.
+     * @param counterRepository The repository for counter values.
+     * @param transactionManager The transaction manager used to reserve blocks.
+     * @param blockSize The number of counter values reserved at once.
+     * @param clock The clock giving the current day.
+     */
+    public BlockGenerator(CounterRepository counterRepository, PlatformTransactionManager transactionManager,
+                          int blockSize, Clock clock) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("block size must be greater than 0");
+        }
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Generates a unique ID based on the current date and a counter value.
+     * @return The generated unique ID.
+     * @throws MaxAccountPerDayException if the maximum account limit for the day is reached.
+     */
+    @Override
+    public synchronized String autoGenerate() {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(blockDate) || next > last) {
+            reserveBlock(today);
+        }
+        int ctr = next++;
+        return today.format(DATE_FORMATTER) + String.format("%08d", ctr);
+    }
+
+    /**
+     * Reserves the next block of counter values of the given day.
+     * @param day The day of the block.
+     * @throws MaxAccountPerDayException if the maximum account limit for the day is reached.
+     */
+    private void reserveBlock(LocalDate day) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer previous = transactionTemplate.execute(status -> moveCounter(day));
+                if (previous == null) {
+                    throw new IllegalStateException("block reservation returned no value");
+                }
+                this.blockDate = day;
+                this.next = previous + 1;
+                this.last = endOfBlock(previous);
+                log.debug("counter block [{}, {}] reserved for {}", next, last, day);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // another instance created the counter of the day first: its row can now be locked
+                if (attempt >= MAX_RESERVATION_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("counter of {} created concurrently, retrying reservation", day);
+            } catch (PessimisticLockingFailureException e) {
+                // two instances locked the gap of a missing counter and both inserted it: the database aborted one
+                if (attempt >= MAX_RESERVATION_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("counter of {} locked concurrently, retrying reservation", day);
+            }
+        }
+    }
+
+    /**
+     * Moves the counter of the given day forward by one block, creating it if needed.
+     * Must run inside a transaction so that the row stays locked until the reservation is committed.
+     * @param day The day of the counter.
+     * @return The value of the counter before the reservation.
+     * @throws MaxAccountPerDayException if the maximum account limit for the day is reached.
+     */
+    private int moveCounter(LocalDate day) {
+        Counter counter = counterRepository.findByDateForUpdate(day)
+                .orElseGet(() -> Counter.builder().count(0).date(day).build());
+        int previous = counter.getCount();
+        if (previous >= MAX_ACCOUNTS_PER_DAY) {
+            throw new MaxAccountPerDayException("Bank account limit reached for today.");
+        }
+        counter.setCount(endOfBlock(previous));
+        counterRepository.saveAndFlush(counter);
+        return previous;
+    }
+
+    /**
+     * Computes the last value of the block starting right after the given counter value.
+     * @param previous The value of the counter before the reservation.
+     * @return The last value of the block, capped to the maximum number of accounts per day.
+     */
+    private int endOfBlock(int previous) {
+        return (int) Math.min((long) previous + blockSize, MAX_ACCOUNTS_PER_DAY);
+    }
+}
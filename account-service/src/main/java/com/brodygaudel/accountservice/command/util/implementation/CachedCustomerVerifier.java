@@ -0,0 +1,96 @@
+package com.brodygaudel.accountservice.command.util.implementation;
+
+import com.brodygaudel.accountservice.command.feign.BatchingCustomerRestClient;
+import com.brodygaudel.accountservice.command.util.CustomerVerifier;
+import com.brodygaudel.accountservice.common.tracing.TraceContexts;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service class checking customer existence through the {@link BatchingCustomerRestClient}, with a cache in front of it.
+ * Implements the CustomerVerifier interface.
+ *
+ * <p>
+ * Both answers are cached: existing customers for {@code positiveTtl}, unknown customers for the usually shorter
+ * {@code negativeTtl}. Failed lookups are never cached. Concurrent lookups of the same customer share a single
+ * pending lookup, and lookups of different customers are coalesced into batch requests by the client.
+ * </p>
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Service
+public class CachedCustomerVerifier implements CustomerVerifier {
+
+    /** Client used to retrieve customers from the customer service */
+    private final BatchingCustomerRestClient customerRestClient;
+
+    /** Cache of customer existence, keyed by customer ID */
+    private final AsyncCache<String, Boolean> cache;
+
+    /**
+     * Constructor for CachedCustomerVerifier class.
+     * @param customerRestClient The client used to retrieve customers.
+     * @param meterRegistry The registry to which hit, miss and eviction metrics are bound.
+     * @param maximumSize The maximum number of customers kept in the cache.
+     * @param positiveTtl The duration during which an existing customer is cached.
+     * @param negativeTtl The duration during which an unknown customer is cached.
+     */
+    public CachedCustomerVerifier(BatchingCustomerRestClient customerRestClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${account.customer-cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${account.customer-cache.positive-ttl:PT10M}") Duration positiveTtl,
+                                  @Value("${account.customer-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.customerRestClient = customerRestClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExistenceExpiry(positiveTtl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "customer-existence");
+    }
+
+    /**
+     * Checks asynchronously if a customer with the specified ID exists.
+     * @param customerId The ID of the customer to check for existence.
+     * @return A CompletableFuture completed with {@code true} if a customer with the specified ID exists,
+     *         {@code false} otherwise, or completed exceptionally if the customer service could not be reached.
+     *         It completes within the trace of the caller, even when the lookup is shared with other callers.
+     */
+    @Override
+    public CompletableFuture<Boolean> existsAsync(String customerId) {
+        return TraceContexts.inCallerTrace(
+                cache.get(customerId, (id, executor) -> customerRestClient.getById(id).thenApply(Objects::nonNull)));
+    }
+
+    /**
+     * Expiry policy caching existing and unknown customers for different durations.
+     */
+    private record ExistenceExpiry(Duration positiveTtl, Duration negativeTtl) implements Expiry<String, Boolean> {
+
+        @Override
+        public long expireAfterCreate(@NotNull String key, @NotNull Boolean exists, long currentTime) {
+            return (Boolean.TRUE.equals(exists) ? positiveTtl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(@NotNull String key, @NotNull Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(@NotNull String key, @NotNull Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.brodygaudel.accountservice.command.util.implementation;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
@@ -10,4 +12,14 @@ public interface CounterRepository extends JpaRepository<Counter, String> {
 
     @Query("select c from Counter c where c.date =?1")
     Optional<Counter> findByDate(LocalDate localDate);
+
+    /**
+     * Retrieves the counter of the given day and locks its row until the end of the current transaction.
+     *
+     * @param localDate The day of the counter.
+     * @return The locked counter, if it exists.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Counter c where c.date =?1")
+    Optional<Counter> findByDateForUpdate(LocalDate localDate);
 }
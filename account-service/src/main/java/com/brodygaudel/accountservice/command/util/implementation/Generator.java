@@ -3,6 +3,7 @@ package com.brodygaudel.accountservice.command.util.implementation;
 import com.brodygaudel.accountservice.command.util.IdGenerator;
 import com.brodygaudel.accountservice.common.exception.MaxAccountPerDayException;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,12 +14,14 @@ import java.util.Optional;
 /**
  * Service class responsible for generating unique IDs.
  * Implements the IdGenerator interface.
+ * Updates the counter of the day for every ID, see {@link BlockGenerator} for the default implementation.
  * @since 2024
  * @version 3.0
  * @author Brody Gaudel MOUNANGA BOUKA
  */
 @Service
 @Transactional
+@ConditionalOnProperty(name = "account.id-generator.strategy", havingValue = "counter")
 public class Generator implements IdGenerator {
 
     /** Date formatter for generating date-based IDs */
@@ -0,0 +1,69 @@
+package com.brodygaudel.accountservice.common.config;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import io.opentelemetry.api.trace.Span;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Configuration of what the service traces.
+ *
+ * <p>
+ * Requests, Feign calls, Axon messages and JDBC statements are traced, with the W3C {@code traceparent} format.
+ * JDBC statements are only traced within a trace, so that the event store polling of the tracking processors and
+ * the token claims do not each start a trace of their own, and the requests to the actuator are not traced.
+ * </p>
+ * <p>
+ * The span current on a thread is carried to the tasks it submits to the pools of the service along with its
+ * observation, since the observation current within a transaction is the one of its JDBC connection, which is not
+ * observed unless {@code jdbc.includes} has {@code connection}.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Only observes the JDBC connections and statements made while a span is current.
+     *
+     * @return the {@link ObservationPredicate}.
+     */
+    @Bean
+    public ObservationPredicate jdbcWithinTraceObservationPredicate() {
+        return (name, context) -> !name.startsWith("jdbc.") || Span.current().getSpanContext().isValid();
+    }
+
+    /**
+     * Carries the current span along with the current observation, when they do not match.
+     *
+     * @param observationRegistry the registry of the observations.
+     * @param tracer              the tracer of the service.
+     * @return the {@link ObservationAwareSpanThreadLocalAccessor}, registered in the {@link ContextRegistry}.
+     */
+    @Bean
+    public ObservationAwareSpanThreadLocalAccessor spanThreadLocalAccessor(ObservationRegistry observationRegistry,
+                                                                          Tracer tracer) {
+        ObservationAwareSpanThreadLocalAccessor accessor =
+                new ObservationAwareSpanThreadLocalAccessor(observationRegistry, tracer);
+        ContextRegistry.getInstance().registerThreadLocalAccessor(accessor);
+        return accessor;
+    }
+
+    /**
+     * Does not observe the requests to the actuator, such as metric scrapes and health checks.
+     *
+     * @return the {@link ObservationPredicate}.
+     */
+    @Bean
+    public ObservationPredicate actuatorObservationPredicate() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext)
+                || !serverContext.getCarrier().getRequestURI().startsWith(serverContext.getCarrier().getContextPath() + "/actuator");
+    }
+}
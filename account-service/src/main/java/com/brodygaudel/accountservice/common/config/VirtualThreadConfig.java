@@ -0,0 +1,166 @@
+package com.brodygaudel.accountservice.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.axonserver.connector.AxonServerConfiguration;
+import org.axonframework.axonserver.connector.AxonServerConnectionManager;
+import org.axonframework.axonserver.connector.TargetContextResolver;
+import org.axonframework.axonserver.connector.command.AxonServerCommandBus;
+import org.axonframework.axonserver.connector.command.CommandLoadFactorProvider;
+import org.axonframework.axonserver.connector.command.CommandPriorityCalculator;
+import org.axonframework.axonserver.connector.query.AxonServerQueryBus;
+import org.axonframework.axonserver.connector.query.QueryPriorityCalculator;
+import org.axonframework.axonserver.connector.util.ExecutorServiceBuilder;
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.commandhandling.CommandBusSpanFactory;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.distributed.RoutingStrategy;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.messaging.interceptors.CorrelationDataInterceptor;
+import org.axonframework.queryhandling.QueryBusSpanFactory;
+import org.axonframework.queryhandling.QueryInvocationErrorHandler;
+import org.axonframework.queryhandling.QueryMessage;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
+import org.axonframework.queryhandling.SimpleQueryBus;
+import org.axonframework.serialization.Serializer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Configuration of the Axon Server buses when virtual threads are enabled.
+ *
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true}, Spring Boot already serves requests on virtual threads. The
+ * commands and queries received from Axon Server are otherwise handled on fixed pools of
+ * {@code axon.axonserver.command-threads} and {@code axon.axonserver.query-threads} platform threads, blocked most
+ * of the time on the event store, MySQL or the customer service. These buses are built the same way as the Axon
+ * auto-configuration does, which offers no other way to set their executors, but handle the messages on virtual
+ * threads.
+ * </p>
+ * <p>
+ * Each message handled holds a database connection, so at most {@code axon.axonserver.command-threads} commands
+ * and {@code axon.axonserver.query-threads} queries are handled at once, as on platform threads, and the other
+ * messages wait in the priority queue of Axon. Virtual threads being cheap, these limits can be raised along with
+ * {@code spring.datasource.hikari.maximum-pool-size}.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "axon.axonserver.enabled", matchIfMissing = true)
+public class VirtualThreadConfig {
+
+    /**
+     * Builds the command bus connected to Axon Server, handling commands on virtual threads.
+     *
+     * @param connectionManager     the connection to Axon Server.
+     * @param configuration         the Axon Server configuration.
+     * @param localSegment          the bus dispatching commands to the handlers of this instance.
+     * @param messageSerializer     the serializer of the commands.
+     * @param routingStrategy       the strategy routing commands to instances.
+     * @param priorityCalculator    the calculator of the command priorities.
+     * @param loadFactorProvider    the provider of the load factor of this instance.
+     * @param targetContextResolver the resolver of the context a command is sent to.
+     * @param spanFactory           the factory of the tracing spans.
+     * @return the {@link AxonServerCommandBus}.
+     */
+    @Bean
+    @Primary
+    public AxonServerCommandBus axonServerCommandBus(AxonServerConnectionManager connectionManager,
+                                                     AxonServerConfiguration configuration,
+                                                     @Qualifier("localSegment") CommandBus localSegment,
+                                                     @Qualifier("messageSerializer") Serializer messageSerializer,
+                                                     RoutingStrategy routingStrategy,
+                                                     CommandPriorityCalculator priorityCalculator,
+                                                     CommandLoadFactorProvider loadFactorProvider,
+                                                     TargetContextResolver<? super CommandMessage<?>> targetContextResolver,
+                                                     CommandBusSpanFactory spanFactory) {
+        log.info("Axon Server commands handled on virtual threads");
+        return AxonServerCommandBus.builder()
+                .axonServerConnectionManager(connectionManager)
+                .configuration(configuration)
+                .localSegment(localSegment)
+                .serializer(messageSerializer)
+                .routingStrategy(routingStrategy)
+                .priorityCalculator(priorityCalculator)
+                .loadFactorProvider(loadFactorProvider)
+                .targetContextResolver(targetContextResolver)
+                .spanFactory(spanFactory)
+                .executorServiceBuilder(virtualThreadPool(AxonServerConfiguration::getCommandThreads, "axon-command-"))
+                .build();
+    }
+
+    /**
+     * Builds the query bus connected to Axon Server, handling queries on virtual threads.
+     *
+     * @param connectionManager     the connection to Axon Server.
+     * @param configuration         the Axon Server configuration.
+     * @param axonConfiguration     the Axon configuration.
+     * @param transactionManager    the transaction manager of the query handlers.
+     * @param messageSerializer     the serializer of the queries.
+     * @param genericSerializer     the serializer of the responses.
+     * @param priorityCalculator    the calculator of the query priorities.
+     * @param errorHandler          the handler of the query handler errors.
+     * @param targetContextResolver the resolver of the context a query is sent to.
+     * @return the {@link AxonServerQueryBus}.
+     */
+    @Bean
+    public AxonServerQueryBus queryBus(AxonServerConnectionManager connectionManager,
+                                       AxonServerConfiguration configuration,
+                                       org.axonframework.config.Configuration axonConfiguration,
+                                       TransactionManager transactionManager,
+                                       @Qualifier("messageSerializer") Serializer messageSerializer,
+                                       Serializer genericSerializer,
+                                       QueryPriorityCalculator priorityCalculator,
+                                       QueryInvocationErrorHandler errorHandler,
+                                       TargetContextResolver<? super QueryMessage<?, ?>> targetContextResolver) {
+        log.info("Axon Server queries handled on virtual threads");
+        QueryBusSpanFactory spanFactory = axonConfiguration.getComponent(QueryBusSpanFactory.class);
+        SimpleQueryBus localSegment = SimpleQueryBus.builder()
+                .messageMonitor(axonConfiguration.messageMonitor(org.axonframework.queryhandling.QueryBus.class, "queryBus"))
+                .transactionManager(transactionManager)
+                .queryUpdateEmitter(axonConfiguration.getComponent(QueryUpdateEmitter.class))
+                .errorHandler(errorHandler)
+                .spanFactory(spanFactory)
+                .build();
+        localSegment.registerHandlerInterceptor(new CorrelationDataInterceptor<>(axonConfiguration.correlationDataProviders()));
+        return AxonServerQueryBus.builder()
+                .axonServerConnectionManager(connectionManager)
+                .configuration(configuration)
+                .localSegment(localSegment)
+                .updateEmitter(localSegment.queryUpdateEmitter())
+                .messageSerializer(messageSerializer)
+                .genericSerializer(genericSerializer)
+                .priorityCalculator(priorityCalculator)
+                .targetContextResolver(targetContextResolver)
+                .spanFactory(spanFactory)
+                .executorServiceBuilder(virtualThreadPool(AxonServerConfiguration::getQueryThreads, "axon-query-"))
+                .build();
+    }
+
+    /**
+     * Returns a builder of executors running at most the given number of tasks at once, each on a virtual thread,
+     * the other tasks waiting in the priority queue offered by Axon.
+     *
+     * @param threads the number of tasks run at once, read from the Axon Server configuration.
+     * @param prefix  the prefix of the names of the threads.
+     * @return the {@link ExecutorServiceBuilder}.
+     */
+    static @NotNull ExecutorServiceBuilder virtualThreadPool(ToIntFunction<AxonServerConfiguration> threads, String prefix) {
+        return (configuration, queue) -> new ThreadPoolExecutor(threads.applyAsInt(configuration),
+                threads.applyAsInt(configuration), 0L, TimeUnit.MILLISECONDS, queue,
+                Thread.ofVirtual().name(prefix, 0).factory());
+    }
+}
@@ -0,0 +1,5 @@
+package com.brodygaudel.accountservice.common.enums;
+
+public enum ExportFormat {
+    NDJSON, CSV
+}
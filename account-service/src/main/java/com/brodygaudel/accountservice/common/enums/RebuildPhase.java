@@ -0,0 +1,5 @@
+package com.brodygaudel.accountservice.common.enums;
+
+public enum RebuildPhase {
+    IDLE, REBUILDING, SWAPPING, COMPLETED, FAILED
+}
@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.*;
@@ -51,6 +53,28 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionResponse> handleException(@NotNull InvalidCursorException exception) {
+        return ResponseEntity.status(BAD_REQUEST).body(new ExceptionResponse(
+                BAD_REQUEST.value(),
+                exception.getMessage(),
+                exception.getLocalizedMessage(),
+                new HashSet<>(),
+                new HashMap<>()
+        ));
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<ExceptionResponse> handleException(@NotNull UnsupportedExportFormatException exception) {
+        return ResponseEntity.status(BAD_REQUEST).body(new ExceptionResponse(
+                BAD_REQUEST.value(),
+                exception.getMessage(),
+                exception.getLocalizedMessage(),
+                new HashSet<>(),
+                new HashMap<>()
+        ));
+    }
+
     @ExceptionHandler(AggregateNotFoundException.class)
     public ResponseEntity<ExceptionResponse> handleException(@NotNull AggregateNotFoundException exception) {
         return ResponseEntity.status(NOT_FOUND).body(new ExceptionResponse(
@@ -119,6 +143,28 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ExceptionResponse> handleException(@NotNull RejectedExecutionException exception) {
+        return ResponseEntity.status(SERVICE_UNAVAILABLE).body(new ExceptionResponse(
+                SERVICE_UNAVAILABLE.value(),
+                "too many pending requests",
+                exception.getLocalizedMessage(),
+                new HashSet<>(),
+                new HashMap<>()
+        ));
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ExceptionResponse> handleException(@NotNull TimeoutException exception) {
+        return ResponseEntity.status(GATEWAY_TIMEOUT).body(new ExceptionResponse(
+                GATEWAY_TIMEOUT.value(),
+                "request timed out",
+                exception.getLocalizedMessage(),
+                new HashSet<>(),
+                new HashMap<>()
+        ));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ExceptionResponse> handleException(@NotNull MethodArgumentNotValidException exception) {
         Set<String> validationErrors = exception.getBindingResult()
@@ -0,0 +1,112 @@
+package com.brodygaudel.accountservice.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.axonframework.commandhandling.CommandHandler;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventsourcing.EventSourcingHandler;
+import org.axonframework.messaging.Message;
+import org.axonframework.messaging.annotation.HandlerEnhancerDefinition;
+import org.axonframework.messaging.annotation.MessageHandlingMember;
+import org.axonframework.messaging.annotation.WrappedMessageHandlingMember;
+import org.axonframework.queryhandling.QueryHandler;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the command, event and query handlers of the service, and counts their failures, with Micrometer.
+ *
+ * <p>
+ * Every call of a {@link CommandHandler}, {@link EventHandler} or {@link QueryHandler} method is recorded in the
+ * {@value #TIMER} timer, tagged with the {@code kind} of message, the {@code message} type, the {@code handler} class
+ * and the {@code outcome}, {@code success} or {@code failure}. A failure is also counted in {@value #ERRORS}, tagged
+ * with the {@code exception} thrown. The {@link EventSourcingHandler}s of the aggregate, which only rebuild its state
+ * while a command is handled, are not recorded on their own.
+ * </p>
+ * <p>
+ * Axon applies this enhancer to every annotated handler, since it is a Spring bean. The time of an event handler
+ * does not include the commit of its batch, and that of a command handler does not include loading the aggregate.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Component
+public class MessageHandlerMetrics implements HandlerEnhancerDefinition {
+
+    static final String TIMER = "account.messages";
+    static final String ERRORS = "account.messages.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a {@link MessageHandlerMetrics}.
+     *
+     * @param meterRegistry the registry of the timers and counters.
+     */
+    @Autowired
+    public MessageHandlerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T> @NotNull MessageHandlingMember<T> wrapHandler(@NotNull MessageHandlingMember<T> original) {
+        String kind = kind(original);
+        return kind == null ? original : new TimedMessageHandlingMember<>(original, kind);
+    }
+
+    private static String kind(@NotNull MessageHandlingMember<?> member) {
+        if (member.hasAnnotation(CommandHandler.class)) {
+            return "command";
+        }
+        if (member.hasAnnotation(QueryHandler.class)) {
+            return "query";
+        }
+        if (member.hasAnnotation(EventHandler.class) && !member.hasAnnotation(EventSourcingHandler.class)) {
+            return "event";
+        }
+        return null;
+    }
+
+    private final class TimedMessageHandlingMember<T> extends WrappedMessageHandlingMember<T> {
+
+        private final Tags tags;
+        private final Timer success;
+        private final Timer failure;
+
+        private TimedMessageHandlingMember(@NotNull MessageHandlingMember<T> delegate, String kind) {
+            super(delegate);
+            this.tags = Tags.of("kind", kind,
+                    "message", delegate.payloadType().getSimpleName(),
+                    "handler", delegate.declaringClass().getSimpleName());
+            this.success = timer("success");
+            this.failure = timer("failure");
+        }
+
+        @Override
+        public Object handle(@NotNull Message<?> message, T target) throws Exception {
+            long start = System.nanoTime();
+            try {
+                Object result = super.handle(message, target);
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Exception | Error e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                meterRegistry.counter(ERRORS, tags.and("exception", e.getClass().getSimpleName())).increment();
+                throw e;
+            }
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder(TIMER)
+                    .description("Time spent handling commands, events and queries")
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.brodygaudel.accountservice.common.tracing;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextScheduledExecutorService;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Carries the trace of a request, and the logging keys that go with it, across the pools of the service.
+ *
+ * <p>
+ * The current observation and span of the thread submitting a task are captured when the task is submitted and
+ * restored while it runs. A future completed on another thread can also hand its result back within the trace
+ * of the caller, so the stages the caller chains to it stay in its own trace.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public final class TraceContexts {
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private TraceContexts() {
+    }
+
+    /**
+     * Wraps a pool so that its tasks run within the trace of the thread submitting them.
+     *
+     * @param executor the pool to wrap.
+     * @return the wrapped pool, shutting down {@code executor} when shut down.
+     */
+    public static ExecutorService propagating(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, SNAPSHOTS::captureAll);
+    }
+
+    /**
+     * Wraps a scheduling pool so that its tasks run within the trace of the thread scheduling them.
+     *
+     * @param executor the pool to wrap.
+     * @return the wrapped pool, shutting down {@code executor} when shut down.
+     */
+    public static ScheduledExecutorService propagating(ScheduledExecutorService executor) {
+        return ContextScheduledExecutorService.wrap(executor, SNAPSHOTS::captureAll);
+    }
+
+    /**
+     * Returns a future completed like {@code future}, but within the trace of the calling thread, whichever thread
+     * completes {@code future}. A future already done is returned as it is, its dependent stages running on the
+     * calling thread anyway.
+     *
+     * @param future the future, possibly shared with other callers.
+     * @param <T>    the type of its result.
+     * @return the future to chain the stages of the caller to.
+     */
+    public static <T> CompletableFuture<T> inCallerTrace(CompletableFuture<T> future) {
+        if (future.isDone()) {
+            return future;
+        }
+        ContextSnapshot snapshot = SNAPSHOTS.captureAll();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            try (ContextSnapshot.Scope ignored = snapshot.setThreadLocals()) {
+                if (error == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,246 @@
+package com.brodygaudel.accountservice.common.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.axonframework.messaging.Message;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.tracing.SpanAttributesProvider;
+import org.axonframework.tracing.SpanFactory;
+import org.axonframework.tracing.SpanScope;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Traces the commands, events and queries handled by Axon with the OpenTelemetry tracer of the service.
+ *
+ * <p>
+ * Axon asks this factory for a span each time a message is dispatched, handled, or an aggregate loaded. The trace
+ * context is carried from the dispatcher to the handler in the metadata of the message, as a W3C {@code traceparent}
+ * entry, so it survives Axon Server and the event store: a command handler continues the trace of the request that
+ * sent it, and an event handler of the projection that of the command which applied the event. The HTTP, Feign and
+ * JDBC spans of Spring nest in these spans, since they share the OpenTelemetry context.
+ * </p>
+ * <p>
+ * While a span is current, its trace and span ids are in the {@code traceId} and {@code spanId} logging keys, as
+ * they are for the spans of Spring.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Component
+public class TracingSpanFactory implements SpanFactory {
+
+    private static final String INSTRUMENTATION = "AxonFramework";
+    private static final String TRACE_ID = "traceId";
+    private static final String SPAN_ID = "spanId";
+
+    private static final TextMapGetter<MetaData> METADATA = new TextMapGetter<>() {
+
+        @Override
+        public Iterable<String> keys(@NotNull MetaData carrier) {
+            return carrier.keySet();
+        }
+
+        @Override
+        public String get(MetaData carrier, @NotNull String key) {
+            Object value = carrier == null ? null : carrier.get(key);
+            return value == null ? null : value.toString();
+        }
+    };
+
+    private final Tracer tracer;
+    private final TextMapPropagator propagator;
+    private final List<SpanAttributesProvider> attributesProviders = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a {@link TracingSpanFactory}.
+     *
+     * @param openTelemetry the OpenTelemetry SDK of the service, giving the tracer and the propagation format.
+     */
+    @Autowired
+    public TracingSpanFactory(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION);
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    @Override
+    public org.axonframework.tracing.Span createRootTrace(@NotNull Supplier<String> operationNameSupplier) {
+        SpanBuilder builder = tracer.spanBuilder(operationNameSupplier.get())
+                .setNoParent()
+                .setSpanKind(SpanKind.INTERNAL);
+        SpanContext current = Span.current().getSpanContext();
+        if (current.isValid()) {
+            builder.addLink(current);
+        }
+        return new TracingSpan(builder);
+    }
+
+    @Override
+    public org.axonframework.tracing.Span createHandlerSpan(@NotNull Supplier<String> operationNameSupplier,
+                                                            @NotNull Message<?> parentMessage,
+                                                            boolean isChildTrace,
+                                                            Message<?>... linkedParents) {
+        SpanBuilder builder = tracer.spanBuilder(operationNameSupplier.get()).setSpanKind(SpanKind.CONSUMER);
+        SpanContext parent = extract(parentMessage);
+        if (isChildTrace) {
+            if (parent.isValid()) {
+                builder.setParent(Context.current().with(Span.wrap(parent)));
+            }
+        } else {
+            builder.setNoParent();
+            if (parent.isValid()) {
+                builder.addLink(parent);
+            }
+        }
+        link(builder, linkedParents);
+        return new TracingSpan(addAttributes(builder, parentMessage));
+    }
+
+    @Override
+    public org.axonframework.tracing.Span createDispatchSpan(@NotNull Supplier<String> operationNameSupplier,
+                                                             Message<?> parentMessage,
+                                                             Message<?>... linkedSiblings) {
+        SpanBuilder builder = tracer.spanBuilder(operationNameSupplier.get()).setSpanKind(SpanKind.PRODUCER);
+        link(builder, linkedSiblings);
+        return new TracingSpan(parentMessage == null ? builder : addAttributes(builder, parentMessage));
+    }
+
+    @Override
+    public org.axonframework.tracing.Span createInternalSpan(@NotNull Supplier<String> operationNameSupplier) {
+        return new TracingSpan(tracer.spanBuilder(operationNameSupplier.get()).setSpanKind(SpanKind.INTERNAL));
+    }
+
+    @Override
+    public org.axonframework.tracing.Span createInternalSpan(@NotNull Supplier<String> operationNameSupplier,
+                                                             @NotNull Message<?> message) {
+        return new TracingSpan(addAttributes(tracer.spanBuilder(operationNameSupplier.get())
+                .setSpanKind(SpanKind.INTERNAL), message));
+    }
+
+    @Override
+    public void registerSpanAttributeProvider(@NotNull SpanAttributesProvider provider) {
+        attributesProviders.add(provider);
+    }
+
+    /**
+     * Adds the context of the current span to the metadata of a message, as a W3C {@code traceparent} entry.
+     *
+     * @param message the message about to be dispatched.
+     * @return the message with the context, or the message itself if no span is current.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <M extends Message<?>> M propagateContext(@NotNull M message) {
+        Map<String, String> carrier = new HashMap<>();
+        propagator.inject(Context.current(), carrier, (map, key, value) -> {
+            if (map != null) {
+                map.put(key, value);
+            }
+        });
+        return carrier.isEmpty() ? message : (M) message.andMetaData(carrier);
+    }
+
+    private SpanContext extract(@NotNull Message<?> message) {
+        return Span.fromContext(propagator.extract(Context.root(), message.getMetaData(), METADATA)).getSpanContext();
+    }
+
+    private void link(SpanBuilder builder, Message<?>... messages) {
+        if (messages == null) {
+            return;
+        }
+        for (Message<?> message : messages) {
+            SpanContext linked = extract(message);
+            if (linked.isValid()) {
+                builder.addLink(linked);
+            }
+        }
+    }
+
+    private SpanBuilder addAttributes(SpanBuilder builder, Message<?> message) {
+        for (SpanAttributesProvider provider : attributesProviders) {
+            provider.provideForMessage(message).forEach(builder::setAttribute);
+        }
+        return builder;
+    }
+
+    /**
+     * An Axon span backed by an OpenTelemetry span, created when Axon starts it.
+     */
+    private static final class TracingSpan implements org.axonframework.tracing.Span {
+
+        private final SpanBuilder builder;
+        private Span span = Span.getInvalid();
+
+        private TracingSpan(SpanBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public org.axonframework.tracing.Span start() {
+            span = builder.startSpan();
+            return this;
+        }
+
+        @Override
+        public SpanScope makeCurrent() {
+            Scope scope = span.makeCurrent();
+            String previousTraceId = MDC.get(TRACE_ID);
+            String previousSpanId = MDC.get(SPAN_ID);
+            MDC.put(TRACE_ID, span.getSpanContext().getTraceId());
+            MDC.put(SPAN_ID, span.getSpanContext().getSpanId());
+            return () -> {
+                scope.close();
+                restore(TRACE_ID, previousTraceId);
+                restore(SPAN_ID, previousSpanId);
+            };
+        }
+
+        @Override
+        public void end() {
+            span.end();
+        }
+
+        @Override
+        public org.axonframework.tracing.Span recordException(Throwable t) {
+            span.recordException(t);
+            span.setStatus(StatusCode.ERROR, t.getMessage() == null ? t.getClass().getSimpleName() : t.getMessage());
+            return this;
+        }
+
+        @Override
+        public org.axonframework.tracing.Span addAttribute(String key, String value) {
+            if (span.getSpanContext().isValid()) {
+                span.setAttribute(key, value);
+            } else {
+                builder.setAttribute(key, value);
+            }
+            return this;
+        }
+
+        private static void restore(String key, String previous) {
+            if (previous == null) {
+                MDC.remove(key);
+            } else {
+                MDC.put(key, previous);
+            }
+        }
+    }
+}
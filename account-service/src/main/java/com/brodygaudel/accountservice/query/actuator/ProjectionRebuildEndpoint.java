@@ -0,0 +1,57 @@
+package com.brodygaudel.accountservice.query.actuator;
+
+import com.brodygaudel.accountservice.query.dto.ProjectionRebuildStatusDTO;
+import com.brodygaudel.accountservice.query.service.AccountProjectionRebuildService;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the rebuild of the account projection at {@code /actuator/projection}.
+ *
+ * <p>
+ * A {@code GET} returns the progress of the current or last rebuild (position, head position, events per second
+ * and estimated remaining time), a {@code POST} starts a new rebuild.
+ * </p>
+ * <p>
+ * A rebuild replaces the whole read model and anyone reaching the actuator could start one, so the endpoint is
+ * disabled, hence neither registered nor exposed, unless {@code management.endpoint.projection.enabled} is
+ * {@code true}.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Component
+@Endpoint(id = "projection", enableByDefault = false)
+@ConditionalOnAvailableEndpoint(endpoint = ProjectionRebuildEndpoint.class)
+public class ProjectionRebuildEndpoint {
+
+    private final AccountProjectionRebuildService rebuildService;
+
+    public ProjectionRebuildEndpoint(AccountProjectionRebuildService rebuildService) {
+        this.rebuildService = rebuildService;
+    }
+
+    /**
+     * Returns the status of the current, or last, rebuild.
+     *
+     * @return the status of the rebuild.
+     */
+    @ReadOperation
+    public ProjectionRebuildStatusDTO status() {
+        return rebuildService.status();
+    }
+
+    /**
+     * Starts a rebuild of the projection, unless one is already running.
+     *
+     * @return the status of the rebuild.
+     */
+    @WriteOperation
+    public ProjectionRebuildStatusDTO rebuild() {
+        return rebuildService.rebuild();
+    }
+}
@@ -0,0 +1,129 @@
+package com.brodygaudel.accountservice.query.cache;
+
+import com.brodygaudel.accountservice.query.dto.AccountDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the accounts returned by the query side.
+ *
+ * <p>
+ * Accounts are cached by id. Customer ids are mapped to account ids in a second cache, which never needs to be
+ * invalidated since the customer of an account does not change: a mapping to a deleted account simply misses.
+ * Entries are evicted by the projection handlers once the transaction updating the account has committed, so a
+ * query never caches a row the projection is about to change. Each replica only processes the segments it owns,
+ * so on the other replicas an entry may stay stale until it expires after {@code expireAfterWrite}.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Component
+public class AccountQueryCache {
+
+    private final boolean enabled;
+    private final Cache<String, AccountDTO> accounts;
+    private final Cache<String, String> accountIdsByCustomerId;
+
+    /**
+     * Constructs a new {@code AccountQueryCache}.
+     *
+     * @param meterRegistry    the registry to which hit, miss and eviction metrics are bound.
+     * @param enabled          whether accounts are cached.
+     * @param maximumSize      the maximum number of accounts, and of customer ids, kept in memory.
+     * @param expireAfterWrite the duration after which a cached account is reloaded.
+     */
+    public AccountQueryCache(MeterRegistry meterRegistry,
+                             @Value("${account.query-cache.enabled:true}") boolean enabled,
+                             @Value("${account.query-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${account.query-cache.expire-after-write:PT1M}") Duration expireAfterWrite) {
+        log.info("Account query cache: enabled={}, maximum-size={}, expire-after-write={}",
+                enabled, maximumSize, expireAfterWrite);
+        this.enabled = enabled;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.accountIdsByCustomerId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "account-query");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountIdsByCustomerId, "account-query-customer");
+    }
+
+    /**
+     * Returns the account with the given id, loading it on a miss.
+     *
+     * @param accountId the id of the account.
+     * @param loader    loads the account, or returns {@code null} when it does not exist.
+     * @return the account, or {@code null} when it does not exist.
+     */
+    public AccountDTO getAccount(@NotNull String accountId, @NotNull Function<String, AccountDTO> loader) {
+        return enabled ? accounts.get(accountId, loader) : loader.apply(accountId);
+    }
+
+    /**
+     * Returns the id of the account of the given customer, if known.
+     *
+     * @param customerId the id of the customer.
+     * @return the id of the account, or {@code null} when it is not cached.
+     */
+    public String getAccountId(@NotNull String customerId) {
+        return enabled ? accountIdsByCustomerId.getIfPresent(customerId) : null;
+    }
+
+    /**
+     * Records the id of the account of the given customer.
+     *
+     * @param customerId the id of the customer.
+     * @param accountId  the id of the account.
+     */
+    public void putAccountId(@NotNull String customerId, @NotNull String accountId) {
+        if (enabled) {
+            accountIdsByCustomerId.put(customerId, accountId);
+        }
+    }
+
+    /**
+     * Evicts an account. Within a transaction, the eviction happens once the transaction has committed.
+     *
+     * @param accountId the id of the account.
+     */
+    public void evict(@NotNull String accountId) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accounts.invalidate(accountId);
+                }
+            });
+        } else {
+            accounts.invalidate(accountId);
+        }
+    }
+
+    /**
+     * Evicts every account, after the projection tables have been replaced.
+     */
+    public void evictAll() {
+        accounts.invalidateAll();
+        accountIdsByCustomerId.invalidateAll();
+    }
+}
@@ -0,0 +1,67 @@
+package com.brodygaudel.accountservice.query.config;
+
+import com.brodygaudel.accountservice.query.service.AccountEventHandlerService;
+import com.brodygaudel.accountservice.query.service.AccountRebuildEventHandlerService;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.eventhandling.TrackingEventProcessorConfiguration;
+import org.axonframework.eventhandling.async.SequentialPerAggregatePolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the event processors feeding the account query projection.
+ *
+ * <p>
+ * The tracking processors read up to {@code account.projection.batch-size} events at a time and handle them in
+ * one transaction, so the token and the projection tables are written once per batch instead of once per event.
+ * A batch size of 1 processes events one by one.
+ * </p>
+ * <p>
+ * Both the live processor and the rebuild processor are split in {@code account.projection.segments} segments by
+ * aggregate, that is by account id, so the events of an account are always handled in order by the same thread.
+ * After a rebuild the live processor takes over the segments of the rebuild, so both processors need a thread per
+ * segment. The rebuild processor is only started on demand.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Configuration
+public class ProjectionConfig {
+
+    /**
+     * Registers the tracking processor configurations of the account projection.
+     *
+     * @param configurer the Axon event processing configurer.
+     * @param batchSize the maximum number of events handled per transaction.
+     * @param segments the number of segments of a newly initialized or rebuilt projection.
+     * @param threads the number of threads processing the segments.
+     */
+    @Autowired
+    public void configureProjectionProcessors(EventProcessingConfigurer configurer,
+                                              @Value("${account.projection.batch-size:50}") int batchSize,
+                                              @Value("${account.projection.segments:4}") int segments,
+                                              @Value("${account.projection.threads:4}") int threads) {
+        if (threads < segments) {
+            throw new IllegalArgumentException("account.projection.threads (" + threads
+                    + ") must be greater than or equal to account.projection.segments (" + segments + ")");
+        }
+        log.info("Account projection: batch-size={}, segments={}, threads={}", batchSize, segments, threads);
+        configurer.registerSequencingPolicy(AccountEventHandlerService.PROCESSING_GROUP,
+                        configuration -> SequentialPerAggregatePolicy.instance())
+                .registerTrackingEventProcessorConfiguration(AccountEventHandlerService.PROCESSING_GROUP,
+                        configuration -> TrackingEventProcessorConfiguration.forParallelProcessing(threads)
+                                .andInitialSegmentsCount(segments)
+                                .andBatchSize(batchSize))
+                .registerSequencingPolicy(AccountRebuildEventHandlerService.PROCESSING_GROUP,
+                        configuration -> SequentialPerAggregatePolicy.instance())
+                .registerTrackingEventProcessorConfiguration(AccountRebuildEventHandlerService.PROCESSING_GROUP,
+                        configuration -> TrackingEventProcessorConfiguration.forParallelProcessing(threads)
+                                .andInitialSegmentsCount(segments)
+                                .andBatchSize(batchSize)
+                                .andAutoStart(false));
+    }
+}
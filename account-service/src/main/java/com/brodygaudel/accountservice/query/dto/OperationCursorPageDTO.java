@@ -0,0 +1,24 @@
+package com.brodygaudel.accountservice.query.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents a DTO (Data Transfer Object) for a page of operations read with a cursor.
+ * The {@code nextCursor} gives access to the following page, it is {@code null} on the last page.
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+public class OperationCursorPageDTO {
+    private int size;
+    private String nextCursor;
+    private List<OperationDTO> operations;
+}
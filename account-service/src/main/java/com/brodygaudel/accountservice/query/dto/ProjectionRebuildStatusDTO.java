@@ -0,0 +1,30 @@
+package com.brodygaudel.accountservice.query.dto;
+
+import com.brodygaudel.accountservice.common.enums.RebuildPhase;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a DTO (Data Transfer Object) for the progress of a projection rebuild.
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@ToString
+public class ProjectionRebuildStatusDTO {
+    private RebuildPhase phase;
+    private int segments;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private Long position;
+    private Long headPosition;
+    private double eventsPerSecond;
+    private Long etaSeconds;
+    private String error;
+}
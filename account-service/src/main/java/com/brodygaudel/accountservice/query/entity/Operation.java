@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_operation_account_date_time_id", columnList = "account_id, dateTime, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -0,0 +1,104 @@
+package com.brodygaudel.accountservice.query.metrics;
+
+import com.brodygaudel.accountservice.query.service.AccountEventHandlerService;
+import com.brodygaudel.accountservice.query.service.AccountRebuildEventHandlerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.TrackingEventProcessor;
+import org.axonframework.eventhandling.TrackingToken;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Exposes how far the account projection is behind the event store, as the {@value #LAG} gauge.
+ *
+ * <p>
+ * The lag of a processor is the position of the head of the event store minus the lowest position among the tokens
+ * of its segments: the number of events stored that some segment has not handled yet. It is measured for the live
+ * processor and for the rebuild processor, tagged with the {@code processor} name, and only counts the segments
+ * claimed by this instance. It is zero while the event store is empty, and not a number while the processor is
+ * stopped or has not claimed any segment yet.
+ * </p>
+ * <p>
+ * The head is read from the event store each time the gauge is read, so only when metrics are scraped.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Component
+public class ProjectionLagMetrics implements MeterBinder {
+
+    static final String LAG = "account.projection.lag";
+
+    private static final List<String> PROCESSORS = List.of(AccountEventHandlerService.PROCESSING_GROUP,
+            AccountRebuildEventHandlerService.PROCESSING_GROUP);
+
+    private final EventProcessingConfiguration eventProcessingConfiguration;
+
+    /**
+     * Constructs a {@link ProjectionLagMetrics}.
+     *
+     * @param eventProcessingConfiguration the Axon configuration giving access to the event processors.
+     */
+    @Autowired
+    public ProjectionLagMetrics(EventProcessingConfiguration eventProcessingConfiguration) {
+        this.eventProcessingConfiguration = eventProcessingConfiguration;
+    }
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        for (String processor : PROCESSORS) {
+            Gauge.builder(LAG, this, metrics -> metrics.lag(processor))
+                    .description("Events stored but not yet handled by the account projection")
+                    .baseUnit("events")
+                    .tag("processor", processor)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Returns the lag of a processor, in events, or {@link Double#NaN} if it can not be measured.
+     *
+     * @param name the name of the processor.
+     */
+    double lag(String name) {
+        Optional<TrackingEventProcessor> processor = eventProcessingConfiguration.eventProcessor(name, TrackingEventProcessor.class);
+        if (processor.isEmpty() || !processor.get().isRunning()) {
+            return Double.NaN;
+        }
+        try {
+            Map<Integer, EventTrackerStatus> trackers = processor.get().processingStatus();
+            if (trackers.isEmpty()) {
+                return Double.NaN;
+            }
+            TrackingToken head = processor.get().getMessageSource().createHeadToken();
+            if (head == null) {
+                return 0;
+            }
+            OptionalLong headPosition = head.position();
+            if (headPosition.isEmpty()) {
+                return Double.NaN;
+            }
+            long position = trackers.values().stream()
+                    .map(EventTrackerStatus::getCurrentPosition)
+                    .mapToLong(current -> current.orElse(-1))
+                    .min().orElse(-1);
+            return Math.max(0, headPosition.getAsLong() - position);
+        } catch (RuntimeException e) {
+            log.debug("Could not measure the lag of processor {}", name, e);
+            return Double.NaN;
+        }
+    }
+}
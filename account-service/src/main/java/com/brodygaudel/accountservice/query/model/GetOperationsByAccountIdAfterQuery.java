@@ -0,0 +1,17 @@
+package com.brodygaudel.accountservice.query.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class GetOperationsByAccountIdAfterQuery {
+    private String accountId;
+    private LocalDateTime afterDateTime;
+    private String afterId;
+    private int size;
+}
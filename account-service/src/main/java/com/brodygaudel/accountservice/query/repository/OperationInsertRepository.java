@@ -0,0 +1,21 @@
+package com.brodygaudel.accountservice.query.repository;
+
+import com.brodygaudel.accountservice.query.entity.Operation;
+
+/**
+ * Repository fragment inserting {@link Operation} entities.
+ *
+ * <p>Operations carry an assigned identifier, so {@code save} cannot tell them apart from existing rows
+ * and issues a select before every insert. Operations are never updated, so they are inserted directly.</p>
+ */
+public interface OperationInsertRepository {
+
+    /**
+     * Schedules the insertion of a new {@link Operation}. The row is written on the next flush,
+     * together with the other pending inserts when JDBC batching is enabled.
+     *
+     * @param operation the new operation to insert
+     * @return the inserted operation
+     */
+    Operation insert(Operation operation);
+}
@@ -0,0 +1,22 @@
+package com.brodygaudel.accountservice.query.repository;
+
+import com.brodygaudel.accountservice.query.entity.Operation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of the {@link OperationInsertRepository} fragment.
+ */
+class OperationInsertRepositoryImpl implements OperationInsertRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Operation insert(Operation operation) {
+        entityManager.persist(operation);
+        return operation;
+    }
+}
@@ -1,19 +1,73 @@
 package com.brodygaudel.accountservice.query.repository;
 
+import com.brodygaudel.accountservice.query.dto.OperationDTO;
 import com.brodygaudel.accountservice.query.entity.Operation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OperationRepository extends JpaRepository<Operation, String>, OperationInsertRepository {
+
+    /** Number of rows fetched per round trip when streaming operations */
+    int STREAM_FETCH_SIZE = 1000;
 
-public interface OperationRepository extends JpaRepository<Operation, String> {
     /**
-     * Retrieves a page of {@link Operation} objects associated with the specified account ID.
+     * Retrieves a page of {@link Operation} objects associated with the specified account ID,
+     * from the most recent to the oldest.
      *
      * @param accountId the ID of the account for which to retrieve operations
      * @param pageable  the pagination information
      * @return a {@link Page} containing the operations associated with the specified account ID
      */
-    @Query("select o from Operation o where o.account.id = ?1")
+    @Query("select o from Operation o where o.account.id = ?1 order by o.dateTime desc, o.id desc")
     Page<Operation> findByAccountId(String accountId, Pageable pageable);
+
+    /**
+     * Retrieves the most recent {@link Operation} objects of the specified account, ordered by date and id descending.
+     *
+     * @param accountId the ID of the account for which to retrieve operations
+     * @param limit     the number of operations to retrieve, as the size of the first page
+     * @return the most recent operations of the account
+     */
+    @Query("select o from Operation o where o.account.id = ?1 order by o.dateTime desc, o.id desc")
+    List<Operation> findFirstPageByAccountId(String accountId, Pageable limit);
+
+    /**
+     * Retrieves the {@link Operation} objects of the specified account that come after the given one,
+     * ordered by date and id descending. The query reads the index on (account_id, date_time, id) from
+     * the given position, so its cost does not depend on the number of operations already read.
+     *
+     * @param accountId     the ID of the account for which to retrieve operations
+     * @param afterDateTime the date of the last operation already read
+     * @param afterId       the ID of the last operation already read
+     * @param limit         the number of operations to retrieve, as the size of the first page
+     * @return the operations following the given one
+     */
+    @Query("select o from Operation o where o.account.id = ?1 and (o.dateTime < ?2 or (o.dateTime = ?2 and o.id < ?3)) " +
+            "order by o.dateTime desc, o.id desc")
+    List<Operation> findPageByAccountIdAfter(String accountId, LocalDateTime afterDateTime, String afterId, Pageable limit);
+
+    /**
+     * Streams the operations of the specified account dated within the given range, from the oldest to the most
+     * recent. Rows are read from a forward-only cursor, {@value #STREAM_FETCH_SIZE} at a time, and mapped directly to
+     * {@link OperationDTO} objects which are not attached to the persistence context, so memory stays constant
+     * whatever the length of the history. The stream must be consumed within a transaction and closed.
+     *
+     * @param accountId the ID of the account for which to retrieve operations
+     * @param from      the inclusive lower bound of the operation dates
+     * @param to        the exclusive upper bound of the operation dates
+     * @return a {@link Stream} of the operations of the account
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("select new com.brodygaudel.accountservice.query.dto.OperationDTO(o.id, o.dateTime, o.description, o.type, o.amount, o.account.id) " +
+            "from Operation o where o.account.id = ?1 and o.dateTime >= ?2 and o.dateTime < ?3 order by o.dateTime, o.id")
+    Stream<OperationDTO> streamByAccountId(String accountId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,62 +1,153 @@
 package com.brodygaudel.accountservice.query.restcontroller;
 
+import com.brodygaudel.accountservice.common.enums.ExportFormat;
 import com.brodygaudel.accountservice.query.dto.AccountDTO;
+import com.brodygaudel.accountservice.query.dto.OperationCursorPageDTO;
 import com.brodygaudel.accountservice.query.dto.OperationDTO;
 import com.brodygaudel.accountservice.query.dto.OperationPageDTO;
 import com.brodygaudel.accountservice.query.model.GetAccountByCustomerIdQuery;
 import com.brodygaudel.accountservice.query.model.GetAccountByIdQuery;
 import com.brodygaudel.accountservice.query.model.GetOperationByIdQuery;
 
+import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdAfterQuery;
 import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdQuery;
+import com.brodygaudel.accountservice.query.service.AsyncQueryService;
+import com.brodygaudel.accountservice.query.service.OperationExportService;
+import com.brodygaudel.accountservice.query.util.OperationCursor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.axonframework.messaging.responsetypes.ResponseType;
 import org.axonframework.messaging.responsetypes.ResponseTypes;
 import org.axonframework.queryhandling.QueryGateway;
+import org.axonframework.queryhandling.SubscriptionQueryResult;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+@Slf4j
 @RestController
 @RequestMapping("/accounts/queries")
 public class AccountQueryRestController {
 
     private final QueryGateway queryGateway;
+    private final AsyncQueryService asyncQueryService;
+    private final OperationExportService operationExportService;
+    private final long watchTimeout;
 
-    public AccountQueryRestController(QueryGateway queryGateway) {
+    public AccountQueryRestController(QueryGateway queryGateway, AsyncQueryService asyncQueryService,
+                                      OperationExportService operationExportService,
+                                      @Value("${account.watch.timeout:PT30M}") @NotNull Duration watchTimeout) {
         this.queryGateway = queryGateway;
+        this.asyncQueryService = asyncQueryService;
+        this.operationExportService = operationExportService;
+        this.watchTimeout = watchTimeout.toMillis();
     }
 
     @GetMapping("/get-account/{id}")
-    public AccountDTO getAccountById(@PathVariable String id){
+    public CompletableFuture<AccountDTO> getAccountById(@PathVariable String id){
         GetAccountByIdQuery query = new GetAccountByIdQuery(id);
         ResponseType<AccountDTO> responseType = ResponseTypes.instanceOf(AccountDTO.class);
-        return queryGateway.query(query , responseType).join();
+        return asyncQueryService.query(query , responseType);
+    }
+
+    /**
+     * Streams the state of an account as Server-Sent Events: the current state first, then the new state after
+     * every change, pushed by the projection without reading the database again. The stream ends when the account
+     * is deleted or after {@code account.watch.timeout}, after which clients are expected to reconnect.
+     */
+    @GetMapping(value = "/watch-account/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter watchAccountById(@PathVariable String id){
+        GetAccountByIdQuery query = new GetAccountByIdQuery(id);
+        ResponseType<AccountDTO> responseType = ResponseTypes.instanceOf(AccountDTO.class);
+        SubscriptionQueryResult<AccountDTO, AccountDTO> result = queryGateway.subscriptionQuery(query, responseType, responseType);
+        SseEmitter emitter = new SseEmitter(watchTimeout);
+        Disposable subscription = result.initialResult()
+                .concatWith(result.updates())
+                .subscribe(account -> send(emitter, account), emitter::completeWithError, emitter::complete);
+        Runnable close = () -> {
+            subscription.dispose();
+            result.cancel();
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(error -> close.run());
+        return emitter;
+    }
+
+    private static void send(@NotNull SseEmitter emitter, @NotNull AccountDTO account) {
+        try {
+            emitter.send(SseEmitter.event().name("account").data(account, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            log.debug("Client watching account {} is gone: {}", account.getId(), e.getMessage());
+            emitter.completeWithError(e);
+        }
     }
 
     @GetMapping("/find-account/{customerId}")
-    public AccountDTO getAccountByCustomerId(@PathVariable String customerId){
+    public CompletableFuture<AccountDTO> getAccountByCustomerId(@PathVariable String customerId){
         GetAccountByCustomerIdQuery query = new GetAccountByCustomerIdQuery(customerId);
         ResponseType<AccountDTO> responseType = ResponseTypes.instanceOf(AccountDTO.class);
-        return queryGateway.query(query , responseType).join();
+        return asyncQueryService.query(query , responseType);
     }
 
     @GetMapping("/get-operation/{id}")
-    public OperationDTO getOperationById(@PathVariable String id){
+    public CompletableFuture<OperationDTO> getOperationById(@PathVariable String id){
         GetOperationByIdQuery query = new GetOperationByIdQuery(id);
         ResponseType<OperationDTO> responseType = ResponseTypes.instanceOf(OperationDTO.class);
-        return queryGateway.query(query , responseType).join();
+        return asyncQueryService.query(query , responseType);
     }
 
     @GetMapping("/find-operations")
-    public OperationPageDTO getOperationsByAccountId(@RequestParam(name = "accountId", defaultValue = "") String accountId,
+    public CompletableFuture<OperationPageDTO> getOperationsByAccountId(@RequestParam(name = "accountId", defaultValue = "") String accountId,
                                                        @RequestParam(name = "page", defaultValue = "0") int page,
                                                        @RequestParam(name = "size", defaultValue = "10") int size){
 
         GetOperationsByAccountIdQuery query = new GetOperationsByAccountIdQuery(accountId, page, size);
         ResponseType<List<OperationDTO>> responseType = ResponseTypes.multipleInstancesOf(OperationDTO.class);
-        List<OperationDTO> operationDTOS = queryGateway.query(query, responseType).join();
-        return new OperationPageDTO(page, size, operationDTOS.size(), operationDTOS);
+        return asyncQueryService.query(query, responseType)
+                .thenApply(operationDTOS -> new OperationPageDTO(page, size, operationDTOS.size(), operationDTOS));
+    }
+
+    @GetMapping("/list-operations")
+    public CompletableFuture<OperationCursorPageDTO> getOperationsByAccountIdAfter(@RequestParam(name = "accountId", defaultValue = "") String accountId,
+                                                                @RequestParam(name = "cursor", required = false) String cursor,
+                                                                @RequestParam(name = "size", defaultValue = "10") int size){
+        OperationCursor after = cursor == null || cursor.isBlank() ? null : OperationCursor.decode(cursor);
+        GetOperationsByAccountIdAfterQuery query = new GetOperationsByAccountIdAfterQuery(accountId,
+                after == null ? null : after.getDateTime(), after == null ? null : after.getId(), size);
+        ResponseType<OperationCursorPageDTO> responseType = ResponseTypes.instanceOf(OperationCursorPageDTO.class);
+        return asyncQueryService.query(query, responseType);
+    }
+
+    /**
+     * Streams the operations of an account, optionally restricted to a date range, as NDJSON or CSV.
+     * The export is read from the database and written to the response as it goes, outside the query bus,
+     * which only carries complete responses.
+     */
+    @GetMapping("/export-operations")
+    public void exportOperations(@RequestParam(name = "accountId", defaultValue = "") String accountId,
+                                 @RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                 @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                 @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                 @NotNull HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = OperationExportService.formatOf(format);
+        boolean csv = exportFormat == ExportFormat.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"operations-" + accountId + (csv ? ".csv" : ".ndjson") + "\"");
+        operationExportService.export(accountId, from, to, exportFormat, response.getOutputStream());
     }
 }
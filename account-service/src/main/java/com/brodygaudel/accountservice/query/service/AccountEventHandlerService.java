@@ -6,12 +6,17 @@ import com.brodygaudel.accountservice.common.exception.CustomerAlreadyHaveAccoun
 import com.brodygaudel.accountservice.common.enums.AccountStatus;
 import com.brodygaudel.accountservice.common.enums.OperationType;
 import com.brodygaudel.accountservice.common.event.*;
+import com.brodygaudel.accountservice.query.cache.AccountQueryCache;
+import com.brodygaudel.accountservice.query.dto.AccountDTO;
 import com.brodygaudel.accountservice.query.entity.Account;
 import com.brodygaudel.accountservice.query.entity.Operation;
+import com.brodygaudel.accountservice.query.model.GetAccountByIdQuery;
 import com.brodygaudel.accountservice.query.repository.AccountRepository;
 import com.brodygaudel.accountservice.query.repository.OperationRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +30,21 @@ import java.util.UUID;
  * This class is annotated with {@link Service} to mark it as a Spring-managed service,
  * and {@link Transactional} to ensure that each method runs within a transactional context.
  * It utilizes event handling methods annotated with {@link EventHandler} to respond to different types of account events.
+ * <p>
+ * The tracking processor of the {@value #PROCESSING_GROUP} group hands events over in batches, all handled within a
+ * single transaction (see {@code ProjectionConfig}). Accounts are then read once per batch from the persistence
+ * context, the balance changes of an account are folded into a single update at commit, and operations are
+ * written with JDBC batch inserts.
+ * </p>
+ * <p>
+ * Every change of an account evicts it from the {@link AccountQueryCache} once the batch has committed.
+ * </p>
+ * <p>
+ * The new state of the account is also pushed to the subscription queries on {@link GetAccountByIdQuery} watching
+ * it, from the entity already at hand, so subscribers get each change without any further read. The
+ * {@link QueryUpdateEmitter} delays the updates until the batch has committed. The subscriptions watching a deleted
+ * account are completed.
+ * </p>
  * @since 2024
  * @version 3.0
  * @author Brody Gaudel MOUNANGA BOUKA
@@ -32,21 +52,31 @@ import java.util.UUID;
 @Service
 @Transactional
 @Slf4j
+@ProcessingGroup(AccountEventHandlerService.PROCESSING_GROUP)
 public class AccountEventHandlerService {
 
+    /** Name of the processing group, kept equal to the package name Axon assigned by default to preserve its tokens */
+    public static final String PROCESSING_GROUP = "com.brodygaudel.accountservice.query.service";
 
     private final AccountRepository accountRepository;
     private final OperationRepository operationRepository;
+    private final AccountQueryCache queryCache;
+    private final QueryUpdateEmitter queryUpdateEmitter;
 
     /**
      * Constructs an {@link  AccountEventHandlerService} with the specified repositories.
      *
      * @param accountRepository    The repository for account-related operations.
      * @param operationRepository  The repository for operations related to account transactions.
+     * @param queryCache           The cache of the accounts read by queries.
+     * @param queryUpdateEmitter   The emitter pushing account changes to subscription queries.
      */
-    public AccountEventHandlerService(AccountRepository accountRepository, OperationRepository operationRepository) {
+    public AccountEventHandlerService(AccountRepository accountRepository, OperationRepository operationRepository,
+                                      AccountQueryCache queryCache, QueryUpdateEmitter queryUpdateEmitter) {
         this.accountRepository = accountRepository;
         this.operationRepository = operationRepository;
+        this.queryCache = queryCache;
+        this.queryUpdateEmitter = queryUpdateEmitter;
     }
 
     /**
@@ -69,6 +99,7 @@ public class AccountEventHandlerService {
                     .balance(event.getBalance())
                     .build();
             Account accountSaved = accountRepository.save(account);
+            emitUpdate(accountSaved);
             log.info("Account successfully created at: " + accountSaved.getCreation());
         }
     }
@@ -85,6 +116,8 @@ public class AccountEventHandlerService {
         account.setStatus(event.getStatus());
         account.setLastUpdate(LocalDateTime.now());
         Account accountActivated = accountRepository.save(account);
+        queryCache.evict(account.getId());
+        emitUpdate(accountActivated);
         log.info("Account successfully activated at: " + accountActivated.getLastUpdate());
     }
 
@@ -100,6 +133,8 @@ public class AccountEventHandlerService {
         account.setStatus(event.getStatus());
         account.setLastUpdate(LocalDateTime.now());
         Account accountActivated = accountRepository.save(account);
+        queryCache.evict(account.getId());
+        emitUpdate(accountActivated);
         log.info("Account successfully suspended at: " + accountActivated.getLastUpdate());
     }
 
@@ -112,6 +147,8 @@ public class AccountEventHandlerService {
     public void handle(@NotNull AccountDeletedEvent event) {
         log.info("AccountDeletedEvent received");
         accountRepository.deleteById(event.getId());
+        queryCache.evict(event.getId());
+        queryUpdateEmitter.complete(GetAccountByIdQuery.class, query -> event.getId().equals(query.getId()));
         log.info("Account successfully deleted.");
     }
 
@@ -175,10 +212,30 @@ public class AccountEventHandlerService {
         Operation operation = Operation.builder().account(account).amount(amount).type(type)
                 .description(description).dateTime(dateTime).id(UUID.randomUUID().toString())
                 .build();
-        Operation operationSaved = operationRepository.save(operation);
+        Operation operationSaved = operationRepository.insert(operation);
         log.info("Operation successfully saved at " + operationSaved.getDateTime());
         Account accountCredited = accountRepository.save(account);
+        queryCache.evict(account.getId());
+        emitUpdate(accountCredited);
         log.info("Account successfully " + message + " at: " + accountCredited.getLastUpdate());
     }
 
+    /**
+     * Pushes the state of the given account to the subscription queries watching it.
+     *
+     * @param account The account that has changed. Must not be {@code null}.
+     */
+    private void emitUpdate(@NotNull Account account) {
+        AccountDTO accountDTO = AccountDTO.builder()
+                .id(account.getId())
+                .balance(account.getBalance())
+                .creation(account.getCreation())
+                .currency(account.getCurrency())
+                .customerId(account.getCustomerId())
+                .lastUpdate(account.getLastUpdate())
+                .status(account.getStatus())
+                .build();
+        queryUpdateEmitter.emit(GetAccountByIdQuery.class, query -> account.getId().equals(query.getId()), accountDTO);
+    }
+
 }
@@ -0,0 +1,311 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.enums.RebuildPhase;
+import com.brodygaudel.accountservice.query.cache.AccountQueryCache;
+import com.brodygaudel.accountservice.query.dto.ProjectionRebuildStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.TrackingEventProcessor;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class rebuilding the account projection from the event store without exposing a half-built read model.
+ *
+ * <p>
+ * A rebuild runs in three steps:
+ * </p>
+ * <ol>
+ *     <li>empty shadow copies of the {@code account} and {@code operation} tables are created, and the
+ *     {@value AccountRebuildEventHandlerService#PROCESSING_GROUP} processor replays the whole event stream into
+ *     them, split in segments by account id and processed in parallel;</li>
+ *     <li>once every segment has caught up with the head of the stream, the live processor and the rebuild
+ *     processor are stopped, the shadow tables are checked to hold at most one account per customer, and the live
+ *     processor takes over the tokens of the rebuild, so it resumes exactly after the last event written in the
+ *     shadow tables;</li>
+ *     <li>the shadow tables replace the live ones with a single {@code RENAME TABLE} statement, which MySQL
+ *     applies atomically, then the live processor is restarted.</li>
+ * </ol>
+ * <p>
+ * Queries keep reading the previous tables until the swap, so they never see a partial projection. The accounts of
+ * a customer may be in different segments, so whether a customer already has an account can only be told once
+ * every segment has caught up: if the event store holds two open accounts for the same customer, the rebuild is
+ * reported as {@link RebuildPhase#FAILED} with their customer IDs rather than swapped in. If the check, the token
+ * handover or the swap fails, the live tokens are restored and the live processor restarted on the previous
+ * tables. Other replicas must not run the live processor during the swap, otherwise the claim of its tokens fails
+ * and the rebuild is reported as {@link RebuildPhase#FAILED}.
+ * </p>
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Slf4j
+@Service
+public class AccountProjectionRebuildService implements DisposableBean {
+
+    private static final String[] PREPARE_STATEMENTS = {
+            "DROP TABLE IF EXISTS operation_previous",
+            "DROP TABLE IF EXISTS account_previous",
+            "DROP TABLE IF EXISTS " + AccountRebuildEventHandlerService.OPERATION_TABLE,
+            "DROP TABLE IF EXISTS " + AccountRebuildEventHandlerService.ACCOUNT_TABLE,
+            "CREATE TABLE " + AccountRebuildEventHandlerService.ACCOUNT_TABLE + " LIKE account",
+            "CREATE TABLE " + AccountRebuildEventHandlerService.OPERATION_TABLE + " LIKE operation",
+            "ALTER TABLE " + AccountRebuildEventHandlerService.OPERATION_TABLE
+                    + " ADD FOREIGN KEY (account_id) REFERENCES " + AccountRebuildEventHandlerService.ACCOUNT_TABLE + " (id)"
+    };
+
+    private static final String SWAP_STATEMENT = "RENAME TABLE account TO account_previous, "
+            + AccountRebuildEventHandlerService.ACCOUNT_TABLE + " TO account, operation TO operation_previous, "
+            + AccountRebuildEventHandlerService.OPERATION_TABLE + " TO operation";
+
+    private static final String DUPLICATE_CUSTOMERS_QUERY = "SELECT customer_id FROM "
+            + AccountRebuildEventHandlerService.ACCOUNT_TABLE + " GROUP BY customer_id HAVING COUNT(*) > 1 LIMIT 10";
+
+    private static final String[] CLEANUP_STATEMENTS = {
+            "DROP TABLE operation_previous",
+            "DROP TABLE account_previous"
+    };
+
+    private final EventProcessingConfiguration eventProcessingConfiguration;
+    private final TokenStore tokenStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountQueryCache queryCache;
+    private final int segments;
+    private final Duration progressInterval;
+    private final ScheduledExecutorService monitor;
+
+    private final Object lock = new Object();
+    private volatile ProjectionRebuildStatusDTO status = ProjectionRebuildStatusDTO.builder().phase(RebuildPhase.IDLE).build();
+    private ScheduledFuture<?> monitoring;
+    private long lastPosition;
+    private long lastSampleNanos;
+
+    /**
+     * Constructs an {@link AccountProjectionRebuildService}.
+     *
+     * @param eventProcessingConfiguration The Axon configuration giving access to the event processors.
+     * @param tokenStore                   The store holding the tokens of the event processors.
+     * @param jdbcTemplate                 The template creating and swapping the tables.
+     * @param transactionManager           The transaction manager used to move the tokens.
+     * @param queryCache                   The cache of the accounts read by queries, cleared after the swap.
+     * @param segments                     The number of segments the rebuild is split in.
+     * @param progressInterval             The interval at which progress is measured.
+     */
+    @Autowired
+    public AccountProjectionRebuildService(EventProcessingConfiguration eventProcessingConfiguration, TokenStore tokenStore,
+                                           JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                           AccountQueryCache queryCache,
+                                           @Value("${account.projection.segments:4}") int segments,
+                                           @Value("${account.projection.rebuild.progress-interval:PT1S}") Duration progressInterval) {
+        this.eventProcessingConfiguration = eventProcessingConfiguration;
+        this.tokenStore = tokenStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queryCache = queryCache;
+        this.segments = segments;
+        this.progressInterval = progressInterval;
+        this.monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "projection-rebuild-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a rebuild of the projection, unless one is already running.
+     *
+     * @return the status of the rebuild.
+     */
+    public ProjectionRebuildStatusDTO rebuild() {
+        synchronized (lock) {
+            if (isRunning()) {
+                return status;
+            }
+            try {
+                TrackingEventProcessor rebuildProcessor = processor(AccountRebuildEventHandlerService.PROCESSING_GROUP);
+                for (String statement : PREPARE_STATEMENTS) {
+                    jdbcTemplate.execute(statement);
+                }
+                transactionTemplate.executeWithoutResult(transaction -> deleteTokens(AccountRebuildEventHandlerService.PROCESSING_GROUP));
+                lastPosition = 0;
+                lastSampleNanos = System.nanoTime();
+                status = ProjectionRebuildStatusDTO.builder().phase(RebuildPhase.REBUILDING).segments(segments)
+                        .startedAt(LocalDateTime.now()).build();
+                rebuildProcessor.start();
+                monitoring = monitor.scheduleWithFixedDelay(this::monitor, progressInterval.toMillis(),
+                        progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+                log.info("Projection rebuild started with {} segments", segments);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+            return status;
+        }
+    }
+
+    /**
+     * Returns the status of the current, or last, rebuild.
+     *
+     * @return the status of the rebuild.
+     */
+    public ProjectionRebuildStatusDTO status() {
+        return status;
+    }
+
+    /**
+     * Measures the progress of the rebuild, and swaps the tables once every segment has caught up.
+     */
+    void monitor() {
+        synchronized (lock) {
+            if (status.getPhase() != RebuildPhase.REBUILDING) {
+                return;
+            }
+            try {
+                TrackingEventProcessor rebuildProcessor = processor(AccountRebuildEventHandlerService.PROCESSING_GROUP);
+                Map<Integer, EventTrackerStatus> trackers = rebuildProcessor.processingStatus();
+                long position = trackers.values().stream()
+                        .map(EventTrackerStatus::getCurrentPosition)
+                        .filter(OptionalLong::isPresent)
+                        .mapToLong(OptionalLong::getAsLong)
+                        .min().orElse(0);
+                Long head = headPosition(rebuildProcessor);
+                long now = System.nanoTime();
+                double eventsPerSecond = (position - lastPosition) * 1_000_000_000d / Math.max(1, now - lastSampleNanos);
+                lastPosition = position;
+                lastSampleNanos = now;
+                Long eta = head == null || eventsPerSecond <= 0 ? null : (long) Math.ceil((head - position) / eventsPerSecond);
+                status = status.toBuilder().position(position).headPosition(head).eventsPerSecond(eventsPerSecond)
+                        .etaSeconds(eta).build();
+                boolean caughtUp = trackers.size() == segments
+                        && trackers.values().stream().allMatch(EventTrackerStatus::isCaughtUp);
+                if (caughtUp) {
+                    monitoring.cancel(false);
+                    swap(rebuildProcessor);
+                }
+            } catch (RuntimeException e) {
+                monitoring.cancel(false);
+                processor(AccountRebuildEventHandlerService.PROCESSING_GROUP).shutDown();
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Checks the shadow tables, hands the rebuild tokens over to the live processor and swaps the tables.
+     *
+     * @param rebuildProcessor The processor which rebuilt the shadow tables.
+     */
+    private void swap(@NotNull TrackingEventProcessor rebuildProcessor) {
+        status = status.toBuilder().phase(RebuildPhase.SWAPPING).build();
+        log.info("Projection rebuild caught up at position {}, swapping tables", status.getPosition());
+        TrackingEventProcessor liveProcessor = processor(AccountEventHandlerService.PROCESSING_GROUP);
+        liveProcessor.shutDown();
+        rebuildProcessor.shutDown();
+        Map<Integer, TrackingToken> previousTokens = null;
+        try {
+            List<String> duplicateCustomers = jdbcTemplate.queryForList(DUPLICATE_CUSTOMERS_QUERY, String.class);
+            if (!duplicateCustomers.isEmpty()) {
+                throw new IllegalStateException("Customers with more than one account in the rebuilt projection: "
+                        + duplicateCustomers);
+            }
+            previousTokens = transactionTemplate.execute(transaction -> {
+                Map<Integer, TrackingToken> liveTokens = fetchTokens(AccountEventHandlerService.PROCESSING_GROUP);
+                replaceTokens(AccountEventHandlerService.PROCESSING_GROUP, fetchTokens(AccountRebuildEventHandlerService.PROCESSING_GROUP));
+                return liveTokens;
+            });
+            jdbcTemplate.execute(SWAP_STATEMENT);
+            queryCache.evictAll();
+        } catch (RuntimeException e) {
+            if (previousTokens != null) {
+                Map<Integer, TrackingToken> liveTokens = previousTokens;
+                transactionTemplate.executeWithoutResult(transaction -> replaceTokens(AccountEventHandlerService.PROCESSING_GROUP, liveTokens));
+            }
+            liveProcessor.start();
+            throw e;
+        }
+        liveProcessor.start();
+        for (String statement : CLEANUP_STATEMENTS) {
+            jdbcTemplate.execute(statement);
+        }
+        status = status.toBuilder().phase(RebuildPhase.COMPLETED).completedAt(LocalDateTime.now()).etaSeconds(0L).build();
+        log.info("Projection rebuild completed in {}", Duration.between(status.getStartedAt(), status.getCompletedAt()));
+    }
+
+    /**
+     * Reads the tokens of every segment of a processor, leaving them unclaimed.
+     */
+    private @NotNull Map<Integer, TrackingToken> fetchTokens(String processorName) {
+        Map<Integer, TrackingToken> tokens = new LinkedHashMap<>();
+        for (int segment : tokenStore.fetchSegments(processorName)) {
+            tokens.put(segment, tokenStore.fetchToken(processorName, segment));
+            tokenStore.releaseClaim(processorName, segment);
+        }
+        return tokens;
+    }
+
+    /**
+     * Replaces the segments of a processor by the given ones.
+     */
+    private void replaceTokens(String processorName, @NotNull Map<Integer, TrackingToken> tokens) {
+        deleteTokens(processorName);
+        tokens.forEach((segment, token) -> tokenStore.initializeSegment(token, processorName, segment));
+    }
+
+    /**
+     * Deletes the tokens of every segment of a processor.
+     */
+    private void deleteTokens(String processorName) {
+        for (int segment : tokenStore.fetchSegments(processorName)) {
+            tokenStore.fetchToken(processorName, segment);
+            tokenStore.deleteToken(processorName, segment);
+        }
+    }
+
+    private Long headPosition(@NotNull TrackingEventProcessor processor) {
+        TrackingToken head = processor.getMessageSource().createHeadToken();
+        if (head == null) {
+            return null;
+        }
+        OptionalLong position = head.position();
+        return position.isPresent() ? position.getAsLong() : null;
+    }
+
+    private TrackingEventProcessor processor(String name) {
+        return eventProcessingConfiguration.eventProcessor(name, TrackingEventProcessor.class)
+                .orElseThrow(() -> new IllegalStateException("No tracking event processor named '" + name + "'"));
+    }
+
+    private boolean isRunning() {
+        return status.getPhase() == RebuildPhase.REBUILDING || status.getPhase() == RebuildPhase.SWAPPING;
+    }
+
+    private void fail(@NotNull RuntimeException e) {
+        log.error("Projection rebuild failed", e);
+        status = status.toBuilder().phase(RebuildPhase.FAILED).completedAt(LocalDateTime.now()).error(e.getMessage()).build();
+    }
+
+    @Override
+    public void destroy() {
+        monitor.shutdownNow();
+    }
+}
@@ -2,16 +2,20 @@ package com.brodygaudel.accountservice.query.service;
 
 import com.brodygaudel.accountservice.common.exception.AccountNotFoundException;
 import com.brodygaudel.accountservice.common.exception.OperationNotFoundException;
+import com.brodygaudel.accountservice.query.cache.AccountQueryCache;
 import com.brodygaudel.accountservice.query.dto.AccountDTO;
+import com.brodygaudel.accountservice.query.dto.OperationCursorPageDTO;
 import com.brodygaudel.accountservice.query.dto.OperationDTO;
 import com.brodygaudel.accountservice.query.entity.Account;
 import com.brodygaudel.accountservice.query.entity.Operation;
 import com.brodygaudel.accountservice.query.model.GetAccountByCustomerIdQuery;
 import com.brodygaudel.accountservice.query.model.GetAccountByIdQuery;
 import com.brodygaudel.accountservice.query.model.GetOperationByIdQuery;
+import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdAfterQuery;
 import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdQuery;
 import com.brodygaudel.accountservice.query.repository.AccountRepository;
 import com.brodygaudel.accountservice.query.repository.OperationRepository;
+import com.brodygaudel.accountservice.query.util.OperationCursor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.axonframework.queryhandling.QueryHandler;
@@ -27,6 +31,7 @@ import java.util.List;
  * This service class provides methods to handle various queries related to accounts
  * and operations, such as retrieving an account by ID or customer ID, retrieving
  * operations by account ID, and converting account and operation entities to DTOs.
+ * Accounts are read through the {@link AccountQueryCache}.
  * @since 2024
  * @version 3.0
  * @author Brody Gaudel MOUNANGA BOUKA
@@ -35,18 +40,25 @@ import java.util.List;
 @Slf4j
 public class AccountQueryHandlerService {
 
+    /** Maximum number of operations returned in a single page of a {@link GetOperationsByAccountIdAfterQuery} */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final AccountRepository accountRepository;
     private final OperationRepository operationRepository;
+    private final AccountQueryCache queryCache;
 
     /**
      * Constructs a new {@code AccountQueryHandlerService} with the specified repositories.
      *
      * @param accountRepository   the repository for accessing {@link Account} entities
      * @param operationRepository the repository for accessing {@link Operation} entities
+     * @param queryCache          the cache of the accounts already read
      */
-    public AccountQueryHandlerService(AccountRepository accountRepository, OperationRepository operationRepository) {
+    public AccountQueryHandlerService(AccountRepository accountRepository, OperationRepository operationRepository,
+                                      AccountQueryCache queryCache) {
         this.accountRepository = accountRepository;
         this.operationRepository = operationRepository;
+        this.queryCache = queryCache;
     }
 
     /**
@@ -59,10 +71,12 @@ public class AccountQueryHandlerService {
     @QueryHandler
     public AccountDTO handle(@NotNull GetAccountByIdQuery query){
         log.info("GetAccountByIdQuery handled");
-        Account account = accountRepository.findById(query.getId())
-                .orElseThrow( () -> new AccountNotFoundException("account not found"));
+        AccountDTO account = queryCache.getAccount(query.getId(), this::loadAccount);
+        if (account == null) {
+            throw new AccountNotFoundException("account not found");
+        }
         log.info("account found.");
-        return fromAccount(account);
+        return account;
     }
 
     /**
@@ -75,8 +89,17 @@ public class AccountQueryHandlerService {
     @QueryHandler
     public AccountDTO handle(@NotNull GetAccountByCustomerIdQuery query){
         log.info("GetAccountByCustomerIdQuery handled");
+        String accountId = queryCache.getAccountId(query.getCustomerId());
+        if (accountId != null) {
+            AccountDTO cached = queryCache.getAccount(accountId, this::loadAccount);
+            if (cached != null) {
+                log.info("account found");
+                return cached;
+            }
+        }
         Account account = accountRepository.findByCustomerId(query.getCustomerId())
                 .orElseThrow( () -> new AccountNotFoundException("account not found"));
+        queryCache.putAccountId(account.getCustomerId(), account.getId());
         log.info("account found");
         return fromAccount(account);
     }
@@ -113,6 +136,42 @@ public class AccountQueryHandlerService {
         return operationPage.getContent().stream().map(this::fromOperation).toList();
     }
 
+    /**
+     * Handles the GetOperationsByAccountIdAfterQuery to retrieve the operations of an account following a cursor.
+     * The page size is kept between 1 and {@link #MAX_PAGE_SIZE}, and one more operation than that is read
+     * to know whether a next page exists.
+     *
+     * @param query The GetOperationsByAccountIdAfterQuery object.
+     * @return OperationCursorPageDTO object containing the operations and the cursor of the next page.
+     */
+    @QueryHandler
+    public OperationCursorPageDTO handle(@NotNull GetOperationsByAccountIdAfterQuery query){
+        log.info("GetOperationsByAccountIdAfterQuery handled");
+        int size = Math.min(Math.max(query.getSize(), 1), MAX_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Operation> operations = query.getAfterId() == null
+                ? operationRepository.findFirstPageByAccountId(query.getAccountId(), limit)
+                : operationRepository.findPageByAccountIdAfter(query.getAccountId(), query.getAfterDateTime(), query.getAfterId(), limit);
+        String nextCursor = null;
+        if (operations.size() > size) {
+            operations = operations.subList(0, size);
+            Operation last = operations.get(operations.size() - 1);
+            nextCursor = new OperationCursor(last.getDateTime(), last.getId()).encode();
+        }
+        log.info("operation(s) found");
+        return new OperationCursorPageDTO(size, nextCursor, operations.stream().map(this::fromOperation).toList());
+    }
+
+    /**
+     * Loads an account from the database.
+     *
+     * @param id the ID of the account
+     * @return the account, or {@code null} if it does not exist
+     */
+    private AccountDTO loadAccount(String id){
+        return accountRepository.findById(id).map(this::fromAccount).orElse(null);
+    }
+
     /**
      * Converts an {@link Account} object to an {@link AccountDTO} object.
      *
@@ -0,0 +1,152 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.OperationType;
+import com.brodygaudel.accountservice.common.event.*;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Service class rebuilding the account projection into shadow tables.
+ *
+ * <p>
+ * It applies the same rules as {@link AccountEventHandlerService}, but writes into {@value #ACCOUNT_TABLE} and
+ * {@value #OPERATION_TABLE}, which are swapped with the live tables once the rebuild has caught up (see
+ * {@link AccountProjectionRebuildService}). The shadow tables are not mapped by JPA, so plain SQL is used and
+ * every event costs one or two statements without any read. Status changes are dated with the date of the event
+ * rather than the time of the rebuild.
+ * </p>
+ * <p>
+ * The {@value #PROCESSING_GROUP} processor is split in segments by account id and only runs during a rebuild.
+ * The accounts of a customer may be handled by different segments, in any order, so every created account is
+ * inserted: that a customer has at most one account is checked once the rebuild has caught up.
+ * </p>
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Service
+@Slf4j
+@ProcessingGroup(AccountRebuildEventHandlerService.PROCESSING_GROUP)
+public class AccountRebuildEventHandlerService {
+
+    /** Name of the processing group, and of the processor, rebuilding the projection */
+    public static final String PROCESSING_GROUP = "account-projection-rebuild";
+
+    /** Shadow table receiving the rebuilt accounts */
+    public static final String ACCOUNT_TABLE = "account_rebuild";
+
+    /** Shadow table receiving the rebuilt operations */
+    public static final String OPERATION_TABLE = "operation_rebuild";
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO " + ACCOUNT_TABLE
+            + " (id, status, balance, currency, customer_id, creation) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STATUS = "UPDATE " + ACCOUNT_TABLE + " SET status = ?, last_update = ? WHERE id = ?";
+    private static final String UPDATE_BALANCE = "UPDATE " + ACCOUNT_TABLE
+            + " SET balance = balance + ?, last_update = ? WHERE id = ? AND status = ?";
+    private static final String INSERT_OPERATION = "INSERT INTO " + OPERATION_TABLE
+            + " (id, date_time, description, type, amount, account_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_OPERATIONS = "DELETE FROM " + OPERATION_TABLE + " WHERE account_id = ?";
+    private static final String DELETE_ACCOUNT = "DELETE FROM " + ACCOUNT_TABLE + " WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs an {@link AccountRebuildEventHandlerService} with the specified template.
+     *
+     * @param jdbcTemplate The template writing into the shadow tables.
+     */
+    public AccountRebuildEventHandlerService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Handles the {@link AccountCreatedEvent} by inserting the account.
+     *
+     * @param event The {@link AccountCreatedEvent} to handle.
+     */
+    @EventHandler
+    public void handle(@NotNull AccountCreatedEvent event) {
+        jdbcTemplate.update(INSERT_ACCOUNT, event.getId(), event.getStatus().name(), event.getBalance(),
+                event.getCurrency().name(), event.getCustomerId(), event.getCreation());
+    }
+
+    /**
+     * Handles the {@link AccountActivatedEvent} by updating the status of the account.
+     *
+     * @param event The {@link AccountActivatedEvent} to handle.
+     */
+    @EventHandler
+    public void handle(@NotNull AccountActivatedEvent event) {
+        jdbcTemplate.update(UPDATE_STATUS, event.getStatus().name(), event.getDateTime(), event.getId());
+    }
+
+    /**
+     * Handles the {@link AccountSuspendedEvent} by updating the status of the account.
+     *
+     * @param event The {@link AccountSuspendedEvent} to handle.
+     */
+    @EventHandler
+    public void handle(@NotNull AccountSuspendedEvent event) {
+        jdbcTemplate.update(UPDATE_STATUS, event.getStatus().name(), event.getDateTime(), event.getId());
+    }
+
+    /**
+     * Handles the {@link AccountDeletedEvent} by deleting the account and its operations.
+     *
+     * @param event The {@link AccountDeletedEvent} to handle.
+     */
+    @EventHandler
+    public void handle(@NotNull AccountDeletedEvent event) {
+        jdbcTemplate.update(DELETE_OPERATIONS, event.getId());
+        jdbcTemplate.update(DELETE_ACCOUNT, event.getId());
+    }
+
+    /**
+     * Handles the {@link AccountCreditedEvent} by crediting the account if it is activated.
+     *
+     * @param event The {@link AccountCreditedEvent} to handle.
+     */
+    @EventHandler
+    public void handle(@NotNull AccountCreditedEvent event) {
+        apply(event.getId(), event.getAmount(), event.getAmount(), event.getDateTime(), event.getDescription(), OperationType.CREDIT);
+    }
+
+    /**
+     * Handles the {@link AccountDebitedEvent} by debiting the account if it is activated.
+     *
+     * @param event The {@link AccountDebitedEvent} to handle.
+     */
+    @EventHandler
+    public void handle(@NotNull AccountDebitedEvent event) {
+        apply(event.getId(), event.getAmount().negate(), event.getAmount(), event.getDateTime(), event.getDescription(), OperationType.DEBIT);
+    }
+
+    /**
+     * Adds the given delta to the balance of an activated account and records the operation.
+     *
+     * @param accountId   The identifier of the account.
+     * @param delta       The signed amount added to the balance.
+     * @param amount      The amount of the operation.
+     * @param dateTime    The date and time of the operation.
+     * @param description A description of the operation.
+     * @param type        The type of the operation.
+     */
+    private void apply(String accountId, BigDecimal delta, BigDecimal amount, LocalDateTime dateTime, String description, OperationType type) {
+        int updated = jdbcTemplate.update(UPDATE_BALANCE, delta, dateTime, accountId, AccountStatus.ACTIVATED.name());
+        if (updated == 0) {
+            log.warn("Operation skipped during rebuild: account {} not found or not activated", accountId);
+            return;
+        }
+        jdbcTemplate.update(INSERT_OPERATION, UUID.randomUUID().toString(), dateTime, description, type.name(),
+                amount, accountId);
+    }
+}
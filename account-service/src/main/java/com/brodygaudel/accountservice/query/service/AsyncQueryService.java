@@ -0,0 +1,103 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.tracing.TraceContexts;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Service dispatching queries without blocking the calling thread.
+ *
+ * <p>
+ * Queries are sent to the {@link QueryGateway} from a bounded pool, so a web request thread is released as soon as
+ * its query is handed over, including with a local query bus which runs the handlers on the dispatching thread.
+ * Once the pool and its queue are full, further queries are rejected with a {@link RejectedExecutionException}
+ * instead of piling up. A query not answered within {@code timeout} completes with a {@link TimeoutException}.
+ * With {@code spring.threads.virtual.enabled=true}, the pool threads are virtual threads: the pool still bounds the
+ * number of queries in flight, but a query waiting on the database no longer holds a platform thread.
+ * Queries are sent within the trace of the request that dispatched them.
+ * </p>
+ *
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Slf4j
+@Service
+public class AsyncQueryService implements DisposableBean {
+
+    private final QueryGateway queryGateway;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    /**
+     * Constructs a new {@code AsyncQueryService} with its own pool.
+     *
+     * @param queryGateway  The gateway the queries are sent to.
+     * @param threads       The number of threads dispatching queries.
+     * @param queueCapacity The number of queries waiting for a thread before new ones are rejected.
+     * @param timeout       The time after which an unanswered query fails.
+     * @param virtualThreads Whether the queries are dispatched from virtual threads.
+     */
+    @Autowired
+    public AsyncQueryService(QueryGateway queryGateway,
+                             @Value("${account.query.threads:32}") int threads,
+                             @Value("${account.query.queue-capacity:1000}") int queueCapacity,
+                             @Value("${account.query.timeout:PT10S}") Duration timeout,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(queryGateway, TraceContexts.propagating(new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), virtualThreads
+                        ? Thread.ofVirtual().name("query-dispatch-", 0).factory()
+                        : new CustomizableThreadFactory("query-dispatch-"))), timeout);
+    }
+
+    /**
+     * Constructs a new {@code AsyncQueryService}.
+     *
+     * @param queryGateway The gateway the queries are sent to.
+     * @param executor     The executor dispatching the queries.
+     * @param timeout      The time after which an unanswered query fails.
+     */
+    public AsyncQueryService(QueryGateway queryGateway, ExecutorService executor, Duration timeout) {
+        log.info("Query dispatch: timeout={}", timeout);
+        this.queryGateway = queryGateway;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Sends a query and returns its result asynchronously.
+     *
+     * @param query        The query to send.
+     * @param responseType The expected type of the response.
+     * @param <R>          The type of the response.
+     * @return A CompletableFuture completed with the response, or exceptionally with the error of the handler, a
+     *         {@link TimeoutException} or a {@link RejectedExecutionException} when too many queries are pending.
+     */
+    public <R> CompletableFuture<R> query(Object query, ResponseType<R> responseType) {
+        try {
+            return CompletableFuture.supplyAsync(() -> queryGateway.query(query, responseType), executor)
+                    .thenCompose(response -> response)
+                    .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("{} rejected: too many pending queries", query.getClass().getSimpleName());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Shuts down the pool dispatching the queries.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
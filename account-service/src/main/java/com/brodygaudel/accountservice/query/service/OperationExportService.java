@@ -0,0 +1,151 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.enums.ExportFormat;
+import com.brodygaudel.accountservice.common.exception.AccountNotFoundException;
+import com.brodygaudel.accountservice.common.exception.UnsupportedExportFormatException;
+import com.brodygaudel.accountservice.query.dto.OperationDTO;
+import com.brodygaudel.accountservice.query.repository.AccountRepository;
+import com.brodygaudel.accountservice.query.repository.OperationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Service class exporting the operations history of an account.
+ *
+ * <p>
+ * Operations are streamed from the database and written to the output as they are read, in NDJSON (one JSON
+ * object per line) or CSV, from the oldest to the most recent. Nothing is accumulated in memory, so the export of
+ * a history of millions of operations needs no more heap than the export of a single one.
+ * </p>
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Service
+@Slf4j
+public class OperationExportService {
+
+    /** Lower bound of the operation dates when none is given */
+    private static final LocalDateTime MIN_DATE_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /** Upper bound of the operation dates when none is given, the largest value of a MySQL DATETIME */
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String CSV_HEADER = "id,dateTime,description,type,amount,accountId";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AccountRepository accountRepository;
+    private final OperationRepository operationRepository;
+    private final ObjectWriter jsonWriter;
+
+    /**
+     * Constructs a new {@code OperationExportService}.
+     *
+     * @param accountRepository   the repository for accessing accounts
+     * @param operationRepository the repository streaming operations
+     * @param objectMapper        the mapper writing operations as JSON
+     */
+    public OperationExportService(AccountRepository accountRepository, OperationRepository operationRepository,
+                                  @NotNull ObjectMapper objectMapper) {
+        this.accountRepository = accountRepository;
+        this.operationRepository = operationRepository;
+        this.jsonWriter = objectMapper.writerFor(OperationDTO.class);
+    }
+
+    /**
+     * Parses the name of an export format, ignoring case.
+     *
+     * @param format the name of the format
+     * @return the export format
+     * @throws UnsupportedExportFormatException if the format is not supported
+     */
+    public static ExportFormat formatOf(@NotNull String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedExportFormatException("unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Writes the operations of an account dated within the given range to the output.
+     *
+     * @param accountId the ID of the account
+     * @param from      the inclusive lower bound of the operation dates, or {@code null} for no bound
+     * @param to        the exclusive upper bound of the operation dates, or {@code null} for no bound
+     * @param format    the format of the export
+     * @param output    the stream receiving the export, left open
+     * @return the number of operations exported
+     * @throws AccountNotFoundException if the account does not exist, before anything is written
+     * @throws IOException if the output cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long export(String accountId, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                       OutputStream output) throws IOException {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("account not found");
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = 0;
+        try (Stream<OperationDTO> operations = operationRepository.streamByAccountId(accountId,
+                from == null ? MIN_DATE_TIME : from, to == null ? MAX_DATE_TIME : to)) {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<OperationDTO> iterator = operations.iterator();
+            while (iterator.hasNext()) {
+                OperationDTO operation = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, operation);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(operation));
+                }
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("{} operation(s) of account {} exported as {}", count, accountId, format);
+        return count;
+    }
+
+    private static void writeCsv(@NotNull Writer writer, @NotNull OperationDTO operation) throws IOException {
+        writer.write(operation.getId());
+        writer.write(',');
+        writer.write(String.valueOf(operation.getDateTime()));
+        writer.write(',');
+        writer.write(escapeCsv(operation.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(operation.getType()));
+        writer.write(',');
+        writer.write(operation.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(operation.getAccountId());
+    }
+
+    /**
+     * Quotes a CSV field when it contains a separator, a quote or a line break, as described by RFC 4180.
+     */
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,68 @@
+package com.brodygaudel.accountservice.query.util;
+
+import com.brodygaudel.accountservice.common.exception.InvalidCursorException;
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the operations history of an account, used to read the page following a given operation.
+ *
+ * <p>
+ * Operations are listed from the most recent to the oldest, by date and then by id, so the date and id of the
+ * last operation of a page are enough to resume after it, whatever the number of pages already read. The cursor
+ * is exchanged with clients as an opaque URL-safe string.
+ * </p>
+ * @since 2024
+ * @version 3.0
+ * @author Brody Gaudel MOUNANGA BOUKA
+ */
+@Getter
+@ToString
+public class OperationCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime dateTime;
+    private final String id;
+
+    public OperationCursor(LocalDateTime dateTime, String id) {
+        this.dateTime = dateTime;
+        this.id = id;
+    }
+
+    /**
+     * Encodes this cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        String value = dateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor.
+     * @return the decoded cursor.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    public static @NotNull OperationCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0 || separator == value.length() - 1) {
+                throw new InvalidCursorException("invalid cursor");
+            }
+            return new OperationCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+    }
+}
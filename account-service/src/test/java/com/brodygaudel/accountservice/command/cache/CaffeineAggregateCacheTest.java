@@ -0,0 +1,81 @@
+package com.brodygaudel.accountservice.command.cache;
+
+import org.axonframework.common.caching.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CaffeineAggregateCacheTest {
+
+    private CaffeineAggregateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineAggregateCache(100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testPutAndGet() {
+        cache.put("1234567887654321", "aggregate");
+        String value = cache.get("1234567887654321");
+        assertEquals("aggregate", value);
+        assertTrue(cache.containsKey("1234567887654321"));
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    void testGetMissing() {
+        assertNull(cache.get("unknown"));
+        assertEquals(1, cache.getNativeCache().stats().missCount());
+    }
+
+    @Test
+    void testPutIfAbsent() {
+        assertTrue(cache.putIfAbsent("key", "first"));
+        assertFalse(cache.putIfAbsent("key", "second"));
+        assertEquals("first", cache.get("key"));
+    }
+
+    @Test
+    void testRemove() {
+        cache.put("key", "value");
+        assertTrue(cache.remove("key"));
+        assertFalse(cache.remove("key"));
+        assertFalse(cache.containsKey("key"));
+    }
+
+    @Test
+    void testComputeIfPresent() {
+        cache.computeIfPresent("key", value -> "ignored");
+        assertFalse(cache.containsKey("key"));
+
+        cache.put("key", "value");
+        cache.<String>computeIfPresent("key", value -> value + "-updated");
+        assertEquals("value-updated", cache.get("key"));
+
+        cache.computeIfPresent("key", value -> null);
+        assertFalse(cache.containsKey("key"));
+    }
+
+    @Test
+    void testListenerNotified() {
+        Cache.EntryListener listener = mock(Cache.EntryListener.class);
+        cache.registerCacheEntryListener(listener);
+
+        cache.put("key", "value");
+        cache.put("key", "other");
+        cache.remove("key");
+        cache.getNativeCache().cleanUp();
+
+        verify(listener).onEntryCreated("key", "value");
+        verify(listener).onEntryUpdated("key", "other");
+        verify(listener, timeout(1000)).onEntryRemoved(eq("key"));
+        verify(listener, never()).onEntryExpired(any());
+    }
+}
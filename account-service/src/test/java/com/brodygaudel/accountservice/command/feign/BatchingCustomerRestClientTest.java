@@ -0,0 +1,91 @@
+package com.brodygaudel.accountservice.command.feign;
+
+import com.brodygaudel.accountservice.command.dto.CustomerDTO;
+import com.brodygaudel.accountservice.common.enums.Sex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BatchingCustomerRestClientTest {
+
+    private CustomerRestClient customerRestClient;
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        customerRestClient = mock(CustomerRestClient.class);
+        executor = Executors.newScheduledThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testGetByIdCoalescesLookupsWithinWindow() throws Exception {
+        BatchingCustomerRestClient client = new BatchingCustomerRestClient(customerRestClient, executor, executor, Duration.ofMillis(50), 100);
+        when(customerRestClient.getByIds(anyList())).thenReturn(List.of(customer("c1"), customer("c2")));
+
+        CompletableFuture<CustomerDTO> first = client.getById("c1");
+        CompletableFuture<CustomerDTO> second = client.getById("c2");
+        CompletableFuture<CustomerDTO> unknown = client.getById("c3");
+
+        assertEquals("c1", first.get(5, TimeUnit.SECONDS).id());
+        assertEquals("c2", second.get(5, TimeUnit.SECONDS).id());
+        assertNull(unknown.get(5, TimeUnit.SECONDS));
+        verify(customerRestClient, times(1)).getByIds(anyList());
+        verify(customerRestClient, never()).getById(any());
+    }
+
+    @Test
+    void testGetByIdSendsFullBatchImmediately() throws Exception {
+        BatchingCustomerRestClient client = new BatchingCustomerRestClient(customerRestClient, executor, executor, Duration.ofHours(1), 2);
+        when(customerRestClient.getByIds(anyList())).thenReturn(List.of(customer("c1"), customer("c2")));
+
+        CompletableFuture<CustomerDTO> first = client.getById("c1");
+        CompletableFuture<CustomerDTO> second = client.getById("c2");
+
+        assertEquals("c1", first.get(5, TimeUnit.SECONDS).id());
+        assertEquals("c2", second.get(5, TimeUnit.SECONDS).id());
+    }
+
+    @Test
+    void testGetByIdPropagatesFailure() {
+        BatchingCustomerRestClient client = new BatchingCustomerRestClient(customerRestClient, executor, executor, Duration.ofMillis(10), 100);
+        when(customerRestClient.getByIds(anyList())).thenThrow(new IllegalStateException("customer service unavailable"));
+
+        CompletableFuture<CustomerDTO> future = client.getById("c1");
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void testMaxBatchSizeAboveCustomerServiceLimitIsRejected() {
+        Duration window = Duration.ofMillis(10);
+        int maxBatchSize = BatchingCustomerRestClient.MAX_BATCH_SIZE + 1;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingCustomerRestClient(customerRestClient, executor, executor, window, maxBatchSize));
+    }
+
+    private static CustomerDTO customer(String id) {
+        return new CustomerDTO(id, "cin", "john", "doe", LocalDate.of(2000, 1, 1),
+                "world", "Gabon", Sex.M, "email@gmail.com", LocalDateTime.now(), null);
+    }
+}
@@ -1,12 +1,11 @@
 package com.brodygaudel.accountservice.command.service.implementation;
 
 import com.brodygaudel.accountservice.command.dto.*;
-import com.brodygaudel.accountservice.command.feign.CustomerRestClient;
 import com.brodygaudel.accountservice.command.model.*;
+import com.brodygaudel.accountservice.command.util.CustomerVerifier;
 import com.brodygaudel.accountservice.command.util.IdGenerator;
 import com.brodygaudel.accountservice.common.enums.AccountStatus;
 import com.brodygaudel.accountservice.common.enums.Currency;
-import com.brodygaudel.accountservice.common.enums.Sex;
 import com.brodygaudel.accountservice.common.exception.CustomerNotFoundException;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,10 +15,10 @@ import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,29 +36,26 @@ class AccountCommandServiceImplTest {
     private IdGenerator idGenerator;
 
     @Mock
-    private CustomerRestClient customerRestClient;
+    private CustomerVerifier customerVerifier;
 
     @InjectMocks
     private AccountCommandServiceImpl commandService;
 
     @BeforeEach
     void setUp() {
-        commandService = new AccountCommandServiceImpl(commandGateway, idGenerator, customerRestClient);
+        commandService = new AccountCommandServiceImpl(commandGateway, idGenerator, customerVerifier);
     }
 
     @Test
     void testCreate() {
         String id = UUID.randomUUID().toString();
         CreateAccountDTO dto = new CreateAccountDTO(id, Currency.TND);
-        CustomerDTO customerDTO = new CustomerDTO(id, "cin", "john", "doe", LocalDate.of(2000,1,1),
-                "world", "Gabon", Sex.M, "email@gmail.com", LocalDateTime.now(), null
-        );
         String accountId = "1234567887654321";
         CreateAccountCommand command = new CreateAccountCommand(
                 accountId, AccountStatus.CREATED, BigDecimal.ZERO, dto.currency(), dto.customerId(), LocalDateTime.now()
         );
 
-        when(customerRestClient.getById(anyString())).thenReturn(customerDTO);
+        when(customerVerifier.existsAsync(anyString())).thenReturn(CompletableFuture.completedFuture(true));
         when(idGenerator.autoGenerate()).thenReturn("accountId");
         when(commandGateway.send(any())).thenReturn(CompletableFuture.completedFuture("accountId"));
 
@@ -77,10 +73,15 @@ class AccountCommandServiceImplTest {
         // Arrange
         String id = UUID.randomUUID().toString();
         CreateAccountDTO dto = new CreateAccountDTO(id, Currency.TND);
-        when(customerRestClient.getById(anyString())).thenReturn(null);
+        when(customerVerifier.existsAsync(anyString())).thenReturn(CompletableFuture.completedFuture(false));
 
-        // Act & Assert
-        assertThrows(CustomerNotFoundException.class, () -> commandService.create(dto));
+        // Act
+        CompletableFuture<String> future = commandService.create(dto);
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(CustomerNotFoundException.class, exception.getCause());
+        verify(idGenerator, never()).autoGenerate();
         verify(commandGateway, never()).send(any());
     }
 
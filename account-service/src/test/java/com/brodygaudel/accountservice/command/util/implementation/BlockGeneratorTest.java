@@ -0,0 +1,149 @@
+package com.brodygaudel.accountservice.command.util.implementation;
+
+import com.brodygaudel.accountservice.common.exception.MaxAccountPerDayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BlockGeneratorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-17T10:00:00Z"), ZoneOffset.UTC);
+
+    private CounterRepository counterRepository;
+    private PlatformTransactionManager transactionManager;
+    private Counter counter;
+
+    @BeforeEach
+    void setUp() {
+        // a single counter row shared by every generator, locked for the duration of a transaction
+        ReentrantLock rowLock = new ReentrantLock();
+        counterRepository = mock(CounterRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        counter = null;
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return mock(TransactionStatus.class);
+        });
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).rollback(any());
+        when(counterRepository.findByDateForUpdate(any())).thenAnswer(invocation -> Optional.ofNullable(counter)
+                .map(c -> Counter.builder().id(c.getId()).date(c.getDate()).count(c.getCount()).build()));
+        when(counterRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            counter = invocation.getArgument(0);
+            return counter;
+        });
+    }
+
+    @Test
+    void testAutoGenerateFormat() {
+        BlockGenerator generator = new BlockGenerator(counterRepository, transactionManager, 10, CLOCK);
+
+        assertEquals("2024051700000001", generator.autoGenerate());
+        assertEquals("2024051700000002", generator.autoGenerate());
+        assertEquals(10, counter.getCount());
+        verify(counterRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void testAutoGenerateReservesNextBlock() {
+        BlockGenerator generator = new BlockGenerator(counterRepository, transactionManager, 2, CLOCK);
+
+        generator.autoGenerate();
+        generator.autoGenerate();
+        assertEquals("2024051700000003", generator.autoGenerate());
+        assertEquals(4, counter.getCount());
+        verify(counterRepository, times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    void testAutoGenerateThrowMaxAccountPerDayException() {
+        counter = Counter.builder().count(99999999).date(CLOCK.instant().atZone(ZoneOffset.UTC).toLocalDate()).build();
+        BlockGenerator generator = new BlockGenerator(counterRepository, transactionManager, 10, CLOCK);
+
+        assertThrows(MaxAccountPerDayException.class, generator::autoGenerate);
+    }
+
+    @Test
+    void testAutoGenerateRetriesAfterDeadlock() {
+        when(counterRepository.saveAndFlush(any()))
+                .thenThrow(new DeadlockLoserDataAccessException("Deadlock found when trying to get lock", null))
+                .thenAnswer(invocation -> {
+                    counter = invocation.getArgument(0);
+                    return counter;
+                });
+        BlockGenerator generator = new BlockGenerator(counterRepository, transactionManager, 10, CLOCK);
+
+        assertEquals("2024051700000001", generator.autoGenerate());
+        assertEquals(10, counter.getCount());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void testAutoGenerateGivesUpAfterRepeatedLockFailures() {
+        when(counterRepository.saveAndFlush(any()))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+        BlockGenerator generator = new BlockGenerator(counterRepository, transactionManager, 10, CLOCK);
+
+        assertThrows(CannotAcquireLockException.class, generator::autoGenerate);
+        verify(counterRepository, times(3)).saveAndFlush(any());
+    }
+
+    @Test
+    void testAutoGenerateUniqueAcrossInstancesUnderContention() throws Exception {
+        int instances = 4;
+        int threadsPerInstance = 4;
+        int idsPerThread = 25_000;
+        List<BlockGenerator> generators = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            generators.add(new BlockGenerator(counterRepository, transactionManager, 100, CLOCK));
+        }
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(instances * threadsPerInstance);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (BlockGenerator generator : generators) {
+            for (int t = 0; t < threadsPerInstance; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < idsPerThread; n++) {
+                        ids.add(generator.autoGenerate());
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int expected = instances * threadsPerInstance * idsPerThread;
+        assertEquals(expected, ids.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.brodygaudel.accountservice.command.util.implementation;
+
+import com.brodygaudel.accountservice.command.dto.CustomerDTO;
+import com.brodygaudel.accountservice.command.feign.BatchingCustomerRestClient;
+import com.brodygaudel.accountservice.common.enums.Sex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachedCustomerVerifierTest {
+
+    private BatchingCustomerRestClient customerRestClient;
+    private SimpleMeterRegistry meterRegistry;
+    private CachedCustomerVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        customerRestClient = mock(BatchingCustomerRestClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        verifier = new CachedCustomerVerifier(customerRestClient, meterRegistry,
+                100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testExistsIsCached() {
+        when(customerRestClient.getById("customerId")).thenReturn(CompletableFuture.completedFuture(customer("customerId")));
+
+        assertTrue(verifier.existsAsync("customerId").join());
+        assertTrue(verifier.existsAsync("customerId").join());
+
+        verify(customerRestClient, times(1)).getById("customerId");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "customer-existence").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testNotFoundIsCached() {
+        when(customerRestClient.getById("unknown")).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertFalse(verifier.existsAsync("unknown").join());
+        assertFalse(verifier.existsAsync("unknown").join());
+
+        verify(customerRestClient, times(1)).getById("unknown");
+    }
+
+    @Test
+    void testFailureIsNotCached() {
+        when(customerRestClient.getById("customerId"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("customer service unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(customer("customerId")));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> verifier.existsAsync("customerId").join());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertTrue(verifier.existsAsync("customerId").join());
+
+        verify(customerRestClient, times(2)).getById("customerId");
+    }
+
+    private static CustomerDTO customer(String id) {
+        return new CustomerDTO(id, "cin", "john", "doe", LocalDate.of(2000, 1, 1),
+                "world", "Gabon", Sex.M, "email@gmail.com", LocalDateTime.now(), null);
+    }
+}
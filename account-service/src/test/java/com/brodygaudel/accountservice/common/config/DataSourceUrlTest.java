@@ -0,0 +1,44 @@
+package com.brodygaudel.accountservice.common.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceUrlTest {
+
+    @Test
+    void testUrlKeepsOptionsWithDefaultDatabase() throws IOException {
+        String url = datasourceUrl(Map.of());
+
+        assertTrue(url.startsWith("jdbc:mysql://localhost:3306/bank_dbqy?"), url);
+        assertTrue(url.contains("rewriteBatchedStatements=true"), url);
+        assertTrue(url.contains("useCursorFetch=true"), url);
+    }
+
+    @Test
+    void testUrlKeepsOptionsWithConfiguredDatabase() throws IOException {
+        String url = datasourceUrl(Map.of("MYSQL_HOST", "mysql", "MYSQL_DATABASE", "account_db"));
+
+        assertTrue(url.startsWith("jdbc:mysql://mysql:3306/account_db?"), url);
+        assertTrue(url.contains("createDatabaseIfNotExist=true"), url);
+        assertTrue(url.contains("serverTimezone=UTC"), url);
+        assertTrue(url.contains("rewriteBatchedStatements=true"), url);
+        assertTrue(url.contains("useCursorFetch=true"), url);
+    }
+
+    private static String datasourceUrl(Map<String, Object> variables) throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().remove(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME);
+        environment.getPropertySources().remove(StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME);
+        environment.getPropertySources().addFirst(new MapPropertySource("variables", variables));
+        environment.getPropertySources().addLast(new ResourcePropertySource(new ClassPathResource("application.properties")));
+        return environment.getRequiredProperty("spring.datasource.url");
+    }
+}
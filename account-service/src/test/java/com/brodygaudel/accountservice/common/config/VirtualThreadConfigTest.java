@@ -0,0 +1,48 @@
+package com.brodygaudel.accountservice.common.config;
+
+import org.axonframework.axonserver.connector.AxonServerConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadConfigTest {
+
+    @Test
+    void testVirtualThreadPoolRunsAtMostCommandThreadsTasksAtOnce() throws Exception {
+        AxonServerConfiguration configuration = new AxonServerConfiguration();
+        configuration.setCommandThreads(2);
+        ExecutorService executor = VirtualThreadConfig
+                .virtualThreadPool(AxonServerConfiguration::getCommandThreads, "axon-command-")
+                .apply(configuration, new LinkedBlockingQueue<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            futures.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                release.await(5, TimeUnit.SECONDS);
+                running.decrementAndGet();
+                return Thread.currentThread().isVirtual();
+            }));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(2, maxRunning.get());
+    }
+}
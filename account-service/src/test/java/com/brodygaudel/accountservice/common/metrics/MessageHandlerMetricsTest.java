@@ -0,0 +1,131 @@
+package com.brodygaudel.accountservice.common.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.commandhandling.AnnotationCommandHandlerAdapter;
+import org.axonframework.commandhandling.CommandHandler;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.eventhandling.AnnotationEventHandlerAdapter;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.eventsourcing.EventSourcingHandler;
+import org.axonframework.messaging.annotation.ClasspathHandlerDefinition;
+import org.axonframework.messaging.annotation.ClasspathParameterResolverFactory;
+import org.axonframework.messaging.annotation.HandlerDefinition;
+import org.axonframework.messaging.annotation.MultiHandlerDefinition;
+import org.axonframework.messaging.annotation.ParameterResolverFactory;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.GenericQueryMessage;
+import org.axonframework.queryhandling.QueryHandler;
+import org.axonframework.queryhandling.annotation.AnnotationQueryHandlerAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageHandlerMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Handlers handlers;
+    private ParameterResolverFactory parameterResolverFactory;
+    private HandlerDefinition handlerDefinition;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handlers = new Handlers();
+        parameterResolverFactory = ClasspathParameterResolverFactory.forClass(Handlers.class);
+        handlerDefinition = MultiHandlerDefinition.ordered(
+                List.<HandlerDefinition>of(ClasspathHandlerDefinition.forClass(Handlers.class)),
+                new MessageHandlerMetrics(meterRegistry));
+    }
+
+    @Test
+    void testCommandHandlerIsTimed() throws Exception {
+        new AnnotationCommandHandlerAdapter<>(handlers, parameterResolverFactory, handlerDefinition)
+                .handle(GenericCommandMessage.asCommandMessage(new Command("ok")));
+
+        assertEquals(1, meterRegistry.get(MessageHandlerMetrics.TIMER).tag("kind", "command")
+                .tag("message", "Command").tag("handler", "Handlers").tag("outcome", "success").timer().count());
+        assertEquals(0, meterRegistry.get(MessageHandlerMetrics.TIMER).tag("kind", "command")
+                .tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void testFailingCommandHandlerIsTimedAndCounted() {
+        AnnotationCommandHandlerAdapter<Handlers> adapter =
+                new AnnotationCommandHandlerAdapter<>(handlers, parameterResolverFactory, handlerDefinition);
+
+        assertThrows(IllegalStateException.class,
+                () -> adapter.handle(GenericCommandMessage.asCommandMessage(new Command("fail"))));
+
+        assertEquals(1, meterRegistry.get(MessageHandlerMetrics.TIMER).tag("kind", "command")
+                .tag("outcome", "failure").timer().count());
+        assertEquals(1.0, meterRegistry.get(MessageHandlerMetrics.ERRORS).tag("message", "Command")
+                .tag("exception", "IllegalStateException").counter().count());
+    }
+
+    @Test
+    void testQueryHandlerIsTimed() throws Exception {
+        Object result = new AnnotationQueryHandlerAdapter<>(handlers, parameterResolverFactory, handlerDefinition)
+                .handle(new GenericQueryMessage<>(new Query(), ResponseTypes.instanceOf(String.class)));
+
+        assertEquals("answer", result);
+        assertEquals(1, meterRegistry.get(MessageHandlerMetrics.TIMER).tag("kind", "query")
+                .tag("message", "Query").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testEventHandlerIsTimedButNotEventSourcingHandler() throws Exception {
+        AnnotationEventHandlerAdapter adapter =
+                new AnnotationEventHandlerAdapter(handlers, parameterResolverFactory, handlerDefinition);
+
+        adapter.handle(GenericEventMessage.asEventMessage(new Event()));
+        adapter.handle(GenericEventMessage.asEventMessage(new SourcedEvent()));
+
+        assertEquals(1, handlers.sourced);
+        assertEquals(1, meterRegistry.get(MessageHandlerMetrics.TIMER).tag("kind", "event")
+                .tag("message", "Event").tag("outcome", "success").timer().count());
+        assertTrue(meterRegistry.find(MessageHandlerMetrics.TIMER).tag("message", "SourcedEvent").timers().isEmpty());
+    }
+
+    record Command(String value) {
+    }
+
+    record Query() {
+    }
+
+    record Event() {
+    }
+
+    record SourcedEvent() {
+    }
+
+    static class Handlers {
+
+        private int sourced;
+
+        @CommandHandler
+        public void on(Command command) {
+            if ("fail".equals(command.value())) {
+                throw new IllegalStateException("failed");
+            }
+        }
+
+        @QueryHandler
+        public String on(Query query) {
+            return "answer";
+        }
+
+        @EventHandler
+        public void on(Event event) {
+            // nothing to do
+        }
+
+        @EventSourcingHandler
+        public void on(SourcedEvent event) {
+            sourced++;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.brodygaudel.accountservice.common.tracing;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextsTest {
+
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    @Test
+    void testTaskRunsWithinObservationOfSubmitter() throws Exception {
+        registry.observationConfig().observationHandler(context -> true);
+        ExecutorService executor = TraceContexts.propagating(Executors.newSingleThreadExecutor());
+        Observation observation = Observation.start("request", registry);
+        try (Observation.Scope ignored = observation.openScope()) {
+            assertSame(observation, executor.submit(registry::getCurrentObservation).get());
+        } finally {
+            observation.stop();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testTaskRunsWithinSpanOfSubmitterUnderUnobservedScope() throws Exception {
+        SdkTracerProvider provider = SdkTracerProvider.builder().build();
+        Tracer tracer = new OtelTracer(provider.get("test"), new OtelCurrentTraceContext(), event -> { });
+        ContextRegistry.getInstance().registerThreadLocalAccessor(new ObservationAwareSpanThreadLocalAccessor(registry, tracer));
+        ExecutorService executor = TraceContexts.propagating(Executors.newSingleThreadExecutor());
+        Span span = tracer.nextSpan().name("request").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span); Observation.Scope unobserved = Observation.NOOP.openScope()) {
+            assertEquals(span.context().spanId(), executor.submit(() -> tracer.currentSpan().context().spanId()).get());
+        } finally {
+            span.end();
+            executor.shutdown();
+            ContextRegistry.getInstance().removeThreadLocalAccessor(ObservationAwareSpanThreadLocalAccessor.KEY);
+            provider.close();
+        }
+    }
+
+    @Test
+    void testFutureCompletesWithinObservationOfCaller() {
+        registry.observationConfig().observationHandler(context -> true);
+        CompletableFuture<String> shared = new CompletableFuture<>();
+        AtomicReference<Observation> seen = new AtomicReference<>();
+        Observation caller = Observation.start("caller", registry);
+        CompletableFuture<String> result;
+        try (Observation.Scope ignored = caller.openScope()) {
+            result = TraceContexts.inCallerTrace(shared).whenComplete((value, error) -> seen.set(registry.getCurrentObservation()));
+        }
+
+        Observation other = Observation.start("other", registry);
+        try (Observation.Scope ignored = other.openScope()) {
+            shared.complete("done");
+            assertSame(other, registry.getCurrentObservation());
+        }
+
+        assertEquals("done", result.join());
+        assertSame(caller, seen.get());
+    }
+
+    @Test
+    void testDoneFutureIsReturnedAsItIs() {
+        CompletableFuture<String> done = CompletableFuture.completedFuture("done");
+
+        assertSame(done, TraceContexts.inCallerTrace(done));
+    }
+}
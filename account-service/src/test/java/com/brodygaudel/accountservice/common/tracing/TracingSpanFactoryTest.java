@@ -0,0 +1,119 @@
+package com.brodygaudel.accountservice.common.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.tracing.Span;
+import org.axonframework.tracing.SpanScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingSpanFactoryTest {
+
+    private SdkTracerProvider tracerProvider;
+    private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+    private TracingSpanFactory spanFactory;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> finished) {
+                spans.addAll(finished);
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        })).build();
+        spanFactory = new TracingSpanFactory(OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build());
+        spanFactory.registerSpanAttributeProvider(message -> Map.of("axon_payload_type", message.getPayloadType().getSimpleName()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void testHandlerContinuesTraceOfDispatcher() {
+        EventMessage<String> event = dispatch(GenericEventMessage.asEventMessage("credited"));
+        String traceparent = (String) event.getMetaData().get("traceparent");
+        assertNotNull(traceparent);
+
+        spanFactory.createChildHandlerSpan(() -> "handle", event).start().end();
+
+        assertEquals(1, traceCount());
+        assertEquals(List.of("dispatch", "handle"), spans.stream().map(SpanData::getName).toList());
+        assertEquals(spans.get(0).getSpanId(), spans.get(1).getParentSpanId());
+        assertEquals(SpanKind.CONSUMER, spans.get(1).getKind());
+        assertEquals("String", spans.get(1).getAttributes().get(AttributeKey.stringKey("axon_payload_type")));
+        assertTrue(traceparent.contains(spans.get(0).getSpanId()));
+    }
+
+    @Test
+    void testLinkedHandlerStartsNewTrace() {
+        EventMessage<String> event = dispatch(GenericEventMessage.asEventMessage("credited"));
+
+        spanFactory.createLinkedHandlerSpan(() -> "replay", event).start().end();
+
+        assertEquals(2, traceCount());
+    }
+
+    @Test
+    void testMessageWithoutCurrentSpanIsUnchanged() {
+        EventMessage<String> event = GenericEventMessage.asEventMessage("credited");
+
+        assertSame(event, spanFactory.propagateContext(event));
+    }
+
+    @Test
+    void testFailureIsRecorded() {
+        Span span = spanFactory.createInternalSpan(() -> "load").start();
+        span.recordException(new IllegalStateException("boom"));
+        span.end();
+
+        assertEquals(StatusCode.ERROR, spans.get(0).getStatus().getStatusCode());
+    }
+
+    private long traceCount() {
+        return spans.stream().map(SpanData::getTraceId).distinct().count();
+    }
+
+    private EventMessage<String> dispatch(EventMessage<String> event) {
+        Span dispatch = spanFactory.createDispatchSpan(() -> "dispatch", event).start();
+        try (SpanScope ignored = dispatch.makeCurrent()) {
+            return spanFactory.propagateContext(event);
+        } finally {
+            dispatch.end();
+        }
+    }
+}
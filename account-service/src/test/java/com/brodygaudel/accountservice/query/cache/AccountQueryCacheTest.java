@@ -0,0 +1,87 @@
+package com.brodygaudel.accountservice.query.cache;
+
+import com.brodygaudel.accountservice.query.dto.AccountDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountQueryCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountQueryCache queryCache;
+    private AtomicInteger loads;
+    private Function<String, AccountDTO> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryCache = new AccountQueryCache(meterRegistry, true, 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return AccountDTO.builder().id(id).build();
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetAccountIsCachedAndMeasured() {
+        queryCache.getAccount("1234567887654321", loader);
+        queryCache.getAccount("1234567887654321", loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "account-query").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "account-query").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testMissingAccountIsNotCached() {
+        assertNull(queryCache.getAccount("unknown", id -> null));
+        queryCache.getAccount("unknown", loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEvictWaitsForCommit() {
+        queryCache.getAccount("1234567887654321", loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        queryCache.evict("1234567887654321");
+        queryCache.getAccount("1234567887654321", loader);
+        assertEquals(1, loads.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        queryCache.getAccount("1234567887654321", loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        AccountQueryCache disabled = new AccountQueryCache(meterRegistry, false, 100, Duration.ofMinutes(1));
+        disabled.putAccountId("customerId", "1234567887654321");
+
+        disabled.getAccount("1234567887654321", loader);
+        disabled.getAccount("1234567887654321", loader);
+
+        assertEquals(2, loads.get());
+        assertNull(disabled.getAccountId("customerId"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.brodygaudel.accountservice.query.metrics;
+
+import com.brodygaudel.accountservice.query.service.AccountEventHandlerService;
+import com.brodygaudel.accountservice.query.service.AccountRebuildEventHandlerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackingEventProcessor;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProjectionLagMetricsTest {
+
+    private static final String LIVE = AccountEventHandlerService.PROCESSING_GROUP;
+    private static final String REBUILD = AccountRebuildEventHandlerService.PROCESSING_GROUP;
+
+    private TrackingEventProcessor liveProcessor;
+    private StreamableMessageSource<?> messageSource;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        liveProcessor = mock(TrackingEventProcessor.class);
+        EventProcessingConfiguration eventProcessingConfiguration = mock(EventProcessingConfiguration.class);
+        when(eventProcessingConfiguration.eventProcessor(LIVE, TrackingEventProcessor.class)).thenReturn(Optional.of(liveProcessor));
+        when(eventProcessingConfiguration.eventProcessor(REBUILD, TrackingEventProcessor.class)).thenReturn(Optional.empty());
+        messageSource = mock(StreamableMessageSource.class);
+        when(messageSource.createHeadToken()).thenReturn(new GlobalSequenceTrackingToken(100));
+        doReturn(messageSource).when(liveProcessor).getMessageSource();
+        meterRegistry = new SimpleMeterRegistry();
+        new ProjectionLagMetrics(eventProcessingConfiguration).bindTo(meterRegistry);
+    }
+
+    @Test
+    void testLagIsHeadMinusSlowestSegment() {
+        when(liveProcessor.isRunning()).thenReturn(true);
+        EventTrackerStatus fast = mock(EventTrackerStatus.class);
+        when(fast.getCurrentPosition()).thenReturn(OptionalLong.of(98));
+        EventTrackerStatus slow = mock(EventTrackerStatus.class);
+        when(slow.getCurrentPosition()).thenReturn(OptionalLong.of(90));
+        when(liveProcessor.processingStatus()).thenReturn(Map.of(0, fast, 1, slow));
+
+        assertEquals(10.0, lag(LIVE));
+    }
+
+    @Test
+    void testLagOfSegmentWithoutTokenCountsEveryEvent() {
+        when(liveProcessor.isRunning()).thenReturn(true);
+        EventTrackerStatus status = mock(EventTrackerStatus.class);
+        when(status.getCurrentPosition()).thenReturn(OptionalLong.empty());
+        when(liveProcessor.processingStatus()).thenReturn(Map.of(0, status));
+
+        assertEquals(101.0, lag(LIVE));
+    }
+
+    @Test
+    void testLagIsZeroWhenEventStoreIsEmpty() {
+        when(liveProcessor.isRunning()).thenReturn(true);
+        EventTrackerStatus status = mock(EventTrackerStatus.class);
+        when(status.getCurrentPosition()).thenReturn(OptionalLong.empty());
+        when(liveProcessor.processingStatus()).thenReturn(Map.of(0, status));
+        when(messageSource.createHeadToken()).thenReturn(null);
+
+        assertEquals(0.0, lag(LIVE));
+    }
+
+    @Test
+    void testLagIsNotANumberWhenItCanNotBeMeasured() {
+        when(liveProcessor.isRunning()).thenReturn(false);
+
+        assertTrue(Double.isNaN(lag(LIVE)));
+        assertTrue(Double.isNaN(lag(REBUILD)));
+
+        when(liveProcessor.isRunning()).thenReturn(true);
+        when(liveProcessor.processingStatus()).thenReturn(Map.of());
+
+        assertTrue(Double.isNaN(lag(LIVE)));
+    }
+
+    private double lag(String processor) {
+        return meterRegistry.get(ProjectionLagMetrics.LAG).tag("processor", processor).gauge().value();
+    }
+}
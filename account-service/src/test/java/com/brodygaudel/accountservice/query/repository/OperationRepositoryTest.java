@@ -0,0 +1,96 @@
+package com.brodygaudel.accountservice.query.repository;
+
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.Currency;
+import com.brodygaudel.accountservice.common.enums.OperationType;
+import com.brodygaudel.accountservice.query.dto.OperationDTO;
+import com.brodygaudel.accountservice.query.entity.Account;
+import com.brodygaudel.accountservice.query.entity.Operation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OperationRepositoryTest {
+
+    private static final String ACCOUNT_ID = "1234567887654321";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    private List<Operation> expected;
+
+    @BeforeEach
+    void setUp() {
+        Account account = accountRepository.save(Account.builder().id(ACCOUNT_ID).status(AccountStatus.ACTIVATED)
+                .balance(BigDecimal.ZERO).currency(Currency.TND).customerId("customerId")
+                .creation(LocalDateTime.now()).build());
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        expected = new ArrayList<>();
+        for (int i = 0; i < 53; i++) {
+            // groups of operations sharing the same date, to check the tie-break on id
+            Operation operation = new Operation(String.format("op-%03d", (i * 37) % 53), start.plusMinutes(i / 4),
+                    "operation " + i, OperationType.CREDIT, BigDecimal.ONE, account);
+            expected.add(operationRepository.insert(operation));
+        }
+        operationRepository.flush();
+        expected.sort(Comparator.comparing(Operation::getDateTime).thenComparing(Operation::getId).reversed());
+    }
+
+    @Test
+    void testKeysetPagesReadEveryOperationOnceInOrder() {
+        int size = 7;
+        List<String> read = new ArrayList<>();
+        List<Operation> page = operationRepository.findFirstPageByAccountId(ACCOUNT_ID, PageRequest.of(0, size));
+        while (!page.isEmpty()) {
+            page.forEach(operation -> read.add(operation.getId()));
+            Operation last = page.get(page.size() - 1);
+            page = operationRepository.findPageByAccountIdAfter(ACCOUNT_ID, last.getDateTime(), last.getId(), PageRequest.of(0, size));
+        }
+
+        assertEquals(expected.stream().map(Operation::getId).toList(), read);
+    }
+
+    @Test
+    void testOffsetPagesUseTheSameStableOrder() {
+        List<String> read = new ArrayList<>();
+        for (int page = 0; page < 8; page++) {
+            operationRepository.findByAccountId(ACCOUNT_ID, PageRequest.of(page, 7))
+                    .forEach(operation -> read.add(operation.getId()));
+        }
+
+        assertEquals(expected.stream().map(Operation::getId).toList(), read);
+    }
+
+    @Test
+    void testStreamReadsOperationsWithinRangeInChronologicalOrder() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 2);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 1, 0, 10);
+        List<String> expectedIds = expected.stream()
+                .filter(operation -> !operation.getDateTime().isBefore(from) && operation.getDateTime().isBefore(to))
+                .sorted(Comparator.comparing(Operation::getDateTime).thenComparing(Operation::getId))
+                .map(Operation::getId)
+                .toList();
+
+        try (Stream<OperationDTO> operations = operationRepository.streamByAccountId(ACCOUNT_ID, from, to)) {
+            assertEquals(expectedIds, operations.map(OperationDTO::getId).toList());
+        }
+        assertEquals(32, expectedIds.size());
+    }
+}
@@ -7,12 +7,17 @@ import com.brodygaudel.accountservice.common.event.*;
 import com.brodygaudel.accountservice.common.exception.AccountNotActivatedException;
 import com.brodygaudel.accountservice.common.exception.AccountNotFoundException;
 import com.brodygaudel.accountservice.common.exception.CustomerAlreadyHaveAccountException;
+import com.brodygaudel.accountservice.query.cache.AccountQueryCache;
+import com.brodygaudel.accountservice.query.dto.AccountDTO;
 import com.brodygaudel.accountservice.query.entity.Account;
 import com.brodygaudel.accountservice.query.entity.Operation;
+import com.brodygaudel.accountservice.query.model.GetAccountByIdQuery;
 import com.brodygaudel.accountservice.query.repository.AccountRepository;
 import com.brodygaudel.accountservice.query.repository.OperationRepository;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -21,6 +26,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,12 +42,19 @@ class AccountEventHandlerServiceTest {
     @Mock
     private OperationRepository operationRepository;
 
+    @Mock
+    private AccountQueryCache queryCache;
+
+    @Mock
+    private QueryUpdateEmitter queryUpdateEmitter;
+
     @InjectMocks
     private AccountEventHandlerService eventHandlerService;
 
     @BeforeEach
     void setUp() {
-        eventHandlerService = new AccountEventHandlerService(accountRepository, operationRepository);
+        eventHandlerService = new AccountEventHandlerService(accountRepository, operationRepository, queryCache,
+                queryUpdateEmitter);
     }
 
     @Test
@@ -128,6 +141,7 @@ class AccountEventHandlerServiceTest {
         AccountDeletedEvent event = new AccountDeletedEvent("1234567887654321");
         eventHandlerService.handle(event);
         verify(accountRepository).deleteById(anyString());
+        verify(queryUpdateEmitter).complete(eq(GetAccountByIdQuery.class), any());
     }
 
     @Test
@@ -146,12 +160,36 @@ class AccountEventHandlerServiceTest {
                 .creation(LocalDateTime.now()).balance(BigDecimal.TEN)
                 .build()
         );
-        when(operationRepository.save(any())).thenReturn(operation);
+        when(operationRepository.insert(any())).thenReturn(operation);
 
         eventHandlerService.handle(event);
         verify(accountRepository).findById(anyString());
         verify(accountRepository).save(any());
-        verify(operationRepository).save(any());
+        verify(operationRepository).insert(any());
+        verify(queryCache).evict(event.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHandleAccountCreditedEventEmitsUpdate() {
+        AccountCreditedEvent event = new AccountCreditedEvent("1234567887654321", "CREDIT", BigDecimal.TEN, LocalDateTime.now());
+        Account account = Account.builder().currency(Currency.CAD).id(event.getId()).status(AccountStatus.ACTIVATED)
+                .customerId("CustomerId").creation(LocalDateTime.now()).balance(BigDecimal.ONE).lastUpdate(LocalDateTime.now())
+                .build();
+        when(accountRepository.findById(anyString())).thenReturn(Optional.of(account));
+        when(accountRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(operationRepository.insert(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        eventHandlerService.handle(event);
+
+        ArgumentCaptor<Predicate<GetAccountByIdQuery>> filter = ArgumentCaptor.forClass(Predicate.class);
+        ArgumentCaptor<AccountDTO> update = ArgumentCaptor.forClass(AccountDTO.class);
+        verify(queryUpdateEmitter).emit(eq(GetAccountByIdQuery.class), filter.capture(), update.capture());
+        assertTrue(filter.getValue().test(new GetAccountByIdQuery(event.getId())));
+        assertFalse(filter.getValue().test(new GetAccountByIdQuery("8765432112345678")));
+        assertEquals(event.getId(), update.getValue().getId());
+        assertEquals(0, BigDecimal.valueOf(11).compareTo(update.getValue().getBalance()));
+        assertEquals(event.getDateTime(), update.getValue().getLastUpdate());
     }
 
     @Test
@@ -160,7 +198,7 @@ class AccountEventHandlerServiceTest {
         when(accountRepository.findById(anyString())).thenReturn(Optional.empty());
         assertThrows(AccountNotFoundException.class, () -> eventHandlerService.handle(event));
         verify(accountRepository, never()).save(any());
-        verify(operationRepository, never()).save(any());
+        verify(operationRepository, never()).insert(any());
     }
 
     @Test
@@ -173,7 +211,8 @@ class AccountEventHandlerServiceTest {
         when(accountRepository.findById(anyString())).thenReturn(Optional.of(account));
         assertThrows(AccountNotActivatedException.class, () -> eventHandlerService.handle(event));
         verify(accountRepository, never()).save(any());
-        verify(operationRepository, never()).save(any());
+        verify(operationRepository, never()).insert(any());
+        verifyNoInteractions(queryUpdateEmitter);
     }
 
     @Test
@@ -192,12 +231,12 @@ class AccountEventHandlerServiceTest {
                 .creation(LocalDateTime.now()).balance(BigDecimal.ZERO)
                 .build()
         );
-        when(operationRepository.save(any())).thenReturn(operation);
+        when(operationRepository.insert(any())).thenReturn(operation);
 
         eventHandlerService.handle(event);
         verify(accountRepository).findById(anyString());
         verify(accountRepository).save(any());
-        verify(operationRepository).save(any());
+        verify(operationRepository).insert(any());
     }
 
     @Test
@@ -206,7 +245,7 @@ class AccountEventHandlerServiceTest {
         when(accountRepository.findById(anyString())).thenReturn(Optional.empty());
         assertThrows(AccountNotFoundException.class, () -> eventHandlerService.handle(event));
         verify(accountRepository, never()).save(any());
-        verify(operationRepository, never()).save(any());
+        verify(operationRepository, never()).insert(any());
     }
 
     @Test
@@ -219,6 +258,6 @@ class AccountEventHandlerServiceTest {
         when(accountRepository.findById(anyString())).thenReturn(Optional.of(account));
         assertThrows(AccountNotActivatedException.class, () -> eventHandlerService.handle(event));
         verify(accountRepository, never()).save(any());
-        verify(operationRepository, never()).save(any());
+        verify(operationRepository, never()).insert(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.enums.RebuildPhase;
+import com.brodygaudel.accountservice.query.cache.AccountQueryCache;
+import com.brodygaudel.accountservice.query.dto.ProjectionRebuildStatusDTO;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackingEventProcessor;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountProjectionRebuildServiceTest {
+
+    private static final String LIVE = AccountEventHandlerService.PROCESSING_GROUP;
+    private static final String REBUILD = AccountRebuildEventHandlerService.PROCESSING_GROUP;
+
+    private TrackingEventProcessor liveProcessor;
+    private TrackingEventProcessor rebuildProcessor;
+    private TokenStore tokenStore;
+    private JdbcTemplate jdbcTemplate;
+    private AccountQueryCache queryCache;
+    private AccountProjectionRebuildService rebuildService;
+
+    @BeforeEach
+    void setUp() {
+        liveProcessor = mock(TrackingEventProcessor.class);
+        rebuildProcessor = mock(TrackingEventProcessor.class);
+        EventProcessingConfiguration eventProcessingConfiguration = mock(EventProcessingConfiguration.class);
+        when(eventProcessingConfiguration.eventProcessor(LIVE, TrackingEventProcessor.class)).thenReturn(Optional.of(liveProcessor));
+        when(eventProcessingConfiguration.eventProcessor(REBUILD, TrackingEventProcessor.class)).thenReturn(Optional.of(rebuildProcessor));
+        StreamableMessageSource<?> messageSource = mock(StreamableMessageSource.class);
+        when(messageSource.createHeadToken()).thenReturn(new GlobalSequenceTrackingToken(100));
+        doReturn(messageSource).when(rebuildProcessor).getMessageSource();
+        tokenStore = mock(TokenStore.class);
+        when(tokenStore.fetchSegments(anyString())).thenReturn(new int[0]);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        queryCache = mock(AccountQueryCache.class);
+        rebuildService = new AccountProjectionRebuildService(eventProcessingConfiguration, tokenStore, jdbcTemplate,
+                mock(PlatformTransactionManager.class), queryCache, 2, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rebuildService.destroy();
+    }
+
+    @Test
+    void testRebuildStartsOnce() {
+        when(tokenStore.fetchSegments(REBUILD)).thenReturn(new int[]{0, 1});
+
+        ProjectionRebuildStatusDTO status = rebuildService.rebuild();
+        rebuildService.rebuild();
+
+        assertEquals(RebuildPhase.REBUILDING, status.getPhase());
+        assertEquals(2, status.getSegments());
+        verify(jdbcTemplate).execute("CREATE TABLE account_rebuild LIKE account");
+        verify(jdbcTemplate).execute("CREATE TABLE operation_rebuild LIKE operation");
+        verify(tokenStore).deleteToken(REBUILD, 0);
+        verify(tokenStore).deleteToken(REBUILD, 1);
+        verify(rebuildProcessor, times(1)).start();
+    }
+
+    @Test
+    void testMonitorReportsProgress() {
+        rebuildService.rebuild();
+        Map<Integer, EventTrackerStatus> trackers = Map.of(0, tracker(40, false), 1, tracker(60, false));
+        when(rebuildProcessor.processingStatus()).thenReturn(trackers);
+
+        rebuildService.monitor();
+
+        ProjectionRebuildStatusDTO status = rebuildService.status();
+        assertEquals(RebuildPhase.REBUILDING, status.getPhase());
+        assertEquals(40L, status.getPosition());
+        assertEquals(100L, status.getHeadPosition());
+        assertTrue(status.getEventsPerSecond() > 0);
+        assertNotNull(status.getEtaSeconds());
+        verify(liveProcessor, never()).shutDown();
+    }
+
+    @Test
+    void testMonitorSwapsTablesOnceCaughtUp() {
+        rebuildService.rebuild();
+        TrackingToken liveToken = new GlobalSequenceTrackingToken(90);
+        TrackingToken rebuildToken0 = new GlobalSequenceTrackingToken(100);
+        TrackingToken rebuildToken1 = new GlobalSequenceTrackingToken(99);
+        Map<Integer, EventTrackerStatus> trackers = Map.of(0, tracker(100, true), 1, tracker(99, true));
+        when(rebuildProcessor.processingStatus()).thenReturn(trackers);
+        when(tokenStore.fetchSegments(LIVE)).thenReturn(new int[]{0});
+        when(tokenStore.fetchSegments(REBUILD)).thenReturn(new int[]{0, 1});
+        when(tokenStore.fetchToken(LIVE, 0)).thenReturn(liveToken);
+        when(tokenStore.fetchToken(REBUILD, 0)).thenReturn(rebuildToken0);
+        when(tokenStore.fetchToken(REBUILD, 1)).thenReturn(rebuildToken1);
+
+        rebuildService.monitor();
+
+        InOrder inOrder = inOrder(liveProcessor, rebuildProcessor, tokenStore, jdbcTemplate);
+        inOrder.verify(liveProcessor).shutDown();
+        inOrder.verify(rebuildProcessor).shutDown();
+        inOrder.verify(tokenStore).deleteToken(LIVE, 0);
+        inOrder.verify(tokenStore).initializeSegment(rebuildToken0, LIVE, 0);
+        inOrder.verify(tokenStore).initializeSegment(rebuildToken1, LIVE, 1);
+        inOrder.verify(jdbcTemplate).execute(startsWith("RENAME TABLE account TO account_previous"));
+        verify(queryCache).evictAll();
+        inOrder.verify(liveProcessor).start();
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE account_previous");
+        assertEquals(RebuildPhase.COMPLETED, rebuildService.status().getPhase());
+    }
+
+    @Test
+    void testFailedSwapRestoresLiveTokens() {
+        rebuildService.rebuild();
+        TrackingToken liveToken = new GlobalSequenceTrackingToken(90);
+        Map<Integer, EventTrackerStatus> trackers = Map.of(0, tracker(100, true), 1, tracker(100, true));
+        when(rebuildProcessor.processingStatus()).thenReturn(trackers);
+        when(tokenStore.fetchSegments(LIVE)).thenReturn(new int[]{0});
+        when(tokenStore.fetchSegments(REBUILD)).thenReturn(new int[]{0, 1});
+        when(tokenStore.fetchToken(LIVE, 0)).thenReturn(liveToken);
+        doThrow(new IllegalStateException("rename failed")).when(jdbcTemplate).execute(startsWith("RENAME TABLE"));
+
+        rebuildService.monitor();
+
+        verify(tokenStore).initializeSegment(liveToken, LIVE, 0);
+        verify(liveProcessor).start();
+        verify(jdbcTemplate, never()).execute("DROP TABLE account_previous");
+        verify(queryCache, never()).evictAll();
+        assertEquals(RebuildPhase.FAILED, rebuildService.status().getPhase());
+        assertEquals("rename failed", rebuildService.status().getError());
+    }
+
+    @Test
+    void testCustomerWithTwoAccountsFailsRebuild() {
+        rebuildService.rebuild();
+        Map<Integer, EventTrackerStatus> trackers = Map.of(0, tracker(100, true), 1, tracker(100, true));
+        when(rebuildProcessor.processingStatus()).thenReturn(trackers);
+        when(jdbcTemplate.queryForList(startsWith("SELECT customer_id FROM account_rebuild"), eq(String.class)))
+                .thenReturn(List.of("customerId"));
+
+        rebuildService.monitor();
+
+        verify(tokenStore, never()).initializeSegment(any(), eq(LIVE), anyInt());
+        verify(jdbcTemplate, never()).execute(startsWith("RENAME TABLE"));
+        verify(liveProcessor).start();
+        assertEquals(RebuildPhase.FAILED, rebuildService.status().getPhase());
+        assertTrue(rebuildService.status().getError().contains("customerId"));
+    }
+
+    private static EventTrackerStatus tracker(long position, boolean caughtUp) {
+        EventTrackerStatus tracker = mock(EventTrackerStatus.class);
+        when(tracker.getCurrentPosition()).thenReturn(OptionalLong.of(position));
+        when(tracker.isCaughtUp()).thenReturn(caughtUp);
+        return tracker;
+    }
+}
@@ -4,16 +4,21 @@ import com.brodygaudel.accountservice.common.enums.AccountStatus;
 import com.brodygaudel.accountservice.common.enums.Currency;
 import com.brodygaudel.accountservice.common.enums.OperationType;
 import com.brodygaudel.accountservice.common.exception.AccountNotFoundException;
+import com.brodygaudel.accountservice.query.cache.AccountQueryCache;
 import com.brodygaudel.accountservice.query.dto.AccountDTO;
+import com.brodygaudel.accountservice.query.dto.OperationCursorPageDTO;
 import com.brodygaudel.accountservice.query.dto.OperationDTO;
 import com.brodygaudel.accountservice.query.entity.Account;
 import com.brodygaudel.accountservice.query.entity.Operation;
 import com.brodygaudel.accountservice.query.model.GetAccountByCustomerIdQuery;
 import com.brodygaudel.accountservice.query.model.GetAccountByIdQuery;
 import com.brodygaudel.accountservice.query.model.GetOperationByIdQuery;
+import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdAfterQuery;
 import com.brodygaudel.accountservice.query.model.GetOperationsByAccountIdQuery;
 import com.brodygaudel.accountservice.query.repository.AccountRepository;
 import com.brodygaudel.accountservice.query.repository.OperationRepository;
+import com.brodygaudel.accountservice.query.util.OperationCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -24,6 +29,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,9 +53,12 @@ class AccountQueryHandlerServiceTest {
     @InjectMocks
     private AccountQueryHandlerService queryHandlerService;
 
+    private AccountQueryCache queryCache;
+
     @BeforeEach
     void setUp() {
-        queryHandlerService = new AccountQueryHandlerService(accountRepository, operationRepository);
+        queryCache = new AccountQueryCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+        queryHandlerService = new AccountQueryHandlerService(accountRepository, operationRepository, queryCache);
     }
 
     @Test
@@ -139,4 +148,116 @@ class AccountQueryHandlerServiceTest {
         assertFalse(operationDTOS.isEmpty());
         assertEquals(2, operationDTOS.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHandleGetOperationsByAccountIdAfterQueryFirstPage(){
+        String accountId = "1234567887654321";
+        Account account = Account.builder().id(accountId).operations(new ArrayList<>()).build();
+        LocalDateTime dateTime = LocalDateTime.now();
+        Operation operation1 = new Operation("2", dateTime, "CREDIT", OperationType.CREDIT, BigDecimal.TEN, account);
+        Operation operation2 = new Operation("1", dateTime, "CREDIT", OperationType.CREDIT, BigDecimal.TEN, account);
+        Operation operation3 = new Operation("3", dateTime.minusDays(1), "DEBIT", OperationType.DEBIT, BigDecimal.ONE, account);
+        when(operationRepository.findFirstPageByAccountId(accountId, PageRequest.of(0, 3)))
+                .thenReturn(List.of(operation1, operation2, operation3));
+
+        OperationCursorPageDTO page = queryHandlerService.handle(new GetOperationsByAccountIdAfterQuery(accountId, null, null, 2));
+
+        assertEquals(2, page.getOperations().size());
+        assertEquals("2", page.getOperations().get(0).getId());
+        assertEquals("1", page.getOperations().get(1).getId());
+        OperationCursor next = OperationCursor.decode(page.getNextCursor());
+        assertEquals(dateTime, next.getDateTime());
+        assertEquals("1", next.getId());
+    }
+
+    @Test
+    void testHandleGetOperationsByAccountIdAfterQueryLastPage(){
+        String accountId = "1234567887654321";
+        Account account = Account.builder().id(accountId).operations(new ArrayList<>()).build();
+        LocalDateTime dateTime = LocalDateTime.now();
+        Operation operation = new Operation("3", dateTime.minusDays(1), "DEBIT", OperationType.DEBIT, BigDecimal.ONE, account);
+        when(operationRepository.findPageByAccountIdAfter(accountId, dateTime, "1", PageRequest.of(0, 3)))
+                .thenReturn(List.of(operation));
+
+        OperationCursorPageDTO page = queryHandlerService.handle(new GetOperationsByAccountIdAfterQuery(accountId, dateTime, "1", 2));
+
+        assertEquals(1, page.getOperations().size());
+        assertNull(page.getNextCursor());
+        verify(operationRepository, never()).findFirstPageByAccountId(anyString(), any());
+    }
+
+    @Test
+    void testHandleGetOperationsByAccountIdAfterQueryCapsThePageSize(){
+        String accountId = "1234567887654321";
+        int maxPageSize = AccountQueryHandlerService.MAX_PAGE_SIZE;
+        when(operationRepository.findFirstPageByAccountId(accountId, PageRequest.of(0, maxPageSize + 1)))
+                .thenReturn(List.of());
+
+        OperationCursorPageDTO page = queryHandlerService.handle(new GetOperationsByAccountIdAfterQuery(accountId, null, null, 5000));
+        OperationCursorPageDTO overflow = queryHandlerService.handle(new GetOperationsByAccountIdAfterQuery(accountId, null, null, Integer.MAX_VALUE));
+
+        assertEquals(maxPageSize, page.getSize());
+        assertEquals(maxPageSize, overflow.getSize());
+        verify(operationRepository, times(2)).findFirstPageByAccountId(accountId, PageRequest.of(0, maxPageSize + 1));
+    }
+
+    @Test
+    void testHandleGetOperationsByAccountIdAfterQueryRaisesThePageSizeToOne(){
+        String accountId = "1234567887654321";
+        when(operationRepository.findFirstPageByAccountId(accountId, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        OperationCursorPageDTO page = queryHandlerService.handle(new GetOperationsByAccountIdAfterQuery(accountId, null, null, 0));
+
+        assertEquals(1, page.getSize());
+    }
+
+    @Test
+    void testHandleGetAccountByIdQueryIsCachedUntilEvicted() {
+        GetAccountByIdQuery query = new GetAccountByIdQuery("1234567887654321");
+        Account account = Account.builder().balance(BigDecimal.TEN).customerId("customerId").lastUpdate(LocalDateTime.now())
+                .currency(Currency.TND).creation(LocalDateTime.now()).status(AccountStatus.ACTIVATED).id(query.getId())
+                .build();
+        when(accountRepository.findById(query.getId())).thenReturn(Optional.of(account));
+
+        queryHandlerService.handle(query);
+        queryHandlerService.handle(query);
+        verify(accountRepository, times(1)).findById(query.getId());
+
+        queryCache.evict(query.getId());
+        queryHandlerService.handle(query);
+        verify(accountRepository, times(2)).findById(query.getId());
+    }
+
+    @Test
+    void testHandleGetAccountByCustomerIdQueryUsesCachedAccount() {
+        GetAccountByCustomerIdQuery query = new GetAccountByCustomerIdQuery("customerId");
+        Account account = Account.builder().balance(BigDecimal.TEN).customerId(query.getCustomerId()).lastUpdate(LocalDateTime.now())
+                .currency(Currency.TND).creation(LocalDateTime.now()).status(AccountStatus.ACTIVATED).id("1234567887654321")
+                .build();
+        when(accountRepository.findByCustomerId(query.getCustomerId())).thenReturn(Optional.of(account));
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+
+        queryHandlerService.handle(query);
+        queryHandlerService.handle(query);
+        AccountDTO accountDTO = queryHandlerService.handle(query);
+
+        assertEquals(account.getId(), accountDTO.getId());
+        verify(accountRepository, times(1)).findByCustomerId(query.getCustomerId());
+        verify(accountRepository, times(1)).findById(account.getId());
+    }
+
+    @Test
+    void testHandleGetAccountByCustomerIdQueryAfterAccountDeleted() {
+        GetAccountByCustomerIdQuery query = new GetAccountByCustomerIdQuery("customerId");
+        Account account = Account.builder().balance(BigDecimal.TEN).customerId(query.getCustomerId()).lastUpdate(LocalDateTime.now())
+                .currency(Currency.TND).creation(LocalDateTime.now()).status(AccountStatus.ACTIVATED).id("1234567887654321")
+                .build();
+        when(accountRepository.findByCustomerId(query.getCustomerId())).thenReturn(Optional.of(account), Optional.empty());
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.empty());
+
+        queryHandlerService.handle(query);
+        queryCache.evict(account.getId());
+
+        assertThrows(AccountNotFoundException.class, () -> queryHandlerService.handle(query));
+    }
+}
@@ -0,0 +1,78 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.enums.AccountStatus;
+import com.brodygaudel.accountservice.common.enums.Currency;
+import com.brodygaudel.accountservice.common.event.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountRebuildEventHandlerServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountRebuildEventHandlerService eventHandlerService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventHandlerService = new AccountRebuildEventHandlerService(jdbcTemplate);
+    }
+
+    @Test
+    void testHandleAccountCreatedEvent() {
+        LocalDateTime creation = LocalDateTime.now();
+        AccountCreatedEvent event = new AccountCreatedEvent("1234567887654321", AccountStatus.CREATED,
+                BigDecimal.ZERO, Currency.TND, "customerId", creation);
+
+        eventHandlerService.handle(event);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO account_rebuild"), eq("1234567887654321"), eq("CREATED"),
+                eq(BigDecimal.ZERO), eq("TND"), eq("customerId"), eq(creation));
+    }
+
+    @Test
+    void testHandleAccountActivatedEvent() {
+        LocalDateTime dateTime = LocalDateTime.now();
+        eventHandlerService.handle(new AccountActivatedEvent("1234567887654321", AccountStatus.ACTIVATED, dateTime));
+
+        verify(jdbcTemplate).update(startsWith("UPDATE account_rebuild SET status"), eq("ACTIVATED"), eq(dateTime),
+                eq("1234567887654321"));
+    }
+
+    @Test
+    void testHandleAccountDeletedEvent() {
+        eventHandlerService.handle(new AccountDeletedEvent("1234567887654321"));
+
+        verify(jdbcTemplate).update(startsWith("DELETE FROM operation_rebuild"), eq("1234567887654321"));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM account_rebuild"), eq("1234567887654321"));
+    }
+
+    @Test
+    void testHandleAccountDebitedEvent() {
+        LocalDateTime dateTime = LocalDateTime.now();
+        BigDecimal amount = BigDecimal.valueOf(500);
+        when(jdbcTemplate.update(startsWith("UPDATE account_rebuild SET balance"), any(), any(), any(), any())).thenReturn(1);
+
+        eventHandlerService.handle(new AccountDebitedEvent("1234567887654321", "debit", amount, dateTime));
+
+        verify(jdbcTemplate).update(startsWith("UPDATE account_rebuild SET balance"), eq(amount.negate()), eq(dateTime),
+                eq("1234567887654321"), eq("ACTIVATED"));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO operation_rebuild"), anyString(), eq(dateTime), eq("debit"),
+                eq("DEBIT"), eq(amount), eq("1234567887654321"));
+    }
+
+    @Test
+    void testHandleAccountCreditedEventSkipsAccountNotActivated() {
+        when(jdbcTemplate.update(startsWith("UPDATE account_rebuild SET balance"), any(), any(), any(), any())).thenReturn(0);
+
+        eventHandlerService.handle(new AccountCreditedEvent("1234567887654321", "credit", BigDecimal.TEN, LocalDateTime.now()));
+
+        verify(jdbcTemplate, never()).update(startsWith("INSERT INTO operation_rebuild"), any(Object[].class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.exception.AccountNotFoundException;
+import com.brodygaudel.accountservice.query.dto.AccountDTO;
+import com.brodygaudel.accountservice.query.model.GetAccountByIdQuery;
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.QueryGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncQueryServiceTest {
+
+    private static final ResponseType<AccountDTO> RESPONSE_TYPE = ResponseTypes.instanceOf(AccountDTO.class);
+
+    private final QueryGateway queryGateway = mock(QueryGateway.class);
+    private AsyncQueryService asyncQueryService;
+
+    @AfterEach
+    void tearDown() {
+        asyncQueryService.destroy();
+    }
+
+    @Test
+    void testQueryCompletesWithTheResponse() throws Exception {
+        asyncQueryService = new AsyncQueryService(queryGateway, 2, 10, Duration.ofSeconds(5), false);
+        AccountDTO account = AccountDTO.builder().id("1234567887654321").build();
+        when(queryGateway.query(any(GetAccountByIdQuery.class), eq(RESPONSE_TYPE)))
+                .thenReturn(CompletableFuture.completedFuture(account));
+
+        AccountDTO result = asyncQueryService.query(new GetAccountByIdQuery("1234567887654321"), RESPONSE_TYPE)
+                .get(5, TimeUnit.SECONDS);
+
+        assertSame(account, result);
+    }
+
+    @Test
+    void testQueryFailsWithTheErrorOfTheHandler() {
+        asyncQueryService = new AsyncQueryService(queryGateway, 2, 10, Duration.ofSeconds(5), false);
+        when(queryGateway.query(any(GetAccountByIdQuery.class), eq(RESPONSE_TYPE)))
+                .thenReturn(CompletableFuture.failedFuture(new AccountNotFoundException("account not found")));
+
+        CompletableFuture<AccountDTO> future = asyncQueryService.query(new GetAccountByIdQuery("1"), RESPONSE_TYPE);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AccountNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void testQueryTimesOut() {
+        asyncQueryService = new AsyncQueryService(queryGateway, 2, 10, Duration.ofMillis(50), true);
+        when(queryGateway.query(any(GetAccountByIdQuery.class), eq(RESPONSE_TYPE))).thenReturn(new CompletableFuture<>());
+
+        CompletableFuture<AccountDTO> future = asyncQueryService.query(new GetAccountByIdQuery("1"), RESPONSE_TYPE);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    void testQueryIsRejectedWhenThePoolIsFull() throws Exception {
+        asyncQueryService = new AsyncQueryService(queryGateway, 1, 1, Duration.ofSeconds(5), true);
+        CountDownLatch dispatching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(queryGateway.query(any(GetAccountByIdQuery.class), eq(RESPONSE_TYPE))).thenAnswer(invocation -> {
+            dispatching.countDown();
+            release.await();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        CompletableFuture<AccountDTO> running = asyncQueryService.query(new GetAccountByIdQuery("1"), RESPONSE_TYPE);
+        assertTrue(dispatching.await(5, TimeUnit.SECONDS));
+        CompletableFuture<AccountDTO> queued = asyncQueryService.query(new GetAccountByIdQuery("2"), RESPONSE_TYPE);
+        CompletableFuture<AccountDTO> rejected = asyncQueryService.query(new GetAccountByIdQuery("3"), RESPONSE_TYPE);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        release.countDown();
+        assertNull(running.get(5, TimeUnit.SECONDS));
+        assertNull(queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,97 @@
+package com.brodygaudel.accountservice.query.service;
+
+import com.brodygaudel.accountservice.common.enums.ExportFormat;
+import com.brodygaudel.accountservice.common.enums.OperationType;
+import com.brodygaudel.accountservice.common.exception.AccountNotFoundException;
+import com.brodygaudel.accountservice.common.exception.UnsupportedExportFormatException;
+import com.brodygaudel.accountservice.query.dto.OperationDTO;
+import com.brodygaudel.accountservice.query.repository.AccountRepository;
+import com.brodygaudel.accountservice.query.repository.OperationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OperationExportServiceTest {
+
+    private static final String ACCOUNT_ID = "1234567887654321";
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2024, 5, 1, 10, 30);
+
+    private AccountRepository accountRepository;
+    private OperationRepository operationRepository;
+    private OperationExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        operationRepository = mock(OperationRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new OperationExportService(accountRepository, operationRepository, objectMapper);
+        when(accountRepository.existsById(ACCOUNT_ID)).thenReturn(true);
+    }
+
+    @Test
+    void testExportCsv() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(operationRepository.streamByAccountId(eq(ACCOUNT_ID), any(), any())).thenReturn(Stream.of(
+                new OperationDTO("1", DATE_TIME, "salary", OperationType.CREDIT, new BigDecimal("1500.00"), ACCOUNT_ID),
+                new OperationDTO("2", DATE_TIME, "rent, \"May\"", OperationType.DEBIT, new BigDecimal("700"), ACCOUNT_ID)
+        ).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.export(ACCOUNT_ID, null, null, ExportFormat.CSV, output);
+
+        assertEquals(2, count);
+        assertEquals("id,dateTime,description,type,amount,accountId\n"
+                + "1,2024-05-01T10:30,salary,CREDIT,1500.00,1234567887654321\n"
+                + "2,2024-05-01T10:30,\"rent, \"\"May\"\"\",DEBIT,700,1234567887654321\n",
+                output.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExportNdjsonWithinRange() throws IOException {
+        LocalDateTime from = DATE_TIME.minusDays(1);
+        LocalDateTime to = DATE_TIME.plusDays(1);
+        when(operationRepository.streamByAccountId(ACCOUNT_ID, from, to)).thenReturn(Stream.of(
+                new OperationDTO("1", DATE_TIME, "salary", OperationType.CREDIT, BigDecimal.TEN, ACCOUNT_ID)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.export(ACCOUNT_ID, from, to, ExportFormat.NDJSON, output);
+
+        assertEquals("{\"id\":\"1\",\"dateTime\":\"2024-05-01T10:30:00\",\"description\":\"salary\",\"type\":\"CREDIT\","
+                + "\"amount\":10,\"accountId\":\"1234567887654321\"}\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportUnknownAccountWritesNothing() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThrows(AccountNotFoundException.class,
+                () -> exportService.export("unknown", null, null, ExportFormat.CSV, output));
+        assertEquals(0, output.size());
+        verify(operationRepository, never()).streamByAccountId(any(), any(), any());
+    }
+
+    @Test
+    void testFormatOf() {
+        assertEquals(ExportFormat.CSV, OperationExportService.formatOf("csv"));
+        assertEquals(ExportFormat.NDJSON, OperationExportService.formatOf(" NDJSON "));
+        assertThrows(UnsupportedExportFormatException.class, () -> OperationExportService.formatOf("xml"));
+    }
+}
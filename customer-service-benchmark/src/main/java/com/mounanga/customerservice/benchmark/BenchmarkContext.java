@@ -0,0 +1,73 @@
+package com.mounanga.customerservice.benchmark;
+
+import com.mounanga.customerservice.cache.CustomerCache;
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.implementation.BloomCustomerUniquenessFilter;
+import com.mounanga.customerservice.service.implementation.CachedCustomerCount;
+import com.mounanga.customerservice.service.implementation.CustomerServiceImpl;
+import com.mounanga.customerservice.service.implementation.LuceneCustomerSearchIndex;
+import com.mounanga.customerservice.util.implementation.MappersImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The part of the customer-service application the benchmarks run against: its JPA entity and repository, the
+ * customer service with its caches, uniqueness filter and search index, on an embedded H2 database.
+ *
+ * <p>
+ * Eureka and the web layer are left out, so that a benchmark only measures the code it calls. The configuration
+ * is read from {@code benchmark.properties} instead of the {@code application.properties} of the service.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@EntityScan(basePackageClasses = Customer.class)
+@EnableJpaRepositories(basePackageClasses = CustomerRepository.class)
+@EnableJpaAuditing
+@Import({MappersImpl.class, CustomerCache.class, CachedCustomerCount.class, BloomCustomerUniquenessFilter.class,
+        LuceneCustomerSearchIndex.class, CustomerServiceImpl.class})
+public class BenchmarkContext {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    /**
+     * Starts the context on its own in-memory database.
+     *
+     * @param database   the name of the in-memory database, so that two benchmarks never share one.
+     * @param properties additional properties, as {@code key=value}.
+     * @return the started context, to be closed by the benchmark.
+     */
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        return new SpringApplicationBuilder(BenchmarkContext.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("spring.config.name=benchmark", "benchmark.database=" + database)
+                .properties(properties)
+                .run();
+    }
+}
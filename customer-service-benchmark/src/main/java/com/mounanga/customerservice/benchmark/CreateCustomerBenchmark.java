@@ -0,0 +1,70 @@
+package com.mounanga.customerservice.benchmark;
+
+import com.mounanga.customerservice.dto.CustomerRequestDTO;
+import com.mounanga.customerservice.dto.CustomerResponseDTO;
+import com.mounanga.customerservice.enums.Sex;
+import com.mounanga.customerservice.service.CustomerService;
+import com.mounanga.customerservice.service.implementation.BloomCustomerUniquenessFilter;
+import com.mounanga.customerservice.service.implementation.CustomerServiceImpl;
+import com.mounanga.customerservice.service.implementation.LuceneCustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures {@link CustomerServiceImpl#createCustomer(CustomerRequestDTO)}: the age check, the CIN and email
+ * uniqueness checks, the insert and the indexing, with {@code customers} customers already in the database.
+ *
+ * <p>
+ * With {@code uniquenessFilter} on, the uniqueness checks are answered by the {@link BloomCustomerUniquenessFilter}
+ * and only its possible duplicates reach the database; with it off, each one is a query.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateCustomerBenchmark {
+
+    @Param({"10000", "100000"})
+    private int customers;
+
+    @Param({"true", "false"})
+    private boolean uniquenessFilter;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("create-customer", "customer.uniqueness-filter.enabled=" + uniquenessFilter);
+        CustomerDataset.seed(context.getBean(JdbcTemplate.class), customers);
+        context.getBean(BloomCustomerUniquenessFilter.class).rebuild();
+        context.getBean(LuceneCustomerSearchIndex.class).rebuild();
+        customerService = context.getBean(CustomerService.class);
+        next.set(customers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO createCustomer() {
+        int i = next.getAndIncrement();
+        return customerService.createCustomer(new CustomerRequestDTO(CustomerDataset.cin(i), "John", "Smith",
+                LocalDate.of(1990, 5, 15), "Libreville", "Gabonese", Sex.M, CustomerDataset.email(i)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.mounanga.customerservice.benchmark;
+
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.enums.Sex;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds the database of a benchmark with generated customers, always the same for a given size.
+ *
+ * <p>
+ * Customer {@code i} has the CIN {@link #cin(int)} and the email {@link #email(int)}. First names and names are
+ * drawn in turn from {@value #NAMES_COUNT} of each, so that a name matches one customer in {@value #NAMES_COUNT}.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public final class CustomerDataset {
+
+    private static final int NAMES_COUNT = 10;
+    private static final List<String> FIRSTNAMES = List.of("John", "Marie", "Pierre", "Fatou", "Aminata",
+            "Paul", "Ines", "Omar", "Lea", "Karim");
+    private static final List<String> NAMES = List.of("Smith", "Dupont", "Durand", "Diallo", "Mbemba",
+            "Martin", "Bernard", "Traore", "Moreau", "Ndiaye");
+    private static final String INSERT_CUSTOMER = "insert into customer (id, cin, firstname, name, date_of_birth, " +
+            "place_of_birth, nationality, sex, email, creation) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private CustomerDataset() {
+    }
+
+    /**
+     * Inserts customers {@code 0} to {@code count - 1}.
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int count) {
+        LocalDateTime creation = LocalDateTime.now().minusYears(1);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{UUID.randomUUID().toString(), cin(i), FIRSTNAMES.get(i % NAMES_COUNT),
+                    NAMES.get((i / NAMES_COUNT) % NAMES_COUNT), Date.valueOf(LocalDate.of(1960, 1, 1).plusDays(i % 15_000)),
+                    "Libreville", "Gabonese", (i % 2 == 0 ? Sex.M : Sex.F).name(), email(i),
+                    Timestamp.valueOf(creation.plusSeconds(i))});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_CUSTOMER, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CUSTOMER, batch);
+        }
+    }
+
+    /**
+     * Returns the CIN of customer {@code i}.
+     */
+    public static String cin(int i) {
+        return String.format("C%09d", i);
+    }
+
+    /**
+     * Returns the email of customer {@code i}.
+     */
+    public static String email(int i) {
+        return "customer" + i + "@e-bank.com";
+    }
+
+    /**
+     * Builds customer {@code i} without saving it, for the benchmarks that need entities.
+     */
+    public static Customer customer(int i) {
+        return Customer.builder().id(UUID.randomUUID().toString()).cin(cin(i)).firstname(FIRSTNAMES.get(i % NAMES_COUNT))
+                .name(NAMES.get((i / NAMES_COUNT) % NAMES_COUNT)).dateOfBirth(LocalDate.of(1960, 1, 1).plusDays(i % 15_000))
+                .placeOfBirth("Libreville").nationality("Gabonese").sex(i % 2 == 0 ? Sex.M : Sex.F).email(email(i))
+                .creation(LocalDateTime.now()).build();
+    }
+}
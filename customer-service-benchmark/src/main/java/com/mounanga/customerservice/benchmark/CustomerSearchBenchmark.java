@@ -0,0 +1,85 @@
+package com.mounanga.customerservice.benchmark;
+
+import com.mounanga.customerservice.dto.CustomerResponseDTO;
+import com.mounanga.customerservice.dto.PageModel;
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.CustomerSearchIndex;
+import com.mounanga.customerservice.service.CustomerService;
+import com.mounanga.customerservice.service.implementation.LuceneCustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search of customers among {@code customers}: by {@link CustomerRepository#search}, the
+ * {@code LIKE '%keyword%'} query the service falls back to, by the {@link LuceneCustomerSearchIndex} alone, and by
+ * {@link CustomerService#searchCustomers}, which reads the customers the index found.
+ *
+ * <p>
+ * The keyword is a name, shared by one customer in ten, or a CIN, unique. The first page of 20 customers is read,
+ * with the total count. Run with {@code -p customers=1000000,10000000} and a larger heap, such as
+ * {@code -jvmArgsAppend -Xmx16g}, for the largest datasets.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    private int customers;
+
+    @Param({"name", "cin"})
+    private String keywordType;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private CustomerSearchIndex customerSearchIndex;
+    private CustomerService customerService;
+    private String keyword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("customer-search");
+        CustomerDataset.seed(context.getBean(JdbcTemplate.class), customers);
+        context.getBean(LuceneCustomerSearchIndex.class).rebuild();
+        customerRepository = context.getBean(CustomerRepository.class);
+        customerSearchIndex = context.getBean(CustomerSearchIndex.class);
+        customerService = context.getBean(CustomerService.class);
+        keyword = "cin".equals(keywordType) ? CustomerDataset.cin(customers / 2) : "Dupont";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Customer> repositorySearch() {
+        return customerRepository.search("%" + keyword + "%", PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<String> indexSearch() {
+        return customerSearchIndex.search(keyword, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PageModel<CustomerResponseDTO> searchCustomers() {
+        return customerService.searchCustomers(keyword, 0, PAGE_SIZE);
+    }
+}
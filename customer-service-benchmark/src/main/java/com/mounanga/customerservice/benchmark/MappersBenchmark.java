@@ -0,0 +1,47 @@
+package com.mounanga.customerservice.benchmark;
+
+import com.mounanga.customerservice.dto.CustomerResponseDTO;
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.util.Mappers;
+import com.mounanga.customerservice.util.implementation.MappersImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MappersImpl#fromListOfCustomers(List)} on a page of {@code size} customers, as the listing and
+ * search endpoints map them. It needs no database.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappersBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private final Mappers mappers = new MappersImpl();
+    private List<Customer> customers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            customers.add(CustomerDataset.customer(i));
+        }
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> fromListOfCustomers() {
+        return mappers.fromListOfCustomers(customers);
+    }
+}
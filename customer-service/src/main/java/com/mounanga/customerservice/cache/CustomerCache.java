@@ -0,0 +1,107 @@
+package com.mounanga.customerservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mounanga.customerservice.dto.CustomerResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the customers looked up by ID.
+ *
+ * <p>
+ * Customers are cached as response DTOs, which are immutable. Absent customers are not cached. A customer is
+ * evicted once it has been updated or deleted. Lookups, single or batched, put a pending entry for each customer
+ * they load before reading it, and the eviction removes that entry: the row read before the change is returned
+ * to the lookup that read it, but is never cached after the eviction. Other instances of the service do not see
+ * the eviction, so on them an entry may stay stale until it expires after
+ * {@code customer.cache.expire-after-write}. Hit, miss and
+ * eviction counts are exposed through actuator under {@code cache.gets} and {@code cache.evictions}, for the
+ * cache "customer".
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Component
+public class CustomerCache {
+
+    private final boolean enabled;
+    private final AsyncCache<String, CustomerResponseDTO> customers;
+
+    /**
+     * Constructs a new {@code CustomerCache}.
+     *
+     * @param meterRegistry    the registry to which hit, miss and eviction metrics are bound.
+     * @param enabled          whether customers are cached.
+     * @param maximumSize      the maximum number of customers kept in memory.
+     * @param expireAfterWrite the duration after which a cached customer is reloaded.
+     */
+    public CustomerCache(MeterRegistry meterRegistry,
+                         @Value("${customer.cache.enabled:true}") boolean enabled,
+                         @Value("${customer.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${customer.cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        log.info("Customer cache: enabled={}, maximum-size={}, expire-after-write={}", enabled, maximumSize, expireAfterWrite);
+        this.enabled = enabled;
+        this.customers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, customers.synchronous(), "customer");
+    }
+
+    /**
+     * Returns the customer with the given ID, loading it on a miss.
+     *
+     * @param id     the ID of the customer.
+     * @param loader loads the customer, or returns {@code null} when it does not exist.
+     * @return the customer, or {@code null} when it does not exist.
+     */
+    public CustomerResponseDTO get(@NotNull String id, @NotNull Function<String, CustomerResponseDTO> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return customers.get(id, (key, executor) -> CompletableFuture.completedFuture(loader.apply(key))).join();
+    }
+
+    /**
+     * Returns the customers with the given IDs, loading all the missing ones at once, in the calling thread.
+     *
+     * @param ids    the IDs of the customers.
+     * @param loader loads the customers with the given IDs, by ID, leaving out those that do not exist.
+     * @return the customers found, by ID.
+     */
+    public Map<String, CustomerResponseDTO> getAll(@NotNull Collection<String> ids,
+                                                   @NotNull Function<Set<String>, Map<String, CustomerResponseDTO>> loader) {
+        if (!enabled) {
+            return loader.apply(Set.copyOf(ids));
+        }
+        return customers.getAll(ids, (missing, executor) -> CompletableFuture.completedFuture(loader.apply(Set.copyOf(missing))))
+                .join();
+    }
+
+    /**
+     * Evicts a customer after it has been updated or deleted.
+     *
+     * @param id the ID of the customer.
+     */
+    public void evict(@NotNull String id) {
+        if (enabled) {
+            customers.synchronous().invalidate(id);
+        }
+    }
+}
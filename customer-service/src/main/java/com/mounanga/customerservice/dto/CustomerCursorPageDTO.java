@@ -0,0 +1,15 @@
+package com.mounanga.customerservice.dto;
+
+import java.util.List;
+
+/**
+ * Represents a response DTO for a page of customers read with a cursor.
+ * The {@code nextCursor} gives access to the following page, it is {@code null} on the last page.
+ * The {@code totalElements} is only given on request, and may lag behind the latest changes.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public record CustomerCursorPageDTO(int size, String nextCursor, Long totalElements, List<CustomerResponseDTO> customers) {
+}
@@ -0,0 +1,13 @@
+package com.mounanga.customerservice.dto;
+
+import java.util.List;
+
+/**
+ * Represents the report of a customer file import, with the result of every row in file order.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public record CustomerImportReportDTO(long total, long imported, long rejected, List<CustomerImportResultDTO> results) {
+}
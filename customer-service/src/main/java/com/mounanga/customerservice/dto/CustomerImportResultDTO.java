@@ -0,0 +1,13 @@
+package com.mounanga.customerservice.dto;
+
+import com.mounanga.customerservice.enums.ImportStatus;
+
+/**
+ * Represents the result of importing one row of a customer file.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public record CustomerImportResultDTO(long row, ImportStatus status, String id, String message) {
+}
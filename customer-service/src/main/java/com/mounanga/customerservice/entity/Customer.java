@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
  * @version 3.0
  */
 @Entity
+@Table(indexes = @Index(name = "idx_customer_creation_id", columnList = "creation, id"))
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,5 @@
+package com.mounanga.customerservice.enums;
+
+public enum ImportStatus {
+    IMPORTED, REJECTED
+}
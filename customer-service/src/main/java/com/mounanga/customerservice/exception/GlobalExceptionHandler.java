@@ -61,6 +61,39 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(TooManyCustomersRequestedException.class)
+    public ResponseEntity<ExceptionResponse> handleException(@NotNull TooManyCustomersRequestedException exception) {
+        return ResponseEntity.status(BAD_REQUEST).body(new ExceptionResponse(
+                BAD_REQUEST.value(),
+                exception.getMessage(),
+                exception.getLocalizedMessage(),
+                new HashSet<>(),
+                new HashMap<>()
+        ));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionResponse> handleException(@NotNull InvalidCursorException exception) {
+        return ResponseEntity.status(BAD_REQUEST).body(new ExceptionResponse(
+                BAD_REQUEST.value(),
+                exception.getMessage(),
+                exception.getLocalizedMessage(),
+                new HashSet<>(),
+                new HashMap<>()
+        ));
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ExceptionResponse> handleException(@NotNull InvalidImportFileException exception) {
+        return ResponseEntity.status(BAD_REQUEST).body(new ExceptionResponse(
+                BAD_REQUEST.value(),
+                exception.getMessage(),
+                exception.getLocalizedMessage(),
+                new HashSet<>(),
+                new HashMap<>()
+        ));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ExceptionResponse> handleException(@NotNull MethodArgumentNotValidException exception) {
         Set<String> validationErrors = exception.getBindingResult()
@@ -0,0 +1,22 @@
+package com.mounanga.customerservice.exception;
+
+/**
+ * Exception thrown when a customer file cannot be read as a whole, for instance when a CSV header is missing.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class InvalidImportFileException extends RuntimeException{
+    /**
+     * Constructs a new runtime exception with the specified detail message.
+     * The cause is not initialized, and may subsequently be initialized by a
+     * call to {@link #initCause}.
+     *
+     * @param message the detail message. The detail message is saved for
+     *                later retrieval by the {@link #getMessage()} method.
+     */
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,17 @@
 package com.mounanga.customerservice.repository;
 
 import com.mounanga.customerservice.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * This interface represents a repository for managing customer entities.
  *
@@ -34,6 +39,24 @@ public interface CustomerRepository extends JpaRepository<Customer, String> {
     @Query("select case when exists(select 1 from Customer c where c.email = ?1) then true else false end")
     boolean emailExists(String email);
 
+    /**
+     * Retrieves, among the given Cins, those already used by a customer.
+     *
+     * @param cins The Cins to check for existence.
+     * @return The Cins used by a customer, as stored.
+     */
+    @Query("select c.cin from Customer c where c.cin in :cins")
+    List<String> findExistingCins(@Param("cins") Collection<String> cins);
+
+    /**
+     * Retrieves, among the given Emails, those already used by a customer.
+     *
+     * @param emails The Emails to check for existence.
+     * @return The Emails used by a customer, as stored.
+     */
+    @Query("select c.email from Customer c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     /**
      * Search for customers based on a keyword, with support for pagination.
      *
@@ -43,5 +66,35 @@ public interface CustomerRepository extends JpaRepository<Customer, String> {
      */
     @Query("select c from Customer c where c.cin like :keyword or c.firstname like :keyword or c.name like :keyword")
     Page<Customer> search(@Param("keyword") String keyword, Pageable pageable);
-}
 
+    /**
+     * Retrieves the first customers, by creation date and then by ID.
+     *
+     * @param limit The maximum number of customers to retrieve.
+     * @return The first customers.
+     */
+    List<Customer> findByOrderByCreationAscIdAsc(Limit limit);
+
+    /**
+     * Retrieves the customers following the given position, by creation date and then by ID.
+     * The cost of each page is the same whatever its position, thanks to the index on (creation, id).
+     *
+     * @param creation The creation date of the last customer already read.
+     * @param id       The ID of the last customer already read.
+     * @param limit    The maximum number of customers to retrieve.
+     * @return The customers following the given position.
+     */
+    @Query("select c from Customer c where c.creation > :creation or (c.creation = :creation and c.id > :id) " +
+            "order by c.creation asc, c.id asc")
+    List<Customer> findAfter(@Param("creation") LocalDateTime creation, @Param("id") String id, Limit limit);
+
+    /**
+     * Retrieves the customers whose ID comes after the given one, in ID order.
+     * Walking the table this way costs the same for every batch, whatever its position.
+     *
+     * @param id    The ID after which customers are retrieved, or an empty string to start from the first one.
+     * @param limit The maximum number of customers to retrieve.
+     * @return The customers following the given ID.
+     */
+    List<Customer> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+}
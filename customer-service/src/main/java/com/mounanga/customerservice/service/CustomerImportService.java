@@ -0,0 +1,43 @@
+package com.mounanga.customerservice.service;
+
+import com.mounanga.customerservice.dto.CustomerImportReportDTO;
+import com.mounanga.customerservice.exception.InvalidImportFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Represents a service importing files of customers in bulk.
+ *
+ * <p>
+ * Rows are read as they arrive and imported in batches. Each row is validated like a customer created on its own:
+ * its fields, the age of the customer, and the uniqueness of its CIN and email among the stored customers and the
+ * previous rows of the file. Rows are not rolled back when later rows are rejected.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public interface CustomerImportService {
+
+    /**
+     * Imports a JSON array of customers.
+     *
+     * @param input The content of the file.
+     * @return The report of the import, with the result of every row.
+     * @throws InvalidImportFileException If the file is not a JSON array.
+     * @throws IOException If the file cannot be read.
+     */
+    CustomerImportReportDTO importJson(InputStream input) throws IOException;
+
+    /**
+     * Imports a CSV file of customers, starting with a header naming the columns.
+     *
+     * @param input The content of the file, encoded in UTF-8.
+     * @return The report of the import, with the result of every row.
+     * @throws InvalidImportFileException If the header is missing or lacks a column.
+     * @throws IOException If the file cannot be read.
+     */
+    CustomerImportReportDTO importCsv(InputStream input) throws IOException;
+}
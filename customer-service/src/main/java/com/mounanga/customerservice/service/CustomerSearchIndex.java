@@ -0,0 +1,59 @@
+package com.mounanga.customerservice.service;
+
+import com.mounanga.customerservice.entity.Customer;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+
+/**
+ * Represents a full-text index of the customers, searched by CIN, firstname and name.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public interface CustomerSearchIndex {
+
+    /**
+     * Tells whether the index holds every customer and can be searched.
+     *
+     * @return True once the index has been built, otherwise false.
+     */
+    boolean isReady();
+
+    /**
+     * Adds a customer to the index, or replaces it if it is already indexed.
+     *
+     * @param customer The customer to index.
+     */
+    void index(Customer customer);
+
+    /**
+     * Adds customers to the index, or replaces those already indexed, making them visible to searches at once.
+     *
+     * @param customers The customers to index.
+     */
+    void indexAll(Collection<Customer> customers);
+
+    /**
+     * Removes a customer from the index.
+     *
+     * @param id The ID of the customer to remove.
+     */
+    void delete(String id);
+
+    /**
+     * Searches for customers whose CIN, firstname or name match the keyword exactly, by prefix or approximately.
+     *
+     * @param keyword The keyword to search for.
+     * @param page    The page number.
+     * @param size    The size of each page.
+     * @return A page of the IDs of the matching customers, best matches first.
+     */
+    Page<String> search(String keyword, int page, int size);
+
+    /**
+     * Rebuilds the index from the customers stored in the database.
+     */
+    void rebuild();
+}
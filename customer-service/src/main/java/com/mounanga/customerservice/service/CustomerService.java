@@ -1,5 +1,6 @@
 package com.mounanga.customerservice.service;
 
+import com.mounanga.customerservice.dto.CustomerCursorPageDTO;
 import com.mounanga.customerservice.dto.CustomerPageResponseDTO;
 import com.mounanga.customerservice.dto.CustomerRequestDTO;
 import com.mounanga.customerservice.dto.CustomerResponseDTO;
@@ -8,6 +9,10 @@ import com.mounanga.customerservice.exception.CinAlreadyExistException;
 import com.mounanga.customerservice.exception.CustomerNotAdultException;
 import com.mounanga.customerservice.exception.CustomerNotFoundException;
 import com.mounanga.customerservice.exception.EmailAlreadyExistException;
+import com.mounanga.customerservice.exception.InvalidCursorException;
+import com.mounanga.customerservice.exception.TooManyCustomersRequestedException;
+
+import java.util.List;
 
 /**
  * Represents a service interface for managing customers.
@@ -17,6 +22,13 @@ import com.mounanga.customerservice.exception.EmailAlreadyExistException;
  * @version 3.0
  */
 public interface CustomerService {
+
+    /** Maximum number of customers retrieved by a single batch lookup */
+    int MAX_BATCH_SIZE = 100;
+
+    /** Maximum number of customers returned in a single page of {@link #listCustomers} */
+    int MAX_PAGE_SIZE = 100;
+
     /**
      * Creates a new customer based on the provided CustomerRequestDTO.
      *
@@ -50,6 +62,16 @@ public interface CustomerService {
      */
     CustomerResponseDTO getCustomerById(String id) throws CustomerNotFoundException;
 
+    /**
+     * Retrieves several customers by ID in a single query.
+     * IDs that do not match any customer are ignored.
+     *
+     * @param ids The IDs of the customers to retrieve, at most {@value #MAX_BATCH_SIZE} distinct values.
+     * @return The response DTOs of the customers found.
+     * @throws TooManyCustomersRequestedException if more than {@value #MAX_BATCH_SIZE} distinct IDs are requested.
+     */
+    List<CustomerResponseDTO> getCustomersByIds(List<String> ids) throws TooManyCustomersRequestedException;
+
     /**
      * Retrieves all customers with pagination.
      *
@@ -59,8 +81,22 @@ public interface CustomerService {
      */
     PageModel<CustomerResponseDTO> getAllCustomers(int page, int size);
 
+    /**
+     * Retrieves the customers following a cursor, from the oldest to the most recent.
+     * Every page costs the same whatever its depth, and no count is run unless the total is requested.
+     *
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param size      The size of the page, brought back between 1 and {@value #MAX_PAGE_SIZE}.
+     * @param withTotal Whether to give the total number of customers, which may lag behind the latest changes.
+     * @return The response DTO containing the page of customers and the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    CustomerCursorPageDTO listCustomers(String cursor, int size, boolean withTotal) throws InvalidCursorException;
+
     /**
      * Searches for customers based on a keyword with pagination.
+     * The keyword is matched against the CIN, the firstname and the name through the {@link CustomerSearchIndex},
+     * by prefix and approximately, or with a {@code LIKE} scan of the database while the index is not ready.
      *
      * @param keyword The keyword to search for.
      * @param page    The page number.
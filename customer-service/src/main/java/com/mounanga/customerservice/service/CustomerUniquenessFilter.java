@@ -0,0 +1,57 @@
+package com.mounanga.customerservice.service;
+
+import com.mounanga.customerservice.entity.Customer;
+
+import java.util.function.Predicate;
+
+/**
+ * Represents an in-memory pre-check of the uniqueness of the CIN and the email of the customers.
+ *
+ * <p>
+ * A value the filter has never seen is certainly not used, so the database is only queried for the values it
+ * might have seen. The unique constraints of the database remain the final guarantee.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public interface CustomerUniquenessFilter {
+
+    /**
+     * Tells whether the filter holds every stored CIN and email and can rule values out.
+     *
+     * @return True once the filter has been built, otherwise false.
+     */
+    boolean isReady();
+
+    /**
+     * Checks whether a customer already has the given CIN.
+     *
+     * @param cin           The CIN to check.
+     * @param databaseCheck The check against the database, run unless the filter rules the CIN out.
+     * @return True if a customer already has the CIN, otherwise false.
+     */
+    boolean cinExists(String cin, Predicate<String> databaseCheck);
+
+    /**
+     * Checks whether a customer already has the given email.
+     *
+     * @param email         The email to check.
+     * @param databaseCheck The check against the database, run unless the filter rules the email out.
+     * @return True if a customer already has the email, otherwise false.
+     */
+    boolean emailExists(String email, Predicate<String> databaseCheck);
+
+    /**
+     * Records the CIN and the email of a saved customer.
+     *
+     * @param customer The saved customer.
+     */
+    void add(Customer customer);
+
+    /**
+     * Rebuilds the filter from the customers stored in the database.
+     */
+    void rebuild();
+}
@@ -0,0 +1,284 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.CustomerUniquenessFilter;
+import com.mounanga.customerservice.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of {@link CustomerUniquenessFilter} based on two Bloom filters, one for the CINs and one for the
+ * emails.
+ *
+ * <p>
+ * The filters are built from the database when the application starts, sized for twice the number of customers
+ * and at least {@code customer.uniqueness-filter.expected-insertions}. Every customer saved by this instance is
+ * then added to them. Values are compared the way MySQL does by default, ignoring case and accents. Until the
+ * filters are ready, every check queries the database.
+ * </p>
+ * <p>
+ * The values of deleted customers cannot be removed from a Bloom filter: reusing them only costs a database
+ * query. Each check is counted in {@code customer.uniqueness.filter.checks}, by field and by whether the database
+ * was queried, and each value the filters could not rule out but the database did not hold in
+ * {@code customer.uniqueness.filter.false.positives}. Once the rate of false positives since the last rebuild
+ * exceeds twice {@code customer.uniqueness-filter.false-positive-probability}, the filters are rebuilt.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Service
+public class BloomCustomerUniquenessFilter implements CustomerUniquenessFilter {
+
+    static final String CIN = "cin";
+    static final String EMAIL = "email";
+
+    /** Number of unused values checked since the last rebuild before the false positive rate is trusted */
+    static final long MIN_CHECKS_BEFORE_REBUILD = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final int rebuildBatchSize;
+    private final FieldFilter cinFilter;
+    private final FieldFilter emailFilter;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile boolean ready;
+
+    /**
+     * Constructs a new {@code BloomCustomerUniquenessFilter}. The filters start empty and not ready.
+     *
+     * @param customerRepository       The repository the filters are built from.
+     * @param meterRegistry            The registry of the check metrics.
+     * @param enabled                  Whether the filters are built and used.
+     * @param expectedInsertions       The minimum number of values each filter is sized for.
+     * @param falsePositiveProbability The probability of false positives each filter is sized for.
+     * @param rebuildBatchSize         The number of customers read at once while building the filters.
+     */
+    public BloomCustomerUniquenessFilter(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                                         @Value("${customer.uniqueness-filter.enabled:true}") boolean enabled,
+                                         @Value("${customer.uniqueness-filter.expected-insertions:1000000}") long expectedInsertions,
+                                         @Value("${customer.uniqueness-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                                         @Value("${customer.uniqueness-filter.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.cinFilter = new FieldFilter(CIN, meterRegistry);
+        this.emailFilter = new FieldFilter(EMAIL, meterRegistry);
+        log.info("Customer uniqueness filter: enabled={}, expected-insertions={}, false-positive-probability={}",
+                enabled, expectedInsertions, falsePositiveProbability);
+    }
+
+    /**
+     * Builds the filters in the background once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public boolean cinExists(String cin, Predicate<String> databaseCheck) {
+        return exists(cinFilter, cin, databaseCheck);
+    }
+
+    @Override
+    public boolean emailExists(String email, Predicate<String> databaseCheck) {
+        return exists(emailFilter, email, databaseCheck);
+    }
+
+    @Override
+    public void add(@NotNull Customer customer) {
+        cinFilter.put(customer.getCin());
+        emailFilter.put(customer.getEmail());
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        try {
+            long size = Math.max(expectedInsertions, 2 * customerRepository.count());
+            cinFilter.startRebuild(new BloomFilter(size, falsePositiveProbability));
+            emailFilter.startRebuild(new BloomFilter(size, falsePositiveProbability));
+            long count = 0;
+            String lastId = "";
+            List<Customer> customers;
+            do {
+                customers = customerRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildBatchSize));
+                for (Customer customer : customers) {
+                    cinFilter.putInNext(customer.getCin());
+                    emailFilter.putInNext(customer.getEmail());
+                }
+                if (!customers.isEmpty()) {
+                    lastId = customers.get(customers.size() - 1).getId();
+                    count += customers.size();
+                }
+            } while (customers.size() == rebuildBatchSize);
+            cinFilter.completeRebuild();
+            emailFilter.completeRebuild();
+            ready = true;
+            log.info("Customer uniqueness filter built with {} customer(s), sized for {}, in {} ms",
+                    count, size, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            cinFilter.abortRebuild();
+            emailFilter.abortRebuild();
+            log.error("Customer uniqueness filter could not be built", e);
+        }
+    }
+
+    private boolean exists(@NotNull FieldFilter filter, String value, Predicate<String> databaseCheck) {
+        if (ready && !filter.mightContain(value)) {
+            filter.ruledOut.increment();
+            filter.ruledOutSinceRebuild.incrementAndGet();
+            return false;
+        }
+        filter.queried.increment();
+        boolean exists = databaseCheck.test(value);
+        if (ready && !exists) {
+            filter.falsePositives.increment();
+            filter.falsePositivesSinceRebuild.incrementAndGet();
+            if (filter.negativesSinceRebuild() >= MIN_CHECKS_BEFORE_REBUILD
+                    && filter.falsePositiveRateSinceRebuild() > 2 * falsePositiveProbability) {
+                log.warn("{} filter false positive rate above {}, rebuilding", filter.field, 2 * falsePositiveProbability);
+                scheduleRebuild();
+            }
+        }
+        return exists;
+    }
+
+    private void scheduleRebuild() {
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            Thread.ofPlatform().name("customer-uniqueness-rebuild").daemon().start(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Normalizes a value the way the default MySQL collation compares it, ignoring case and accents, so that values
+     * the database considers equal are never told apart by the filter.
+     */
+    static @NotNull String normalize(@NotNull String value) {
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The Bloom filter of one field with its metrics. While it is rebuilt, values are added to the next filter as
+     * well, so that none saved during the rebuild is missing once it replaces the current one.
+     */
+    private static final class FieldFilter {
+
+        private final String field;
+        private final Counter ruledOut;
+        private final Counter queried;
+        private final Counter falsePositives;
+        private final AtomicLong ruledOutSinceRebuild = new AtomicLong();
+        private final AtomicLong falsePositivesSinceRebuild = new AtomicLong();
+        private volatile BloomFilter current;
+        private volatile BloomFilter next;
+
+        private FieldFilter(String field, MeterRegistry meterRegistry) {
+            this.field = field;
+            this.ruledOut = Counter.builder("customer.uniqueness.filter.checks")
+                    .description("Uniqueness checks, by whether the database had to be queried")
+                    .tags("field", field, "result", "ruled-out").register(meterRegistry);
+            this.queried = Counter.builder("customer.uniqueness.filter.checks")
+                    .description("Uniqueness checks, by whether the database had to be queried")
+                    .tags("field", field, "result", "database").register(meterRegistry);
+            this.falsePositives = Counter.builder("customer.uniqueness.filter.false.positives")
+                    .description("Values not ruled out by the filter that the database did not hold")
+                    .tag("field", field).register(meterRegistry);
+            Gauge.builder("customer.uniqueness.filter.false.positive.rate", this, FieldFilter::falsePositiveRateSinceRebuild)
+                    .description("Observed false positive rate since the filter was last built")
+                    .tag("field", field).register(meterRegistry);
+            Gauge.builder("customer.uniqueness.filter.expected.false.positive.rate", this, FieldFilter::expectedFalsePositiveRate)
+                    .description("False positive rate estimated from the bits set in the filter")
+                    .tag("field", field).register(meterRegistry);
+        }
+
+        private boolean mightContain(String value) {
+            BloomFilter filter = current;
+            return filter == null || filter.mightContain(normalize(value));
+        }
+
+        private void put(String value) {
+            if (value == null) {
+                return;
+            }
+            String normalized = normalize(value);
+            BloomFilter filter = current;
+            if (filter != null) {
+                filter.put(normalized);
+            }
+            BloomFilter rebuilt = next;
+            if (rebuilt != null) {
+                rebuilt.put(normalized);
+            }
+        }
+
+        private void startRebuild(BloomFilter filter) {
+            next = filter;
+        }
+
+        private void putInNext(String value) {
+            next.put(normalize(value));
+        }
+
+        private void completeRebuild() {
+            current = next;
+            next = null;
+            ruledOutSinceRebuild.set(0);
+            falsePositivesSinceRebuild.set(0);
+        }
+
+        private void abortRebuild() {
+            next = null;
+        }
+
+        private long negativesSinceRebuild() {
+            return falsePositivesSinceRebuild.get() + ruledOutSinceRebuild.get();
+        }
+
+        private double falsePositiveRateSinceRebuild() {
+            long negatives = negativesSinceRebuild();
+            return negatives == 0 ? 0 : (double) falsePositivesSinceRebuild.get() / negatives;
+        }
+
+        private double expectedFalsePositiveRate() {
+            BloomFilter filter = current;
+            return filter == null ? 1 : filter.expectedFalsePositiveProbability();
+        }
+    }
+}
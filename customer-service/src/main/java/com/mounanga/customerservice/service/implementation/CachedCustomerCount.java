@@ -0,0 +1,68 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.mounanga.customerservice.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * The number of customers, counted at most once per {@code customer.list.count-ttl}.
+ *
+ * <p>
+ * Counting the customers scans the whole table, so the count is shared by every listing that asks for it until
+ * it expires. It may therefore lag behind the latest creations and deletions by up to its time to live. Only one
+ * thread counts when it expires, the others wait for its result.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Component
+public class CachedCustomerCount {
+
+    private final CustomerRepository customerRepository;
+    private final long timeToLive;
+    private final LongSupplier clock;
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(long count, long expiresAt) {
+    }
+
+    @Autowired
+    public CachedCustomerCount(CustomerRepository customerRepository,
+                               @Value("${customer.list.count-ttl:PT30S}") Duration timeToLive) {
+        this(customerRepository, timeToLive, System::nanoTime);
+    }
+
+    CachedCustomerCount(CustomerRepository customerRepository, Duration timeToLive, LongSupplier clock) {
+        this.customerRepository = customerRepository;
+        this.timeToLive = timeToLive.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the number of customers, counting them again if the last count has expired.
+     *
+     * @return The number of customers.
+     */
+    public long get() {
+        Snapshot current = snapshot;
+        if (current == null || clock.getAsLong() - current.expiresAt() >= 0) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || clock.getAsLong() - current.expiresAt() >= 0) {
+                    current = new Snapshot(customerRepository.count(), clock.getAsLong() + timeToLive);
+                    snapshot = current;
+                    log.debug("'{}' customer(s) counted", current.count());
+                }
+            }
+        }
+        return current.count();
+    }
+}
@@ -0,0 +1,244 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mounanga.customerservice.dto.CustomerImportReportDTO;
+import com.mounanga.customerservice.dto.CustomerImportResultDTO;
+import com.mounanga.customerservice.dto.CustomerRequestDTO;
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.enums.ImportStatus;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.CustomerImportService;
+import com.mounanga.customerservice.service.CustomerSearchIndex;
+import com.mounanga.customerservice.service.CustomerUniquenessFilter;
+import com.mounanga.customerservice.util.CustomerImportReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link CustomerImportService}.
+ *
+ * <p>
+ * Each batch of rows costs two queries, checking all of its CINs and emails at once, and one JDBC batch insert in
+ * its own transaction. CINs and emails are compared ignoring case, as the default MySQL collation does. When the
+ * batch insert breaks a unique constraint, because another request took a CIN or an email in the meantime, the
+ * rows of the batch are inserted one at a time to reject only the conflicting ones.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Service
+@Slf4j
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+    private static final String INSERT_CUSTOMER = "insert into customer (id, cin, firstname, name, date_of_birth, " +
+            "place_of_birth, nationality, sex, email, creation) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CustomerRepository customerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerUniquenessFilter customerUniquenessFilter;
+    private final int batchSize;
+
+    public CustomerImportServiceImpl(CustomerRepository customerRepository, JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate, Validator validator, ObjectMapper objectMapper,
+                                     CustomerSearchIndex customerSearchIndex, CustomerUniquenessFilter customerUniquenessFilter,
+                                     @Value("${customer.import.batch-size:500}") int batchSize) {
+        this.customerRepository = customerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerUniquenessFilter = customerUniquenessFilter;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public CustomerImportReportDTO importJson(InputStream input) throws IOException {
+        log.info("In importJson()");
+        return importRows(CustomerImportReader.json(input, objectMapper));
+    }
+
+    @Override
+    public CustomerImportReportDTO importCsv(InputStream input) throws IOException {
+        log.info("In importCsv()");
+        return importRows(CustomerImportReader.csv(input));
+    }
+
+    private @NotNull CustomerImportReportDTO importRows(@NotNull CustomerImportReader reader) throws IOException {
+        long start = System.nanoTime();
+        List<CustomerImportResultDTO> results = new ArrayList<>();
+        try (reader) {
+            List<CustomerImportReader.Row> batch = new ArrayList<>(batchSize);
+            while (reader.hasNext()) {
+                batch.add(reader.next());
+                if (batch.size() == batchSize) {
+                    importBatch(batch, results);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, results);
+            }
+        }
+        long imported = results.stream().filter(result -> result.status() == ImportStatus.IMPORTED).count();
+        log.info("'{}' customer(s) imported and '{}' rejected in {} ms", imported, results.size() - imported,
+                (System.nanoTime() - start) / 1_000_000);
+        return new CustomerImportReportDTO(results.size(), imported, results.size() - imported, results);
+    }
+
+    /**
+     * Validates and inserts a batch of rows, then adds their results to the report in row order.
+     */
+    private void importBatch(@NotNull List<CustomerImportReader.Row> rows, List<CustomerImportResultDTO> results) {
+        Map<Long, CustomerImportResultDTO> resultsByRow = new TreeMap<>();
+        Map<Long, CustomerRequestDTO> candidates = new TreeMap<>();
+        Set<String> batchCins = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (CustomerImportReader.Row row : rows) {
+            String error = validate(row, batchCins, batchEmails);
+            if (error != null) {
+                resultsByRow.put(row.number(), rejected(row.number(), error));
+            } else {
+                candidates.put(row.number(), row.customer());
+            }
+        }
+
+        Set<String> existingCins = existing(candidates.values().stream().map(CustomerRequestDTO::cin).toList(), true);
+        Set<String> existingEmails = existing(candidates.values().stream().map(CustomerRequestDTO::email).toList(), false);
+        Map<Long, Customer> customers = new TreeMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        candidates.forEach((number, dto) -> {
+            if (existingCins.contains(key(dto.cin()))) {
+                resultsByRow.put(number, rejected(number, "There is already a customer with this cin"));
+            } else if (existingEmails.contains(key(dto.email()))) {
+                resultsByRow.put(number, rejected(number, "There is already a customer with this email"));
+            } else {
+                customers.put(number, toCustomer(dto, now));
+            }
+        });
+
+        List<Customer> inserted = insert(customers, resultsByRow);
+        inserted.forEach(customerUniquenessFilter::add);
+        customerSearchIndex.indexAll(inserted);
+        results.addAll(resultsByRow.values());
+    }
+
+    /**
+     * Validates a row on its own and against the previous rows of its batch.
+     *
+     * @return The reason the row is rejected, or null if it is valid.
+     */
+    private String validate(@NotNull CustomerImportReader.Row row, Set<String> batchCins, Set<String> batchEmails) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        CustomerRequestDTO dto = row.customer();
+        Set<ConstraintViolation<CustomerRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (CustomerServiceImpl.isAdult(dto.dateOfBirth())) {
+            return "Customer is not an adult";
+        }
+        if (batchCins.contains(key(dto.cin()))) {
+            return "There is already a customer with this cin";
+        }
+        if (batchEmails.contains(key(dto.email()))) {
+            return "There is already a customer with this email";
+        }
+        batchCins.add(key(dto.cin()));
+        batchEmails.add(key(dto.email()));
+        return null;
+    }
+
+    /**
+     * Retrieves with a single query which of the given CINs or emails are already used.
+     */
+    private @NotNull Set<String> existing(@NotNull List<String> values, boolean cins) {
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        List<String> existing = cins ? customerRepository.findExistingCins(values) : customerRepository.findExistingEmails(values);
+        return existing.stream().map(CustomerImportServiceImpl::key).collect(Collectors.toSet());
+    }
+
+    /**
+     * Inserts the customers in a single batch, or one at a time if the batch breaks a unique constraint.
+     *
+     * @return The customers inserted.
+     */
+    private @NotNull List<Customer> insert(@NotNull Map<Long, Customer> customers, Map<Long, CustomerImportResultDTO> resultsByRow) {
+        if (customers.isEmpty()) {
+            return List.of();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_CUSTOMER,
+                    customers.values().stream().map(CustomerImportServiceImpl::toParameters).toList()));
+            customers.forEach((number, customer) -> resultsByRow.put(number, imported(number, customer)));
+            return List.copyOf(customers.values());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("batch of '{}' customer(s) conflicts with customers saved meanwhile, inserting one at a time", customers.size());
+        }
+        List<Customer> inserted = new ArrayList<>();
+        customers.forEach((number, customer) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_CUSTOMER, toParameters(customer)));
+                resultsByRow.put(number, imported(number, customer));
+                inserted.add(customer);
+            } catch (DataIntegrityViolationException e) {
+                resultsByRow.put(number, rejected(number, "There is already a customer with this cin or this email"));
+            }
+        });
+        return inserted;
+    }
+
+    private static @NotNull Customer toCustomer(@NotNull CustomerRequestDTO dto, LocalDateTime creation) {
+        return Customer.builder().id(UUID.randomUUID().toString()).cin(dto.cin()).firstname(dto.firstname())
+                .name(dto.name()).dateOfBirth(dto.dateOfBirth()).placeOfBirth(dto.placeOfBirth())
+                .nationality(dto.nationality()).sex(dto.sex()).email(dto.email()).creation(creation).build();
+    }
+
+    private static Object @NotNull [] toParameters(@NotNull Customer customer) {
+        return new Object[]{customer.getId(), customer.getCin(), customer.getFirstname(), customer.getName(),
+                customer.getDateOfBirth(), customer.getPlaceOfBirth(), customer.getNationality(),
+                customer.getSex().name(), customer.getEmail(), customer.getCreation()};
+    }
+
+    private static @NotNull String key(@NotNull String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static @NotNull CustomerImportResultDTO imported(long row, @NotNull Customer customer) {
+        return new CustomerImportResultDTO(row, ImportStatus.IMPORTED, customer.getId(), null);
+    }
+
+    private static @NotNull CustomerImportResultDTO rejected(long row, String message) {
+        return new CustomerImportResultDTO(row, ImportStatus.REJECTED, null, message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.mounanga.customerservice.service.implementation;
 
+import com.mounanga.customerservice.cache.CustomerCache;
+import com.mounanga.customerservice.dto.CustomerCursorPageDTO;
 import com.mounanga.customerservice.dto.CustomerPageResponseDTO;
 import com.mounanga.customerservice.dto.CustomerRequestDTO;
 import com.mounanga.customerservice.dto.CustomerResponseDTO;
@@ -9,19 +11,32 @@ import com.mounanga.customerservice.exception.CinAlreadyExistException;
 import com.mounanga.customerservice.exception.CustomerNotAdultException;
 import com.mounanga.customerservice.exception.CustomerNotFoundException;
 import com.mounanga.customerservice.exception.EmailAlreadyExistException;
+import com.mounanga.customerservice.exception.TooManyCustomersRequestedException;
 import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.CustomerSearchIndex;
 import com.mounanga.customerservice.service.CustomerService;
+import com.mounanga.customerservice.service.CustomerUniquenessFilter;
+import com.mounanga.customerservice.util.CustomerCursor;
 import com.mounanga.customerservice.util.Mappers;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -29,10 +44,20 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final Mappers mappers;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerUniquenessFilter customerUniquenessFilter;
+    private final CachedCustomerCount cachedCustomerCount;
+    private final CustomerCache customerCache;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, Mappers mappers) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, Mappers mappers, CustomerSearchIndex customerSearchIndex,
+                               CustomerUniquenessFilter customerUniquenessFilter, CachedCustomerCount cachedCustomerCount,
+                               CustomerCache customerCache) {
         this.customerRepository = customerRepository;
         this.mappers = mappers;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerUniquenessFilter = customerUniquenessFilter;
+        this.cachedCustomerCount = cachedCustomerCount;
+        this.customerCache = customerCache;
     }
 
     @Override
@@ -40,7 +65,8 @@ public class CustomerServiceImpl implements CustomerService {
         log.info("In createCustomer() : ");
         validateDataBeforeSave(dto);
         Customer customer = mappers.fromCustomerRequestDTO(dto);
-        Customer customerSaved = customerRepository.save(customer);
+        Customer customerSaved = saveUnique(customer, dto);
+        customerSearchIndex.index(customerSaved);
         log.info("customer created successfully with id '{}' at '{}'", customerSaved.getId(), customerSaved.getCreation());
         return mappers.fromCustomer(customer);
     }
@@ -51,7 +77,9 @@ public class CustomerServiceImpl implements CustomerService {
         Customer customer = customerRepository.findById(id).orElseThrow( () -> new CustomerNotFoundException("customer with id '"+id+"' not found"));
         validateDataBeforeUpdate(customer, dto);
         updateCustomerWithNewData(customer, dto);
-        Customer customerUpdated = customerRepository.save(customer);
+        Customer customerUpdated = saveUnique(customer, dto);
+        customerCache.evict(id);
+        customerSearchIndex.index(customerUpdated);
         log.info("customer with id '{}' updated at '{}'", customerUpdated.getId(),customerUpdated.getLastUpdated());
         return mappers.fromCustomer(customerUpdated);
     }
@@ -59,10 +87,28 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public CustomerResponseDTO getCustomerById(String id)  {
         log.info("In getCustomerById()");
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> new CustomerNotFoundException("customer not found"));
+        CustomerResponseDTO customer = customerCache.get(id, customerId -> customerRepository.findById(customerId)
+                .map(mappers::fromCustomer)
+                .orElse(null));
+        if (customer == null) {
+            throw new CustomerNotFoundException("customer not found");
+        }
         log.info("customer found");
-        return mappers.fromCustomer(customer);
+        return customer;
+    }
+
+    @Override
+    public List<CustomerResponseDTO> getCustomersByIds(@NotNull List<String> ids) {
+        log.info("In getCustomersByIds()");
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new TooManyCustomersRequestedException("at most " + MAX_BATCH_SIZE + " customers can be requested at once");
+        }
+        Map<String, CustomerResponseDTO> customers = customerCache.getAll(distinctIds, missingIds ->
+                mappers.fromListOfCustomers(customerRepository.findAllById(missingIds)).stream()
+                        .collect(Collectors.toMap(CustomerResponseDTO::id, Function.identity())));
+        log.info("'{}' customer(s) found", customers.size());
+        return distinctIds.stream().map(customers::get).filter(Objects::nonNull).toList();
     }
 
     @Override
@@ -73,18 +119,48 @@ public class CustomerServiceImpl implements CustomerService {
         return fromPage(customerPage, page);
     }
 
+    @Override
+    public CustomerCursorPageDTO listCustomers(String cursor, int size, boolean withTotal) {
+        log.info("In listCustomers()");
+        CustomerCursor after = cursor == null || cursor.isBlank() ? null : CustomerCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Customer> customers = after == null
+                ? customerRepository.findByOrderByCreationAscIdAsc(limit)
+                : customerRepository.findAfter(after.creation(), after.id(), limit);
+        String nextCursor = null;
+        if (customers.size() > pageSize) {
+            customers = customers.subList(0, pageSize);
+            Customer last = customers.get(pageSize - 1);
+            nextCursor = new CustomerCursor(last.getCreation(), last.getId()).encode();
+        }
+        log.info("'{}' customer(s) found", customers.size());
+        return new CustomerCursorPageDTO(pageSize, nextCursor, withTotal ? cachedCustomerCount.get() : null,
+                mappers.fromListOfCustomers(customers));
+    }
+
     @Override
     public PageModel<CustomerResponseDTO> searchCustomers(String keyword, int page, int size) {
         log.info("In searchCustomers()");
-        Page<Customer> customerPage = customerRepository.search("%"+keyword+"%", PageRequest.of(page, size));
-        log.info("customer(s) found");
-        return fromPage(customerPage, page);
+        if (!customerSearchIndex.isReady()) {
+            Page<Customer> customerPage = customerRepository.search("%"+keyword+"%", PageRequest.of(page, size));
+            log.info("customer(s) found in the database");
+            return fromPage(customerPage, page);
+        }
+        Page<String> idPage = customerSearchIndex.search(keyword, page, size);
+        Map<String, Customer> customersById = customerRepository.findAllById(idPage.getContent()).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        List<Customer> customers = idPage.getContent().stream().map(customersById::get).filter(Objects::nonNull).toList();
+        log.info("'{}' customer(s) found in the search index", idPage.getTotalElements());
+        return fromPage(new PageImpl<>(customers, idPage.getPageable(), idPage.getTotalElements()), page);
     }
 
     @Override
     public void deleteCustomerById(String id) {
         log.info("In deleteCustomerById()");
         customerRepository.deleteById(id);
+        customerCache.evict(id);
+        customerSearchIndex.delete(id);
     }
 
 
@@ -95,7 +171,7 @@ public class CustomerServiceImpl implements CustomerService {
      * @param date The birthdate to be checked.
      * @return {@code true} if the person is an adult, {@code false} otherwise.
      */
-    private boolean isAdult(LocalDate date){
+    static boolean isAdult(LocalDate date){
         LocalDate now = LocalDate.now();
         Period age = Period.between(date, now);
         return age.getYears() <= 18 && (age.getYears() != 18 || (age.getMonths() <= 0 && age.getDays() <= 0));
@@ -134,11 +210,11 @@ public class CustomerServiceImpl implements CustomerService {
             throw new CustomerNotAdultException("Customer is not an adult");
         }
 
-        if (!customer.getEmail().equals(dto.email()) && customerRepository.emailExists(dto.email())) {
+        if (!customer.getEmail().equals(dto.email()) && customerUniquenessFilter.emailExists(dto.email(), customerRepository::emailExists)) {
             throw new EmailAlreadyExistException("There is already a customer with this new email");
         }
 
-        if (!customer.getCin().equals(dto.cin()) && customerRepository.cinExists(dto.cin())) {
+        if (!customer.getCin().equals(dto.cin()) && customerUniquenessFilter.cinExists(dto.cin(), customerRepository::cinExists)) {
             throw new CinAlreadyExistException("There is already a customer with this new cin");
         }
     }
@@ -157,15 +233,42 @@ public class CustomerServiceImpl implements CustomerService {
             throw new CustomerNotAdultException("Customer is not an adult");
         }
 
-        if (customerRepository.cinExists(dto.cin())) {
+        if (customerUniquenessFilter.cinExists(dto.cin(), customerRepository::cinExists)) {
             throw new CinAlreadyExistException("There is already a customer with this cin");
         }
 
-        if (customerRepository.emailExists(dto.email())) {
+        if (customerUniquenessFilter.emailExists(dto.email(), customerRepository::emailExists)) {
             throw new EmailAlreadyExistException("There is already a customer with this email");
         }
     }
 
+    /**
+     * Saves a customer and records its CIN and email in the uniqueness filter. A CIN or an email taken since the
+     * validation, or missed by the filter, is rejected by the unique constraints of the database.
+     *
+     * @param customer The customer to save.
+     * @param dto      The CustomerRequestDTO the customer was built from.
+     * @return The saved customer.
+     * @throws CinAlreadyExistException     If there is already a customer with the cin.
+     * @throws EmailAlreadyExistException   If there is already a customer with the email.
+     */
+    private Customer saveUnique(Customer customer, @NotNull CustomerRequestDTO dto) throws CinAlreadyExistException, EmailAlreadyExistException {
+        Customer customerSaved;
+        try {
+            customerSaved = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException e) {
+            if (customerRepository.cinExists(dto.cin())) {
+                throw new CinAlreadyExistException("There is already a customer with this cin");
+            }
+            if (customerRepository.emailExists(dto.email())) {
+                throw new EmailAlreadyExistException("There is already a customer with this email");
+            }
+            throw e;
+        }
+        customerUniquenessFilter.add(customerSaved);
+        return customerSaved;
+    }
+
     private @NotNull PageModel<CustomerResponseDTO> fromPage(@NotNull Page<Customer> customerPage, int page) {
         PageModel<CustomerResponseDTO> pageModel = new PageModel<>();
         pageModel.setTotalElements(customerPage.getTotalElements());
@@ -0,0 +1,361 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.CustomerSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of {@link CustomerSearchIndex} based on an embedded Lucene index.
+ *
+ * <p>
+ * The CIN is indexed as a single lower-cased term, the firstname and the name are split in words. A keyword
+ * matches a customer when it matches the CIN, or when each of its words matches the firstname or the name, either
+ * exactly, as a prefix, or within one edit (two for words of {@value #TWO_EDITS_LENGTH} characters or more) for
+ * words of at least {@value #FUZZY_MIN_LENGTH} characters. Exact matches rank first, then prefixes, then
+ * approximate matches.
+ * </p>
+ * <p>
+ * The index is built in memory from the database when the application starts, and kept up to date by
+ * {@link CustomerServiceImpl} on every change made by this instance. Customers changed while it is being built are
+ * indexed again once it is done. Only the IDs are stored: customers are always read from the database, so a
+ * customer deleted by another instance is never returned. Until the index is ready, {@link #isReady()} is false. If
+ * a change cannot be indexed, the index is no longer ready and is rebuilt in the background.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Service
+public class LuceneCustomerSearchIndex implements CustomerSearchIndex, DisposableBean {
+
+    static final String ID = "id";
+    static final String CIN = "cin";
+    static final String FIRSTNAME = "firstname";
+    static final String NAME = "name";
+
+    /** Minimum length of a word to be matched approximately */
+    static final int FUZZY_MIN_LENGTH = 4;
+
+    /** Minimum length of a word to be matched within two edits */
+    static final int TWO_EDITS_LENGTH = 8;
+
+    private static final Set<String> ID_FIELD = Set.of(ID);
+
+    private final CustomerRepository customerRepository;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Constructs a new {@code LuceneCustomerSearchIndex}. The index starts empty.
+     *
+     * @param customerRepository The repository the index is built from.
+     * @param enabled            Whether the index is built and searched.
+     * @param rebuildBatchSize   The number of customers read at once while building the index.
+     */
+    public LuceneCustomerSearchIndex(CustomerRepository customerRepository,
+                                     @Value("${customer.search.enabled:true}") boolean enabled,
+                                     @Value("${customer.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+        try {
+            this.directory = new ByteBuffersDirectory();
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot open the customer search index", e);
+        }
+        log.info("Customer search index: enabled={}", enabled);
+    }
+
+    /**
+     * Builds the index in the background once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(@NotNull Customer customer) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writer.updateDocument(new Term(ID, customer.getId()), toDocument(customer));
+            afterChange(customer.getId());
+        } catch (IOException | RuntimeException e) {
+            disable("cannot index customer " + customer.getId(), List.of(customer.getId()), e);
+        }
+    }
+
+    @Override
+    public void indexAll(@NotNull Collection<Customer> customers) {
+        if (!enabled || customers.isEmpty()) {
+            return;
+        }
+        try {
+            for (Customer customer : customers) {
+                writer.updateDocument(new Term(ID, customer.getId()), toDocument(customer));
+                if (rebuilding) {
+                    changedDuringRebuild.add(customer.getId());
+                }
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            disable("cannot index " + customers.size() + " customers",
+                    customers.stream().map(Customer::getId).toList(), e);
+        }
+    }
+
+    @Override
+    public void delete(@NotNull String id) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writer.deleteDocuments(new Term(ID, id));
+            afterChange(id);
+        } catch (IOException | RuntimeException e) {
+            disable("cannot remove customer " + id + " from the index", List.of(id), e);
+        }
+    }
+
+    @Override
+    public Page<String> search(String keyword, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        Query query = buildQuery(keyword);
+        if (query == null) {
+            return Page.empty(pageRequest);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int offset = (int) Math.min(pageRequest.getOffset(), Integer.MAX_VALUE - size);
+                TopDocs topDocs = searcher.search(query, offset + size);
+                long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value
+                        : searcher.count(query);
+                StoredFields storedFields = searcher.storedFields();
+                List<String> ids = new ArrayList<>(size);
+                for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                    ids.add(storedFields.document(topDocs.scoreDocs[i].doc, ID_FIELD).get(ID));
+                }
+                return new PageImpl<>(ids, pageRequest, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot search the customer index", e);
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        ready = false;
+        rebuilding = true;
+        long start = System.nanoTime();
+        try {
+            writer.deleteAll();
+            long count = 0;
+            String lastId = "";
+            List<Customer> customers;
+            do {
+                customers = customerRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildBatchSize));
+                for (Customer customer : customers) {
+                    writer.updateDocument(new Term(ID, customer.getId()), toDocument(customer));
+                }
+                if (!customers.isEmpty()) {
+                    lastId = customers.get(customers.size() - 1).getId();
+                    count += customers.size();
+                }
+            } while (customers.size() == rebuildBatchSize);
+            rebuilding = false;
+            reindexChangedDuringRebuild();
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Customer search index built with {} customer(s) in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            rebuilding = false;
+            log.error("Customer search index could not be built, searches fall back to the database", e);
+        }
+    }
+
+    /**
+     * Closes the index.
+     */
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Builds the query matching the keyword against the CIN, or each of its words against the firstname or the name.
+     *
+     * @param keyword The keyword to search for.
+     * @return The query, or {@code null} if the keyword is blank.
+     */
+    Query buildQuery(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        query.add(matchTerm(CIN, keyword.trim().toLowerCase(Locale.ROOT)), BooleanClause.Occur.SHOULD);
+        List<String> words = analyze(keyword);
+        if (!words.isEmpty()) {
+            BooleanQuery.Builder allWords = new BooleanQuery.Builder();
+            for (String word : words) {
+                allWords.add(new BooleanQuery.Builder()
+                        .add(matchTerm(FIRSTNAME, word), BooleanClause.Occur.SHOULD)
+                        .add(matchTerm(NAME, word), BooleanClause.Occur.SHOULD)
+                        .build(), BooleanClause.Occur.MUST);
+            }
+            query.add(allWords.build(), BooleanClause.Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    /**
+     * Builds the query matching a term of a field exactly, as a prefix or approximately, in decreasing order of score.
+     */
+    private static @NotNull Query matchTerm(String field, @NotNull String value) {
+        Term term = new Term(field, value);
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(term), 4f), BooleanClause.Occur.SHOULD)
+                .add(new BoostQuery(new PrefixQuery(term), 2f), BooleanClause.Occur.SHOULD);
+        if (value.length() >= FUZZY_MIN_LENGTH) {
+            int maxEdits = value.length() >= TWO_EDITS_LENGTH ? 2 : 1;
+            query.add(new FuzzyQuery(term, maxEdits, 1), BooleanClause.Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    /**
+     * Splits a text in lower-cased words the same way the firstname and the name are indexed.
+     */
+    private @NotNull List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static @NotNull Document toDocument(@NotNull Customer customer) {
+        Document document = new Document();
+        document.add(new StringField(ID, customer.getId(), Field.Store.YES));
+        document.add(new StringField(CIN, customer.getCin().toLowerCase(Locale.ROOT), Field.Store.NO));
+        document.add(new TextField(FIRSTNAME, customer.getFirstname(), Field.Store.NO));
+        document.add(new TextField(NAME, customer.getName(), Field.Store.NO));
+        return document;
+    }
+
+    /**
+     * Makes a change visible to searches, and remembers it if it may be overwritten by a rebuild in progress.
+     */
+    private void afterChange(String id) throws IOException {
+        if (rebuilding) {
+            changedDuringRebuild.add(id);
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Indexes again, from the database, the customers changed while the index was being rebuilt.
+     */
+    private void reindexChangedDuringRebuild() throws IOException {
+        for (Iterator<String> iterator = changedDuringRebuild.iterator(); iterator.hasNext(); ) {
+            String id = iterator.next();
+            iterator.remove();
+            Optional<Customer> customer = customerRepository.findById(id);
+            if (customer.isPresent()) {
+                writer.updateDocument(new Term(ID, id), toDocument(customer.get()));
+            } else {
+                writer.deleteDocuments(new Term(ID, id));
+            }
+        }
+    }
+
+    /**
+     * Stops serving searches from the index after a change could not be indexed, and rebuilds it in the background.
+     * If a rebuild is in progress, the customers changed are indexed again once it is done instead.
+     */
+    private void disable(String message, Collection<String> ids, Exception e) {
+        ready = false;
+        if (rebuilding) {
+            changedDuringRebuild.addAll(ids);
+        }
+        log.error("{}, searches fall back to the database until the index is rebuilt", message, e);
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            Thread.ofPlatform().name("customer-search-rebuild").daemon().start(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+}
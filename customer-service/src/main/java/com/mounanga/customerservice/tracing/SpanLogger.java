@@ -0,0 +1,45 @@
+package com.mounanga.customerservice.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the spans of the customer service at DEBUG when they end, with
+ * {@code logging.level.com.mounanga.customerservice.tracing.SpanLogger=DEBUG}.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Slf4j
+@Component
+public class SpanLogger implements SpanExporter {
+
+    @Override
+    public CompletableResultCode export(@NotNull Collection<SpanData> spans) {
+        if (log.isDebugEnabled()) {
+            spans.forEach(span -> log.debug("span {} trace={} id={} parent={} kind={} {}us status={}", span.getName(),
+                    span.getTraceId(), span.getSpanId(), span.getParentSpanId(), span.getKind(),
+                    TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                    span.getStatus().getStatusCode()));
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,45 @@
+package com.mounanga.customerservice.tracing;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.api.trace.Span;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Configuration of what the service traces.
+ *
+ * <p>
+ * Requests and JDBC statements are traced, with the W3C {@code traceparent} format, so a request from the account
+ * service or the gateway continues their trace. JDBC statements are only traced within a trace, so that the
+ * rebuilds of the search index and of the uniqueness filter at startup do not each start a trace of their own, and
+ * the requests to the actuator are not traced.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Only observes the JDBC connections and statements made while a span is current.
+     *
+     * @return the {@link ObservationPredicate}.
+     */
+    @Bean
+    public ObservationPredicate jdbcWithinTraceObservationPredicate() {
+        return (name, context) -> !name.startsWith("jdbc.") || Span.current().getSpanContext().isValid();
+    }
+
+    /**
+     * Does not observe the requests to the actuator, such as metric scrapes and health checks.
+     *
+     * @return the {@link ObservationPredicate}.
+     */
+    @Bean
+    public ObservationPredicate actuatorObservationPredicate() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext)
+                || !serverContext.getCarrier().getRequestURI().startsWith(serverContext.getCarrier().getContextPath() + "/actuator");
+    }
+}
@@ -0,0 +1,59 @@
+package com.mounanga.customerservice.util;
+
+import com.mounanga.customerservice.exception.InvalidCursorException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the list of customers, used to read the page following a given customer.
+ *
+ * <p>
+ * Customers are listed from the oldest to the most recent, by creation date and then by id, so the creation date
+ * and id of the last customer of a page are enough to resume after it, whatever the number of pages already read.
+ * The cursor is exchanged with clients as an opaque URL-safe string.
+ * </p>
+ *
+ * @param creation The creation date of the last customer read.
+ * @param id       The ID of the last customer read.
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public record CustomerCursor(LocalDateTime creation, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes this cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        String value = creation + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor.
+     * @return the decoded cursor.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    public static @NotNull CustomerCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0 || separator == value.length() - 1) {
+                throw new InvalidCursorException("invalid cursor");
+            }
+            return new CustomerCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.mounanga.customerservice.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mounanga.customerservice.dto.CustomerRequestDTO;
+import com.mounanga.customerservice.enums.Sex;
+import com.mounanga.customerservice.exception.InvalidImportFileException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the customers of an uploaded file one row at a time, so that a file of any size is imported without being
+ * held in memory.
+ *
+ * <p>
+ * A JSON file is an array of objects shaped like {@link CustomerRequestDTO}. A CSV file starts with a header naming
+ * the columns {@code cin}, {@code firstname}, {@code name}, {@code dateOfBirth} ({@code yyyy-MM-dd}),
+ * {@code placeOfBirth}, {@code nationality}, {@code sex} ({@code M} or {@code F}) and {@code email}, in any order;
+ * fields may be quoted. A row that cannot be converted is returned with an error instead of a customer, and the
+ * following rows are still read. A file that cannot be read any further ends with a row holding the error.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public abstract class CustomerImportReader implements Iterator<CustomerImportReader.Row>, Closeable {
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "cin", "firstname", "name", "dateOfBirth", "placeOfBirth", "nationality", "sex", "email");
+
+    /**
+     * A row of the file.
+     *
+     * @param number   The position of the row in the file, 1 for the first customer.
+     * @param customer The customer read from the row, or null if it could not be read.
+     * @param error    The reason the row could not be read, or null if it was.
+     */
+    public record Row(long number, CustomerRequestDTO customer, String error) {
+    }
+
+    private long rowCount;
+    private Row next;
+    private boolean finished;
+
+    /**
+     * Creates a reader of a JSON array of customers.
+     *
+     * @param input        The content of the file.
+     * @param objectMapper The mapper converting each object to a customer.
+     * @return The reader.
+     * @throws InvalidImportFileException If the file is not a JSON array.
+     */
+    public static @NotNull CustomerImportReader json(InputStream input, @NotNull ObjectMapper objectMapper) throws IOException {
+        return new JsonReader(input, objectMapper);
+    }
+
+    /**
+     * Creates a reader of a CSV file of customers.
+     *
+     * @param input The content of the file, encoded in UTF-8.
+     * @return The reader.
+     * @throws InvalidImportFileException If the header is missing or lacks a column.
+     */
+    public static @NotNull CustomerImportReader csv(InputStream input) throws IOException {
+        return new CsvReader(input);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRow(rowCount + 1);
+            } catch (IOException | RuntimeException e) {
+                next = new Row(rowCount + 1, null, "the file cannot be read beyond this row: " + e.getMessage());
+                finished = true;
+            }
+            if (next == null) {
+                finished = true;
+            } else {
+                rowCount++;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * Reads the next row of the file.
+     *
+     * @param number The position of the row.
+     * @return The row, or null at the end of the file.
+     */
+    protected abstract Row readRow(long number) throws IOException;
+
+    private static final class JsonReader extends CustomerImportReader {
+
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+
+        private JsonReader(InputStream input, @NotNull ObjectMapper objectMapper) throws IOException {
+            this.objectMapper = objectMapper;
+            this.parser = objectMapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new InvalidImportFileException("the file must contain a JSON array of customers");
+            }
+        }
+
+        @Override
+        protected Row readRow(long number) throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            JsonNode node = objectMapper.readTree(parser);
+            try {
+                return new Row(number, objectMapper.treeToValue(node, CustomerRequestDTO.class), null);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                String message = e instanceof JsonProcessingException jsonException ? jsonException.getOriginalMessage() : e.getMessage();
+                return new Row(number, null, "the row is not a valid customer: " + message);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    private static final class CsvReader extends CustomerImportReader {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvReader(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            List<String> header = readRecord();
+            if (header == null) {
+                reader.close();
+                throw new InvalidImportFileException("the file must start with a header");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : CSV_COLUMNS) {
+                if (!columns.containsKey(column.toLowerCase(Locale.ROOT))) {
+                    reader.close();
+                    throw new InvalidImportFileException("the header has no '" + column + "' column");
+                }
+            }
+        }
+
+        @Override
+        protected Row readRow(long number) throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+            if (fields == null) {
+                return null;
+            }
+            LocalDate dateOfBirth;
+            Sex sex;
+            try {
+                String date = field(fields, "dateOfBirth");
+                dateOfBirth = date == null ? null : LocalDate.parse(date);
+            } catch (DateTimeParseException e) {
+                return new Row(number, null, "dateOfBirth must be a date formatted as yyyy-MM-dd");
+            }
+            try {
+                String value = field(fields, "sex");
+                sex = value == null ? null : Sex.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return new Row(number, null, "sex must be M or F");
+            }
+            return new Row(number, new CustomerRequestDTO(field(fields, "cin"), field(fields, "firstname"),
+                    field(fields, "name"), dateOfBirth, field(fields, "placeOfBirth"), field(fields, "nationality"),
+                    sex, field(fields, "email")), null);
+        }
+
+        /**
+         * Returns the value of a column of the record, or null if it is blank or missing.
+         */
+        private String field(@NotNull List<String> fields, @NotNull String column) {
+            int index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index >= fields.size() || fields.get(index).isBlank()) {
+                return null;
+            }
+            return fields.get(index).strip();
+        }
+
+        /**
+         * Reads the fields of the next record. A quoted field may contain commas, line breaks and doubled quotes.
+         *
+         * @return The fields, or null at the end of the file.
+         */
+        private List<String> readRecord() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    line = reader.readLine();
+                    if (line == null) {
+                        throw new IOException("a quoted field is not closed");
+                    }
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.mounanga.customerservice.web;
 
+import com.mounanga.customerservice.dto.CustomerCursorPageDTO;
+import com.mounanga.customerservice.dto.CustomerImportReportDTO;
 import com.mounanga.customerservice.dto.CustomerRequestDTO;
 import com.mounanga.customerservice.dto.CustomerResponseDTO;
 import com.mounanga.customerservice.dto.PageModel;
@@ -7,17 +9,28 @@ import com.mounanga.customerservice.exception.CinAlreadyExistException;
 import com.mounanga.customerservice.exception.CustomerNotAdultException;
 import com.mounanga.customerservice.exception.CustomerNotFoundException;
 import com.mounanga.customerservice.exception.EmailAlreadyExistException;
+import com.mounanga.customerservice.exception.InvalidCursorException;
+import com.mounanga.customerservice.exception.InvalidImportFileException;
+import com.mounanga.customerservice.exception.TooManyCustomersRequestedException;
+import com.mounanga.customerservice.service.CustomerImportService;
 import com.mounanga.customerservice.service.CustomerService;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/customers")
 public class CustomerRestController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
-    public CustomerRestController(CustomerService customerService) {
+    public CustomerRestController(CustomerService customerService, CustomerImportService customerImportService) {
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
     }
 
     @PostMapping("/create")
@@ -25,6 +38,16 @@ public class CustomerRestController {
         return customerService.createCustomer(dto);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CustomerImportReportDTO importCustomersFromJson(InputStream body) throws IOException, InvalidImportFileException {
+        return customerImportService.importJson(body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public CustomerImportReportDTO importCustomersFromCsv(InputStream body) throws IOException, InvalidImportFileException {
+        return customerImportService.importCsv(body);
+    }
+
     @PutMapping("/update/{id}")
     public CustomerResponseDTO updateCustomer(@PathVariable String id, @RequestBody CustomerRequestDTO dto) throws CustomerNotFoundException, CinAlreadyExistException, EmailAlreadyExistException, CustomerNotAdultException {
         return customerService.updateCustomer(id, dto);
@@ -35,12 +58,24 @@ public class CustomerRestController {
         return customerService.getCustomerById(id);
     }
 
+    @PostMapping("/get-all")
+    public List<CustomerResponseDTO> getCustomersByIds(@RequestBody List<String> ids) throws TooManyCustomersRequestedException {
+        return customerService.getCustomersByIds(ids);
+    }
+
     @GetMapping("/list")
     public PageModel<CustomerResponseDTO> getAllCustomers(@RequestParam(defaultValue = "0") int page,
                                                           @RequestParam(defaultValue = "10") int size) {
         return customerService.getAllCustomers(page, size);
     }
 
+    @GetMapping("/scroll")
+    public CustomerCursorPageDTO listCustomers(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "10") int size,
+                                               @RequestParam(defaultValue = "false") boolean withTotal) throws InvalidCursorException {
+        return customerService.listCustomers(cursor, size, withTotal);
+    }
+
     @GetMapping("/search")
     public PageModel<CustomerResponseDTO> searchCustomers(@RequestParam(defaultValue = "") String keyword,
                                                    @RequestParam(defaultValue = "0") int page,
@@ -0,0 +1,115 @@
+package com.mounanga.customerservice.cache;
+
+import com.mounanga.customerservice.dto.CustomerResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testCustomerIsLoadedOnceUntilEvicted() {
+        CustomerCache cache = new CustomerCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("1", id -> { loads.incrementAndGet(); return customer(id); });
+        cache.get("1", id -> { loads.incrementAndGet(); return customer(id); });
+        assertEquals(1, loads.get());
+
+        cache.evict("1");
+        cache.get("1", id -> { loads.incrementAndGet(); return customer(id); });
+        assertEquals(2, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "customer").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testAbsentCustomersAreNotCached() {
+        CustomerCache cache = new CustomerCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get("1", id -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.get("1", id -> { loads.incrementAndGet(); return null; }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetAllLoadsOnlyTheMissingCustomersAtOnce() {
+        CustomerCache cache = new CustomerCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+        cache.get("1", CustomerCacheTest::customer);
+        List<Set<String>> loaded = new ArrayList<>();
+
+        Map<String, CustomerResponseDTO> customers = cache.getAll(Set.of("1", "2", "3"), ids -> {
+            loaded.add(ids);
+            return ids.stream().filter(id -> !id.equals("3")).collect(Collectors.toMap(id -> id, CustomerCacheTest::customer));
+        });
+
+        assertEquals(Set.of("1", "2"), customers.keySet());
+        assertEquals(List.of(Set.of("2", "3")), loaded);
+    }
+
+    @Test
+    void testGetAllDoesNotCacheCustomersEvictedWhileLoading() throws Exception {
+        CustomerCache cache = new CustomerCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+
+        CompletableFuture<Map<String, CustomerResponseDTO>> batch = CompletableFuture.supplyAsync(() ->
+                cache.getAll(Set.of("1", "2"), ids -> {
+                    loading.countDown();
+                    try {
+                        assertTrue(evicted.await(5, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ids.stream().collect(Collectors.toMap(id -> id, CustomerCacheTest::customer));
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.evict("1");
+        evicted.countDown();
+
+        assertEquals(Set.of("1", "2"), batch.get(5, TimeUnit.SECONDS).keySet());
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("1", id -> { loads.incrementAndGet(); return customer(id); });
+        cache.get("2", id -> { loads.incrementAndGet(); return customer(id); });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLoaderFailureIsNotWrapped() {
+        CustomerCache cache = new CustomerCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+
+        assertThrows(IllegalStateException.class, () -> cache.get("1", id -> { throw new IllegalStateException(); }));
+        assertThrows(IllegalStateException.class, () -> cache.getAll(Set.of("1"), ids -> { throw new IllegalStateException(); }));
+        assertNotNull(cache.get("1", CustomerCacheTest::customer));
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        CustomerCache cache = new CustomerCache(meterRegistry, false, 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("1", id -> { loads.incrementAndGet(); return customer(id); });
+        cache.get("1", id -> { loads.incrementAndGet(); return customer(id); });
+        assertEquals(2, loads.get());
+    }
+
+    private static CustomerResponseDTO customer(String id) {
+        return new CustomerResponseDTO(id, "cin" + id, "firstname", "name", null, null, null, null,
+                id + "@spring.io", LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mounanga.customerservice.repository;
+
+import com.mounanga.customerservice.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerRepositoryTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<String> expected;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // groups of three customers share the same creation date
+            rows.add(new String[]{UUID.randomUUID().toString(), start.plusMinutes(i / 3L).toString(), String.valueOf(i)});
+        }
+        for (String[] row : rows) {
+            jdbcTemplate.update("insert into customer (id, cin, firstname, name, date_of_birth, place_of_birth, " +
+                            "nationality, sex, email, creation) values (?, ?, 'firstname', 'name', ?, 'world', 'world', 'M', ?, ?)",
+                    row[0], "cin" + row[2], LocalDate.of(1990, 1, 1), row[2] + "@spring.io", LocalDateTime.parse(row[1]));
+        }
+        expected = rows.stream()
+                .sorted((a, b) -> a[1].equals(b[1]) ? a[0].compareTo(b[0]) : LocalDateTime.parse(a[1]).compareTo(LocalDateTime.parse(b[1])))
+                .map(row -> row[0])
+                .toList();
+    }
+
+    @Test
+    void testFindAfterWalksEveryCustomerOnceInOrder() {
+        List<String> actual = new ArrayList<>();
+        List<Customer> page = customerRepository.findByOrderByCreationAscIdAsc(Limit.of(4));
+        while (!page.isEmpty()) {
+            page.forEach(customer -> actual.add(customer.getId()));
+            Customer last = page.get(page.size() - 1);
+            page = customerRepository.findAfter(last.getCreation(), last.getId(), Limit.of(4));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testFindExistingCinsAndEmails() {
+        assertEquals(List.of("cin3"), customerRepository.findExistingCins(List.of("cin3", "unknown")));
+        assertEquals(List.of("4@spring.io"), customerRepository.findExistingEmails(List.of("4@spring.io", "unknown@spring.io")));
+    }
+}
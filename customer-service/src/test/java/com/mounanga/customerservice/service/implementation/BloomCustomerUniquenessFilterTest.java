@@ -0,0 +1,110 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.enums.Sex;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BloomCustomerUniquenessFilterTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BloomCustomerUniquenessFilter uniquenessFilter;
+
+    @BeforeEach
+    void setUp() {
+        uniquenessFilter = new BloomCustomerUniquenessFilter(customerRepository, meterRegistry, true, 1000, 0.01, 2);
+        List<Customer> customers = List.of(
+                customer("1", "AB123456", "john@spring.io"),
+                customer("2", "CD654321", "élodie@spring.io"),
+                customer("3", "EF111111", "pierre@spring.io"));
+        when(customerRepository.count()).thenReturn((long) customers.size());
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(anyString(), any(Limit.class))).thenAnswer(invocation -> {
+            String after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return customers.stream().filter(customer -> customer.getId().compareTo(after) > 0).limit(limit).toList();
+        });
+    }
+
+    @Test
+    void testChecksQueryTheDatabaseUntilTheFilterIsBuilt() {
+        Predicate<String> databaseCheck = Set.of("AB123456")::contains;
+        assertFalse(uniquenessFilter.isReady());
+        assertTrue(uniquenessFilter.cinExists("AB123456", databaseCheck));
+        assertFalse(uniquenessFilter.cinExists("ZZ999999", databaseCheck));
+        assertEquals(2, meterRegistry.get("customer.uniqueness.filter.checks")
+                .tags("field", "cin", "result", "database").counter().count());
+        assertEquals(0, meterRegistry.get("customer.uniqueness.filter.false.positives")
+                .tag("field", "cin").counter().count());
+    }
+
+    @Test
+    void testUnusedValuesAreRuledOutWithoutTheDatabase() {
+        uniquenessFilter.rebuild();
+        assertTrue(uniquenessFilter.isReady());
+        verify(customerRepository).findByIdGreaterThanOrderByIdAsc("2", Limit.of(2));
+
+        Predicate<String> databaseCheck = value -> fail("the database should not be queried");
+        assertFalse(uniquenessFilter.cinExists("ZZ999999", databaseCheck));
+        assertFalse(uniquenessFilter.emailExists("nobody@spring.io", databaseCheck));
+        assertEquals(1, meterRegistry.get("customer.uniqueness.filter.checks")
+                .tags("field", "email", "result", "ruled-out").counter().count());
+    }
+
+    @Test
+    void testExistingValuesAreConfirmedByTheDatabase() {
+        uniquenessFilter.rebuild();
+        assertTrue(uniquenessFilter.cinExists("AB123456", Set.of("AB123456")::contains));
+        assertFalse(uniquenessFilter.cinExists("AB123456", value -> false));
+        assertEquals(1, meterRegistry.get("customer.uniqueness.filter.false.positives")
+                .tag("field", "cin").counter().count());
+        assertEquals(1, meterRegistry.get("customer.uniqueness.filter.false.positive.rate")
+                .tag("field", "cin").gauge().value());
+    }
+
+    @Test
+    void testValuesAreComparedIgnoringCaseAndAccents() {
+        uniquenessFilter.rebuild();
+        Predicate<String> databaseCheck = value -> true;
+        assertTrue(uniquenessFilter.emailExists(" Elodie@Spring.io", databaseCheck));
+        assertTrue(uniquenessFilter.cinExists("ab123456", databaseCheck));
+        assertEquals("elodie@spring.io", BloomCustomerUniquenessFilter.normalize(" ÉLODIE@spring.io "));
+    }
+
+    @Test
+    void testSavedCustomersAreAdded() {
+        uniquenessFilter.rebuild();
+        uniquenessFilter.add(customer("4", "GH222222", "zoe@spring.io"));
+        assertTrue(uniquenessFilter.cinExists("GH222222", value -> true));
+        assertTrue(uniquenessFilter.emailExists("zoe@spring.io", value -> true));
+    }
+
+    @Test
+    void testDisabledFilterIsNeverBuilt() throws InterruptedException {
+        BloomCustomerUniquenessFilter disabled = new BloomCustomerUniquenessFilter(customerRepository, new SimpleMeterRegistry(), false, 1000, 0.01, 2);
+        disabled.onApplicationReady();
+        Thread.sleep(100);
+        assertFalse(disabled.isReady());
+        verify(customerRepository, never()).count();
+    }
+
+    private static Customer customer(String id, String cin, String email) {
+        return Customer.builder().id(id).cin(cin).firstname("firstname").name("name")
+                .dateOfBirth(LocalDate.of(1990, 1, 1)).placeOfBirth("world").nationality("world").sex(Sex.M)
+                .email(email).creation(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.mounanga.customerservice.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachedCustomerCountTest {
+
+    @Test
+    void testCountIsReusedUntilItExpires() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        when(customerRepository.count()).thenReturn(10L, 12L);
+        AtomicLong clock = new AtomicLong();
+        CachedCustomerCount cachedCustomerCount = new CachedCustomerCount(customerRepository, Duration.ofSeconds(30), clock::get);
+
+        assertEquals(10L, cachedCustomerCount.get());
+        clock.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals(10L, cachedCustomerCount.get());
+        verify(customerRepository, times(1)).count();
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(12L, cachedCustomerCount.get());
+        verify(customerRepository, times(2)).count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mounanga.customerservice.dto.CustomerImportReportDTO;
+import com.mounanga.customerservice.dto.CustomerImportResultDTO;
+import com.mounanga.customerservice.enums.ImportStatus;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.CustomerSearchIndex;
+import com.mounanga.customerservice.service.CustomerUniquenessFilter;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CustomerImportServiceImplTest {
+
+    private static final String HEADER = "cin,firstname,name,dateOfBirth,placeOfBirth,nationality,sex,email\n";
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CustomerSearchIndex customerSearchIndex = mock(CustomerSearchIndex.class);
+    private final CustomerUniquenessFilter customerUniquenessFilter = mock(CustomerUniquenessFilter.class);
+    private CustomerImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new CustomerImportServiceImpl(customerRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules(),
+                customerSearchIndex, customerUniquenessFilter, 2);
+        when(customerRepository.findExistingCins(anyCollection())).thenReturn(List.of());
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+    }
+
+    @Test
+    void testValidRowsAreInsertedInBatches() throws IOException {
+        CustomerImportReportDTO report = importService.importCsv(stream(HEADER
+                + "AB123456,John,Smith,1990-05-15,world,world,M,john@spring.io\n"
+                + "CD654321,Marie,Dupont,1985-01-31,world,world,F,marie@spring.io\n"
+                + "EF111111,Pierre,Durand,1980-03-01,world,world,M,pierre@spring.io\n"));
+
+        assertEquals(3, report.total());
+        assertEquals(3, report.imported());
+        assertEquals(0, report.rejected());
+        assertEquals(List.of(1L, 2L, 3L), report.results().stream().map(CustomerImportResultDTO::row).toList());
+        assertTrue(report.results().stream().allMatch(result -> result.id() != null));
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(customerRepository, times(2)).findExistingCins(anyCollection());
+        verify(customerUniquenessFilter, times(3)).add(any());
+        verify(customerSearchIndex, times(2)).indexAll(anyCollection());
+    }
+
+    @Test
+    void testInvalidRowsAreRejectedWithTheirReason() throws IOException {
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of("Taken@Spring.io"));
+
+        CustomerImportReportDTO report = importService.importCsv(stream(HEADER
+                + "AB123456,John,Smith,1990-05-15,world,world,M,john@spring.io\n"
+                + "ab123456,Marie,Dupont,1985-01-31,world,world,F,marie@spring.io\n"
+                + "CD654321,Young,Customer,2020-01-01,world,world,M,young@spring.io\n"
+                + "EF111111,Pierre,Durand,1980-03-01,world,world,M,taken@spring.io\n"
+                + "GH222222,,Durand,1980-03-01,world,world,M,paul@spring.io\n"));
+
+        assertEquals(5, report.total());
+        assertEquals(1, report.imported());
+        assertEquals(List.of(ImportStatus.IMPORTED, ImportStatus.REJECTED, ImportStatus.REJECTED, ImportStatus.REJECTED, ImportStatus.REJECTED),
+                report.results().stream().map(CustomerImportResultDTO::status).toList());
+        assertEquals("There is already a customer with this cin", report.results().get(1).message());
+        assertEquals("Customer is not an adult", report.results().get(2).message());
+        assertEquals("There is already a customer with this email", report.results().get(3).message());
+        assertEquals("firstname is mandatory: it can not be blank", report.results().get(4).message());
+    }
+
+    @Test
+    void testConflictingBatchIsInsertedOneRowAtATime() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DuplicateKeyException("Duplicate entry"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1).thenThrow(new DuplicateKeyException("Duplicate entry"));
+
+        CustomerImportReportDTO report = importService.importJson(stream("""
+                [{"cin":"AB123456","firstname":"John","name":"Smith","dateOfBirth":"1990-05-15",
+                  "placeOfBirth":"world","nationality":"world","sex":"M","email":"john@spring.io"},
+                 {"cin":"CD654321","firstname":"Marie","name":"Dupont","dateOfBirth":"1985-01-31",
+                  "placeOfBirth":"world","nationality":"world","sex":"F","email":"marie@spring.io"}]
+                """));
+
+        assertEquals(1, report.imported());
+        assertEquals(ImportStatus.IMPORTED, report.results().get(0).status());
+        assertEquals("There is already a customer with this cin or this email", report.results().get(1).message());
+        verify(customerUniquenessFilter, times(1)).add(any());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,7 @@
 package com.mounanga.customerservice.service.implementation;
 
+import com.mounanga.customerservice.cache.CustomerCache;
+import com.mounanga.customerservice.dto.CustomerCursorPageDTO;
 import com.mounanga.customerservice.dto.CustomerRequestDTO;
 import com.mounanga.customerservice.dto.CustomerResponseDTO;
 import com.mounanga.customerservice.dto.PageModel;
@@ -9,17 +11,25 @@ import com.mounanga.customerservice.exception.CinAlreadyExistException;
 import com.mounanga.customerservice.exception.CustomerNotAdultException;
 import com.mounanga.customerservice.exception.CustomerNotFoundException;
 import com.mounanga.customerservice.exception.EmailAlreadyExistException;
+import com.mounanga.customerservice.exception.InvalidCursorException;
+import com.mounanga.customerservice.exception.TooManyCustomersRequestedException;
 import com.mounanga.customerservice.repository.CustomerRepository;
+import com.mounanga.customerservice.service.CustomerSearchIndex;
+import com.mounanga.customerservice.util.CustomerCursor;
 import com.mounanga.customerservice.util.Mappers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -37,12 +47,18 @@ class CustomerServiceImplTest {
     @Mock
     private Mappers mappers;
 
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
     @BeforeEach
     void setUp() {
-        customerService = new CustomerServiceImpl(customerRepository, mappers);
+        customerService = new CustomerServiceImpl(customerRepository, mappers, customerSearchIndex,
+                new BloomCustomerUniquenessFilter(customerRepository, new SimpleMeterRegistry(), true, 1000, 0.01, 100),
+                new CachedCustomerCount(customerRepository, Duration.ofSeconds(30)),
+                new CustomerCache(new SimpleMeterRegistry(), true, 1000, Duration.ofMinutes(5)));
     }
 
     @Test
@@ -116,6 +132,26 @@ class CustomerServiceImplTest {
         assertThrows(CinAlreadyExistException.class, () -> customerService.createCustomer(dto));
     }
 
+    @Test
+    void testCreateCustomerMapsUniqueConstraintViolations() {
+        CustomerRequestDTO dto = new CustomerRequestDTO("123cin321","firstname", "name",
+                LocalDate.of(1990,5,15), "world", "world", Sex.M, "email@spring.io"
+        );
+        Customer customer = Customer.builder().cin(dto.cin()).name(dto.name()).firstname(dto.firstname()).nationality(dto.nationality())
+                .dateOfBirth(dto.dateOfBirth()).placeOfBirth(dto.placeOfBirth()).sex(dto.sex()).email(dto.email())
+                .creation(LocalDateTime.now()).lastUpdated(null).id(UUID.randomUUID().toString())
+                .build();
+        when(customerRepository.cinExists(anyString())).thenReturn(false);
+        when(customerRepository.emailExists(anyString())).thenReturn(false, true);
+        when(mappers.fromCustomerRequestDTO(dto)).thenReturn(customer);
+        when(customerRepository.save(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        assertThrows(EmailAlreadyExistException.class, () -> customerService.createCustomer(dto));
+
+        when(customerRepository.emailExists(anyString())).thenReturn(false);
+        assertThrows(DataIntegrityViolationException.class, () -> customerService.createCustomer(dto));
+        verify(customerSearchIndex, never()).index(any());
+    }
+
     @Test
     void testCreateCustomerThrowEmailAlreadyExistException() {
         CustomerRequestDTO dto = new CustomerRequestDTO("123cin321","firstname", "name",
@@ -298,6 +334,28 @@ class CustomerServiceImplTest {
         assertEquals(id, dto.id());
     }
 
+    @Test
+    void testGetCustomerByIdIsCachedUntilTheCustomerChanges() {
+        String id = UUID.randomUUID().toString();
+        Customer customer = Customer.builder().name("name").firstname("firstname").nationality("nationality")
+                .dateOfBirth(LocalDate.of(1995,5,15)).placeOfBirth("place").sex(Sex.F)
+                .email("mail@spring.io").creation(LocalDateTime.now()).lastUpdated(null).id(id).cin("cin")
+                .build();
+        when(customerRepository.findById(id)).thenReturn(Optional.of(customer));
+        when(mappers.fromCustomer(customer)).thenReturn(new CustomerResponseDTO(customer.getId(), customer.getCin(),
+                customer.getFirstname(), customer.getName(), customer.getDateOfBirth(), customer.getPlaceOfBirth(),
+                customer.getNationality(), customer.getSex(), customer.getEmail(), customer.getCreation(), customer.getLastUpdated())
+        );
+
+        customerService.getCustomerById(id);
+        customerService.getCustomerById(id);
+        verify(customerRepository, times(1)).findById(id);
+
+        customerService.deleteCustomerById(id);
+        customerService.getCustomerById(id);
+        verify(customerRepository, times(2)).findById(id);
+    }
+
     @Test
     void testGetCustomerByIdThrowCustomerNotFoundException() {
         String id = UUID.randomUUID().toString();
@@ -305,6 +363,36 @@ class CustomerServiceImplTest {
         assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerById(id));
     }
 
+    @Test
+    void testGetCustomersByIds() {
+        String id = UUID.randomUUID().toString();
+        Customer customer = Customer.builder().name("name").firstname("firstname").nationality("nationality")
+                .dateOfBirth(LocalDate.of(1995,5,15)).placeOfBirth("place").sex(Sex.F)
+                .email("mail@spring.io").creation(LocalDateTime.now()).lastUpdated(null).id(id).cin("cin")
+                .build();
+        CustomerResponseDTO responseDTO = new CustomerResponseDTO(customer.getId(), customer.getCin(),
+                customer.getFirstname(), customer.getName(), customer.getDateOfBirth(), customer.getPlaceOfBirth(),
+                customer.getNationality(), customer.getSex(), customer.getEmail(), customer.getCreation(), customer.getLastUpdated());
+        when(customerRepository.findAllById(Set.of(id, "unknown"))).thenReturn(List.of(customer));
+        when(mappers.fromListOfCustomers(List.of(customer))).thenReturn(List.of(responseDTO));
+
+        List<CustomerResponseDTO> result = customerService.getCustomersByIds(List.of(id, "unknown", id));
+
+        assertEquals(1, result.size());
+        assertEquals(id, result.get(0).id());
+        verify(customerRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void testGetCustomersByIdsThrowTooManyCustomersRequestedException() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= CustomerServiceImpl.MAX_BATCH_SIZE; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        assertThrows(TooManyCustomersRequestedException.class, () -> customerService.getCustomersByIds(ids));
+        verify(customerRepository, never()).findAllById(any());
+    }
+
     @Test
     void testGetAllCustomers() {
         // Mock data
@@ -374,6 +462,79 @@ class CustomerServiceImplTest {
         assertFalse(responseDTO.getContent().isEmpty());
     }
 
+    @Test
+    void testSearchCustomersUsesTheSearchIndexWhenReady() {
+        String keyword = "jon";
+        Customer c1 = Customer.builder().id(UUID.randomUUID().toString()).placeOfBirth("world").sex(Sex.M)
+                .firstname("John").name("name").cin("123cin321").email("user@gmail.com").nationality("world")
+                .creation(LocalDateTime.now()).build();
+        Customer c2 = Customer.builder().id(UUID.randomUUID().toString()).placeOfBirth("world").sex(Sex.M)
+                .firstname("Jonas").name("name").cin("777cin321").email("admin@gmail.com").nationality("world")
+                .creation(LocalDateTime.now()).build();
+        Page<String> idPage = new PageImpl<>(List.of(c2.getId(), "deleted", c1.getId()), PageRequest.of(0, 3), 12);
+        when(customerSearchIndex.isReady()).thenReturn(true);
+        when(customerSearchIndex.search(keyword, 0, 3)).thenReturn(idPage);
+        when(customerRepository.findAllById(idPage.getContent())).thenReturn(List.of(c1, c2));
+        when(mappers.fromListOfCustomers(List.of(c2, c1))).thenReturn(List.of(
+                new CustomerResponseDTO(c2.getId(), c2.getCin(), c2.getFirstname(), c2.getName(), c2.getDateOfBirth(),
+                        c2.getPlaceOfBirth(), c2.getNationality(), c2.getSex(), c2.getEmail(), c2.getCreation(), null),
+                new CustomerResponseDTO(c1.getId(), c1.getCin(), c1.getFirstname(), c1.getName(), c1.getDateOfBirth(),
+                        c1.getPlaceOfBirth(), c1.getNationality(), c1.getSex(), c1.getEmail(), c1.getCreation(), null)
+        ));
+
+        PageModel<CustomerResponseDTO> responseDTO = customerService.searchCustomers(keyword, 0, 3);
+
+        assertEquals(12, responseDTO.getTotalElements());
+        assertEquals(4, responseDTO.getTotalPages());
+        assertEquals(c2.getId(), responseDTO.getContent().get(0).id());
+        assertEquals(c1.getId(), responseDTO.getContent().get(1).id());
+        verify(customerRepository, never()).search(anyString(), any());
+    }
+
+    @Test
+    void testListCustomersReturnsACursorToTheNextPage() {
+        LocalDateTime creation = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Customer> customers = List.of(
+                Customer.builder().id("a").creation(creation).build(),
+                Customer.builder().id("b").creation(creation).build(),
+                Customer.builder().id("c").creation(creation.plusSeconds(1)).build());
+        when(customerRepository.findByOrderByCreationAscIdAsc(Limit.of(3))).thenReturn(customers);
+        when(mappers.fromListOfCustomers(anyList())).thenAnswer(invocation -> invocation.<List<Customer>>getArgument(0).stream()
+                .map(customer -> new CustomerResponseDTO(customer.getId(), null, null, null, null, null, null, null, null, customer.getCreation(), null))
+                .toList());
+
+        CustomerCursorPageDTO first = customerService.listCustomers(null, 2, false);
+
+        assertEquals(List.of("a", "b"), first.customers().stream().map(CustomerResponseDTO::id).toList());
+        assertEquals(new CustomerCursor(creation, "b"), CustomerCursor.decode(first.nextCursor()));
+        assertNull(first.totalElements());
+        verify(customerRepository, never()).count();
+
+        when(customerRepository.findAfter(creation, "b", Limit.of(3))).thenReturn(List.of(customers.get(2)));
+        when(customerRepository.count()).thenReturn(3L);
+
+        CustomerCursorPageDTO second = customerService.listCustomers(first.nextCursor(), 2, true);
+
+        assertEquals(List.of("c"), second.customers().stream().map(CustomerResponseDTO::id).toList());
+        assertNull(second.nextCursor());
+        assertEquals(3L, second.totalElements());
+    }
+
+    @Test
+    void testListCustomersCapsThePageSize() {
+        when(customerRepository.findByOrderByCreationAscIdAsc(any(Limit.class))).thenReturn(List.of());
+
+        CustomerCursorPageDTO page = customerService.listCustomers(null, 1_000_000, false);
+
+        assertEquals(CustomerServiceImpl.MAX_PAGE_SIZE, page.size());
+        verify(customerRepository).findByOrderByCreationAscIdAsc(Limit.of(CustomerServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testListCustomersThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> customerService.listCustomers("not a cursor", 10, false));
+    }
+
     @Test
     void testDeleteCustomerById() {
         // Mock data
@@ -384,5 +545,6 @@ class CustomerServiceImplTest {
 
         // Verify that the method was called with the correct parameter
         verify(customerRepository).deleteById(customerId);
+        verify(customerSearchIndex).delete(customerId);
     }
 }
\ No newline at end of file
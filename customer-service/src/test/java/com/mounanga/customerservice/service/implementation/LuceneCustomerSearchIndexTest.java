@@ -0,0 +1,158 @@
+package com.mounanga.customerservice.service.implementation;
+
+import com.mounanga.customerservice.entity.Customer;
+import com.mounanga.customerservice.enums.Sex;
+import com.mounanga.customerservice.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LuceneCustomerSearchIndexTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private LuceneCustomerSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new LuceneCustomerSearchIndex(customerRepository, true, 2);
+        List<Customer> customers = List.of(
+                customer("1", "AB123456", "John", "Smith"),
+                customer("2", "CD654321", "Jonathan", "Smithson"),
+                customer("3", "EF111111", "Marie-Claire", "Dupont"),
+                customer("4", "GH222222", "Johnny", "Schmidt"),
+                customer("5", "IJ333333", "Pierre", "Durand"));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(anyString(), any(Limit.class))).thenAnswer(invocation -> {
+            String after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return customers.stream().filter(customer -> customer.getId().compareTo(after) > 0).limit(limit).toList();
+        });
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndex.destroy();
+    }
+
+    @Test
+    void testRebuildReadsTheCustomersInBatches() {
+        assertTrue(searchIndex.isReady());
+        verify(customerRepository).findByIdGreaterThanOrderByIdAsc("", Limit.of(2));
+        verify(customerRepository).findByIdGreaterThanOrderByIdAsc("2", Limit.of(2));
+        verify(customerRepository).findByIdGreaterThanOrderByIdAsc("4", Limit.of(2));
+    }
+
+    @Test
+    void testSearchRanksExactMatchesBeforePrefixes() {
+        Page<String> result = searchIndex.search("john", 0, 10);
+        assertEquals("1", result.getContent().get(0));
+        assertTrue(result.getContent().contains("4"));
+    }
+
+    @Test
+    void testSearchMatchesPrefixes() {
+        assertEquals(List.of("2"), searchIndex.search("Jonat", 0, 10).getContent());
+        assertEquals(List.of("3"), searchIndex.search("dup", 0, 10).getContent());
+    }
+
+    @Test
+    void testSearchMatchesMisspelledWords() {
+        assertEquals(List.of("5"), searchIndex.search("Durant", 0, 10).getContent());
+        assertTrue(searchIndex.search("Smihtson", 0, 10).getContent().contains("2"));
+    }
+
+    @Test
+    void testSearchRequiresEveryWord() {
+        assertEquals(List.of("3"), searchIndex.search("marie dupont", 0, 10).getContent());
+        assertTrue(searchIndex.search("marie durand", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testSearchMatchesTheCin() {
+        assertEquals(List.of("1"), searchIndex.search("ab123456", 0, 10).getContent());
+        assertEquals(List.of("2"), searchIndex.search("CD6543", 0, 10).getContent());
+    }
+
+    @Test
+    void testSearchPaginates() {
+        Page<String> first = searchIndex.search("smith", 0, 1);
+        Page<String> second = searchIndex.search("smith", 1, 1);
+        assertTrue(first.getTotalElements() >= 2);
+        assertEquals(first.getTotalElements(), second.getTotalElements());
+        assertNotEquals(first.getContent(), second.getContent());
+        assertTrue(searchIndex.search(" ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testIndexAndDeleteAreVisibleToSearches() {
+        searchIndex.index(customer("6", "KL444444", "Zoe", "Martin"));
+        assertEquals(List.of("6"), searchIndex.search("zoe", 0, 10).getContent());
+
+        searchIndex.index(customer("6", "KL444444", "Zoe", "Bernard"));
+        assertTrue(searchIndex.search("martin", 0, 10).isEmpty());
+        assertEquals(List.of("6"), searchIndex.search("bernard", 0, 10).getContent());
+
+        searchIndex.delete("6");
+        assertTrue(searchIndex.search("zoe", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testIndexAllIsVisibleToSearches() {
+        searchIndex.indexAll(List.of(customer("6", "KL444444", "Zoe", "Martin"), customer("7", "MN555555", "Zoe", "Bernard")));
+        assertEquals(2, searchIndex.search("zoe", 0, 10).getTotalElements());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreIndexedAgain() {
+        List<Customer> batch = new ArrayList<>(List.of(customer("1", "AB123456", "John", "Smith")));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(anyString(), any(Limit.class))).thenAnswer(invocation -> {
+            if (!batch.isEmpty()) {
+                searchIndex.index(customer("1", "AB123456", "John", "Walker"));
+                searchIndex.delete("7");
+            }
+            List<Customer> result = List.copyOf(batch);
+            batch.clear();
+            return result;
+        });
+        when(customerRepository.findById("1")).thenReturn(Optional.of(customer("1", "AB123456", "John", "Walker")));
+        when(customerRepository.findById("7")).thenReturn(Optional.empty());
+
+        searchIndex.rebuild();
+
+        assertEquals(List.of("1"), searchIndex.search("walker", 0, 10).getContent());
+        assertTrue(searchIndex.search("smith", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testIndexingErrorRebuildsTheIndexInBackground() throws InterruptedException {
+        searchIndex.index(customer("6", null, "Zoe", "Martin"));
+
+        verify(customerRepository, timeout(5000).times(6)).findByIdGreaterThanOrderByIdAsc(anyString(), any(Limit.class));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!searchIndex.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(searchIndex.isReady());
+        assertEquals(List.of("5"), searchIndex.search("durand", 0, 10).getContent());
+    }
+
+    private static Customer customer(String id, String cin, String firstname, String name) {
+        return Customer.builder().id(id).cin(cin).firstname(firstname).name(name)
+                .dateOfBirth(LocalDate.of(1990, 1, 1)).placeOfBirth("world").nationality("world").sex(Sex.M)
+                .email(id + "@spring.io").creation(LocalDateTime.now()).build();
+    }
+}
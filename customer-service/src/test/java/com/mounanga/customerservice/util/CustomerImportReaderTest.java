@@ -0,0 +1,105 @@
+package com.mounanga.customerservice.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mounanga.customerservice.enums.Sex;
+import com.mounanga.customerservice.exception.InvalidImportFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void testJsonRowsAreReadOneAtATime() throws IOException {
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportReader.json(stream("""
+                [{"cin":"AB123456","firstname":"John","name":"Smith","dateOfBirth":"1990-05-15",
+                  "placeOfBirth":"world","nationality":"world","sex":"M","email":"john@spring.io"},
+                 {"cin":"CD654321","dateOfBirth":"not a date"},
+                 {"cin":"EF111111","sex":"F"}]
+                """), objectMapper));
+
+        assertEquals(3, rows.size());
+        assertEquals("AB123456", rows.get(0).customer().cin());
+        assertEquals(LocalDate.of(1990, 5, 15), rows.get(0).customer().dateOfBirth());
+        assertNull(rows.get(1).customer());
+        assertNotNull(rows.get(1).error());
+        assertEquals(3, rows.get(2).number());
+        assertEquals(Sex.F, rows.get(2).customer().sex());
+    }
+
+    @Test
+    void testJsonFileMustBeAnArray() {
+        assertThrows(InvalidImportFileException.class, () -> CustomerImportReader.json(stream("{\"cin\":\"AB123456\"}"), objectMapper));
+    }
+
+    @Test
+    void testMalformedJsonEndsWithAnErrorRow() throws IOException {
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportReader.json(stream("""
+                [{"cin":"AB123456"}, {"cin": ]
+                """), objectMapper));
+
+        assertEquals(2, rows.size());
+        assertNotNull(rows.get(0).customer());
+        assertTrue(rows.get(1).error().startsWith("the file cannot be read beyond this row"));
+    }
+
+    @Test
+    void testCsvColumnsAreMatchedByName() throws IOException {
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportReader.csv(stream("""
+                email,sex,nationality,placeOfBirth,dateOfBirth,name,firstname,cin
+                john@spring.io,M,world,"Paris, France",1990-05-15,"O""Neil",John,AB123456
+
+                marie@spring.io,f,world,"Saint
+                Denis",1985-01-31,Dupont,Marie,CD654321
+                """)));
+
+        assertEquals(2, rows.size());
+        assertEquals("O\"Neil", rows.get(0).customer().name());
+        assertEquals("Paris, France", rows.get(0).customer().placeOfBirth());
+        assertEquals("Saint\nDenis", rows.get(1).customer().placeOfBirth());
+        assertEquals(Sex.F, rows.get(1).customer().sex());
+        assertEquals(2, rows.get(1).number());
+    }
+
+    @Test
+    void testInvalidCsvFieldsAreReportedPerRow() throws IOException {
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportReader.csv(stream("""
+                cin,firstname,name,dateOfBirth,placeOfBirth,nationality,sex,email
+                AB123456,John,Smith,15/05/1990,world,world,M,john@spring.io
+                CD654321,Marie,Dupont,1985-01-31,world,world,X,marie@spring.io
+                EF111111,,Durand,1985-01-31,world,world,M,pierre@spring.io
+                """)));
+
+        assertEquals("dateOfBirth must be a date formatted as yyyy-MM-dd", rows.get(0).error());
+        assertEquals("sex must be M or F", rows.get(1).error());
+        assertNull(rows.get(2).customer().firstname());
+    }
+
+    @Test
+    void testCsvHeaderMustNameEveryColumn() {
+        assertThrows(InvalidImportFileException.class, () -> CustomerImportReader.csv(stream("cin,firstname,name\n")));
+        assertThrows(InvalidImportFileException.class, () -> CustomerImportReader.csv(stream("")));
+    }
+
+    private static List<CustomerImportReader.Row> readAll(CustomerImportReader reader) throws IOException {
+        List<CustomerImportReader.Row> rows = new ArrayList<>();
+        try (reader) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,31 @@
+package com.mounanga.gatewayservice.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Duration;
+
+/**
+ * A response of a service, kept to answer identical requests.
+ *
+ * @param status     The status of the response.
+ * @param headers    The headers of the response, without hop-by-hop, cookie and CORS headers.
+ * @param body       The body of the response.
+ * @param storedAt   When the response was received, in milliseconds since the epoch.
+ * @param timeToLive How long the response may be served from the cache, zero if it may only be shared in flight.
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAt, Duration timeToLive) {
+
+    /**
+     * Returns the number of seconds since the response was received, for the {@code Age} header.
+     *
+     * @param now The current time, in milliseconds since the epoch.
+     * @return The age of the response in seconds.
+     */
+    public long ageInSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+}
@@ -0,0 +1,421 @@
+package com.mounanga.gatewayservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Caches the GET responses of the configured routes, and coalesces concurrent identical GET requests into a
+ * single call to the service.
+ *
+ * <p>
+ * Requests are identical when they lead to the same service with the same path, query, {@code Accept},
+ * {@code Accept-Encoding}, {@code Authorization} and {@code Cookie}. Only {@code 200} responses of at most
+ * {@code maximum-body-size}, without {@code Set-Cookie} and not streamed, are shared.
+ * </p>
+ * <p>
+ * {@code Cache-Control} is honored both ways. A request with {@code no-store} bypasses the filter, and a request
+ * with {@code no-cache} is not answered from the cache. A response with {@code no-store}, {@code no-cache} or
+ * {@code private} is not shared. A response with {@code s-maxage} or {@code max-age} is cached no longer than that.
+ * Cached responses keep the {@code ETag} of the service, or get a weak one computed from their body. A request
+ * whose {@code If-None-Match} matches it is answered with {@code 304}.
+ * </p>
+ * <p>
+ * A successful POST, PUT, PATCH or DELETE to a route empties its cache, so a client never reads back a response
+ * cached before its own change. Changes made without going through this gateway, and the asynchronous projections
+ * of the account service, are only seen once the cached responses expire.
+ * </p>
+ * <p>
+ * Responses carry an {@code X-Gateway-Cache} header: {@code HIT}, {@code COALESCED} or {@code MISS}, also recorded
+ * in the span of the request as {@code gateway.cache}. A coalesced request has no span of its own to the service:
+ * the call is in the trace of the request it waited for.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Gateway-Cache";
+    static final String TRACE_TAG = "gateway.cache";
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    /** Headers that belong to a single exchange and are never replayed from the cache */
+    private static final Set<String> UNSHARED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length", "date",
+            "set-cookie", "age", CACHE_HEADER.toLowerCase(Locale.ROOT));
+
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_NDJSON);
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ResponseCacheProperties.Route> routes;
+    private final Map<String, Cache<String, CachedResponse>> caches = new ConcurrentHashMap<>();
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code ResponseCacheFilter}.
+     *
+     * @param properties    the configuration of the cache and of the cached routes.
+     * @param meterRegistry the registry to which cache and coalescing metrics are bound.
+     */
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.routes = properties.routes() == null ? Map.of() : properties.routes().entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().toLowerCase(Locale.ROOT), Map.Entry::getValue));
+        log.info("Gateway response cache: enabled={}, maximum-body-size={}, routes={}",
+                properties.enabled(), properties.maximumBodySize(), routes);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String serviceId = serviceId(exchange);
+        ResponseCacheProperties.Route route = serviceId == null ? null : routes.get(serviceId);
+        if (!properties.enabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return chain.filter(exchange).doOnSuccess(done -> invalidateAfterChange(exchange, serviceId));
+        }
+        Set<String> requestDirectives = cacheControl(request.getHeaders());
+        if (requestDirectives.contains("no-store") || isStreaming(request.getHeaders().getAccept())) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(serviceId, request);
+        Cache<String, CachedResponse> cache = cache(serviceId, route);
+        if (cache != null && !requestDirectives.contains("no-cache")) {
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return write(exchange, cached, "HIT");
+            }
+        }
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono()
+                    .timeout(properties.coalesceTimeout(), Mono.empty())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isEmpty()) {
+                            return chain.filter(exchange);
+                        }
+                        Counter.builder("gateway.response.coalesced").tag("route", serviceId).register(meterRegistry).increment();
+                        return write(exchange, shared.get(), "COALESCED");
+                    });
+        }
+        tagTrace(exchange, "MISS");
+        RecordingResponse response = new RecordingResponse(exchange.getResponse(), key, sink, route, cache);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> release(key, sink, null));
+    }
+
+    /**
+     * Empties the cache of a route after a successful change through it.
+     */
+    private void invalidateAfterChange(ServerWebExchange exchange, String serviceId) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        Cache<String, CachedResponse> cache = caches.get(serviceId);
+        if (cache != null && (status == null || status.is2xxSuccessful())) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the cache of a route, created on first use, or null if the route is only coalesced.
+     */
+    private Cache<String, CachedResponse> cache(String serviceId, ResponseCacheProperties.Route route) {
+        if (route.timeToLive().isZero() || route.timeToLive().isNegative()) {
+            return null;
+        }
+        return caches.computeIfAbsent(serviceId, id -> {
+            Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                    .maximumSize(route.maximumSize())
+                    .expireAfter(new TimeToLiveExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-response", "route", id);
+            return cache;
+        });
+    }
+
+    /**
+     * Answers a request with a shared response, or with {@code 304} if the client already has it.
+     */
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String outcome) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.set(CACHE_HEADER, outcome);
+        tagTrace(exchange, outcome);
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageInSeconds(System.currentTimeMillis())));
+        if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.headers().getETag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Records the outcome in the span of the request, as {@code gateway.cache}, so its trace tells whether the
+     * service was called for it.
+     */
+    private static void tagTrace(ServerWebExchange exchange, String outcome) {
+        ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .ifPresent(context -> context.addHighCardinalityKeyValue(KeyValue.of(TRACE_TAG, outcome)));
+    }
+
+    /**
+     * Hands the response of a request to the identical requests waiting for it, or lets them call the service
+     * themselves when it is null, then stops coalescing on that request.
+     */
+    private void release(String key, Sinks.One<CachedResponse> sink, CachedResponse response) {
+        if (response != null) {
+            sink.tryEmitValue(response);
+        } else {
+            sink.tryEmitEmpty();
+        }
+        inFlight.remove(key, sink);
+    }
+
+    /**
+     * Returns how long a response may be cached, or null if it must not be shared at all.
+     */
+    private Duration shareableFor(HttpStatusCode status, HttpHeaders headers, ResponseCacheProperties.Route route) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*") || isStreaming(headers.getContentType() == null ? List.of() : List.of(headers.getContentType()))
+                || headers.getContentLength() > properties.maximumBodySize().toBytes()) {
+            return null;
+        }
+        Set<String> directives = cacheControl(headers);
+        if (directives.contains("no-store") || directives.contains("no-cache") || directives.contains("private")) {
+            return null;
+        }
+        Duration timeToLive = route.timeToLive().isNegative() ? Duration.ZERO : route.timeToLive();
+        Long maxAge = maxAge(directives, "s-maxage=");
+        if (maxAge == null) {
+            maxAge = maxAge(directives, "max-age=");
+        }
+        if (maxAge != null && Duration.ofSeconds(maxAge).compareTo(timeToLive) < 0) {
+            timeToLive = Duration.ofSeconds(maxAge);
+        }
+        return timeToLive;
+    }
+
+    private static String serviceId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null || route.getUri().getHost() == null) {
+            return null;
+        }
+        return route.getUri().getHost().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String serviceId, ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return String.join("\n", serviceId, request.getURI().getRawPath() + "?" + request.getURI().getRawQuery(),
+                String.valueOf(headers.get(HttpHeaders.ACCEPT)), String.valueOf(headers.get(HttpHeaders.ACCEPT_ENCODING)),
+                String.valueOf(headers.get(HttpHeaders.AUTHORIZATION)), String.valueOf(headers.get(HttpHeaders.COOKIE)));
+    }
+
+    private static boolean isStreaming(List<MediaType> mediaTypes) {
+        return mediaTypes.stream().anyMatch(mediaType -> STREAMING_MEDIA_TYPES.stream().anyMatch(mediaType::equalsTypeAndSubtype));
+    }
+
+    /**
+     * Returns the lower-cased directives of the {@code Cache-Control} header, and {@code no-cache} for
+     * {@code Pragma: no-cache}.
+     */
+    private static Set<String> cacheControl(HttpHeaders headers) {
+        Set<String> directives = headers.getOrEmpty(HttpHeaders.CACHE_CONTROL).stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .map(directive -> directive.strip().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        if (headers.getOrEmpty(HttpHeaders.PRAGMA).stream().anyMatch(value -> value.equalsIgnoreCase("no-cache"))) {
+            directives.add("no-cache");
+        }
+        return directives;
+    }
+
+    private static Long maxAge(Set<String> directives, String prefix) {
+        for (String directive : directives) {
+            if (directive.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(directive.substring(prefix.length()).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return 0L;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether one of the entity tags of {@code If-None-Match} matches the given one, by weak comparison.
+     */
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        return ifNoneMatch.stream().anyMatch(candidate -> candidate.equals("*")
+                || (candidate.startsWith("W/") ? candidate.substring(2) : candidate).equals(opaque));
+    }
+
+    /**
+     * Expires each response after its own time to live, set when it is stored.
+     */
+    private static final class TimeToLiveExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Copies the response of the service while it is written to the client, to share it once complete.
+     */
+    private final class RecordingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Sinks.One<CachedResponse> sink;
+        private final ResponseCacheProperties.Route route;
+        private final Cache<String, CachedResponse> cache;
+
+        private RecordingResponse(ServerHttpResponse delegate, String key, Sinks.One<CachedResponse> sink,
+                                  ResponseCacheProperties.Route route, Cache<String, CachedResponse> cache) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+            this.route = route;
+            this.cache = cache;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            getHeaders().set(CACHE_HEADER, "MISS");
+            Duration timeToLive = shareableFor(getStatusCode(), getHeaders(), route);
+            if (timeToLive == null) {
+                release(key, sink, null);
+                return super.writeWith(body);
+            }
+            long maximumBodySize = properties.maximumBodySize().toBytes();
+            ByteArrayOutputStream[] copy = {new ByteArrayOutputStream()};
+            Flux<DataBuffer> recorded = Flux.<DataBuffer>from(body).doOnNext(buffer -> {
+                if (copy[0] == null) {
+                    return;
+                }
+                int length = buffer.readableByteCount();
+                if (copy[0].size() + length > maximumBodySize) {
+                    copy[0] = null;
+                    release(key, sink, null);
+                    return;
+                }
+                byte[] bytes = new byte[length];
+                int position = buffer.readPosition();
+                buffer.read(bytes);
+                buffer.readPosition(position);
+                copy[0].writeBytes(bytes);
+            });
+            return super.writeWith(recorded).doOnSuccess(done -> {
+                if (copy[0] != null) {
+                    share(copy[0].toByteArray(), timeToLive);
+                }
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            release(key, sink, null);
+            return super.writeAndFlushWith(body);
+        }
+
+        private void share(byte[] body, Duration timeToLive) {
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                String lowerCaseName = name.toLowerCase(Locale.ROOT);
+                if (!UNSHARED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            if (headers.getETag() == null) {
+                headers.setETag("W/\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+            }
+            CachedResponse response = new CachedResponse(getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body,
+                    System.currentTimeMillis(), timeToLive);
+            if (cache != null && !timeToLive.isZero()) {
+                cache.put(key, response);
+            }
+            release(key, sink, response);
+        }
+    }
+}
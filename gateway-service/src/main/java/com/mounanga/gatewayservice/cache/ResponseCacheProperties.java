@@ -0,0 +1,41 @@
+package com.mounanga.gatewayservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the response cache of the gateway.
+ *
+ * <p>
+ * Only the routes listed in {@code routes}, by the ID of the service they lead to, are cached and coalesced.
+ * A route with a time to live of zero only coalesces its concurrent identical requests.
+ * </p>
+ *
+ * @param enabled         Whether responses are cached and requests coalesced.
+ * @param maximumBodySize The size above which a response is neither cached nor shared.
+ * @param coalesceTimeout How long a request waits for an identical one in flight before calling the service itself.
+ * @param routes          The configuration of each cached route, by service ID.
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@ConfigurationProperties("gateway.response-cache")
+public record ResponseCacheProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("1MB") DataSize maximumBodySize,
+                                      @DefaultValue("10s") Duration coalesceTimeout,
+                                      Map<String, Route> routes) {
+
+    /**
+     * Configuration of a cached route.
+     *
+     * @param timeToLive  The longest time a response is served from the cache, shortened by its own max-age.
+     * @param maximumSize The maximum number of responses of the route kept in memory.
+     */
+    public record Route(@DefaultValue("0s") Duration timeToLive,
+                        @DefaultValue("10000") long maximumSize) {
+    }
+}
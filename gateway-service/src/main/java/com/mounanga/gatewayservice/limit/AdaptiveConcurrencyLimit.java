@@ -0,0 +1,104 @@
+package com.mounanga.gatewayservice.limit;
+
+/**
+ * A limit on the number of requests in flight that adapts to how the service answers them.
+ *
+ * <p>
+ * The limit grows by one each time a full limit of requests succeeds within twice the fastest response time seen,
+ * and shrinks by a tenth each time a request fails or is slower than that: additive increase, multiplicative
+ * decrease. The fastest response time is forgotten every {@value #SAMPLES_PER_WINDOW} responses, so that the limit
+ * follows a service that becomes slower for good.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double TOLERANCE = 2.0;
+    private static final int SAMPLES_PER_WINDOW = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private int inFlight;
+    private long fastestNanos = Long.MAX_VALUE;
+    private int samples;
+
+    /**
+     * Constructs a new {@code AdaptiveConcurrencyLimit}.
+     *
+     * @param initialLimit the limit before any response is seen, bounded by the two others.
+     * @param minLimit     the lowest the limit may go, at least one.
+     * @param maxLimit     the highest the limit may go.
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.clamp(initialLimit > 0 ? initialLimit : this.maxLimit, this.minLimit, this.maxLimit);
+    }
+
+    /**
+     * Lets a request through if there are fewer requests in flight than the limit.
+     *
+     * @return true if the request may be sent, in which case {@link #release} must be called once it ends.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Ends a request let through by {@link #tryAcquire()} and adapts the limit to its outcome.
+     *
+     * @param elapsedNanos how long the request took.
+     * @param outcome      how the request ended.
+     */
+    public synchronized void release(long elapsedNanos, Outcome outcome) {
+        inFlight--;
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+        if (++samples >= SAMPLES_PER_WINDOW) {
+            samples = 0;
+            fastestNanos = Long.MAX_VALUE;
+        }
+        fastestNanos = Math.min(fastestNanos, elapsedNanos);
+        if (outcome == Outcome.SUCCESS && elapsedNanos <= fastestNanos * TOLERANCE) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        } else {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * How a request ended.
+     */
+    public enum Outcome {
+        /** The service answered without error */
+        SUCCESS,
+        /** The service failed, was unavailable or timed out */
+        FAILURE,
+        /** The request was cancelled by the client: it tells nothing about the service */
+        IGNORED
+    }
+}
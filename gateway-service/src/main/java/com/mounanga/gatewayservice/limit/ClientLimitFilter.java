@@ -0,0 +1,189 @@
+package com.mounanga.gatewayservice.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Limits the requests each client sends to the configured routes, without any shared store.
+ *
+ * <p>
+ * A client is identified by its address, or by its {@code Authorization} header when the route is configured so.
+ * Each client of a route gets a token bucket, which bounds how many requests it sends per second, and an
+ * {@link AdaptiveConcurrencyLimit}, which bounds how many of its requests are in flight and shrinks when the service
+ * slows down or fails. A request over either limit is answered with {@code 429 Too Many Requests} and a
+ * {@code Retry-After} header, and counted in {@code gateway.requests.rejected}.
+ * </p>
+ * <p>
+ * The filter runs after the response cache, so that only requests that reach a service are limited. The limits live
+ * in the memory of each instance of the gateway: with several instances, a client may send up to as many times
+ * the configured rate.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Component
+public class ClientLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientLimitFilter.class);
+
+    private static final String REJECTED_METRIC = "gateway.requests.rejected";
+
+    private final ClientLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<String, ClientLimitProperties.Route> routes;
+    private final Map<String, Cache<String, ClientLimits>> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code ClientLimitFilter}.
+     *
+     * @param properties    the configuration of the limits and of the limited routes.
+     * @param meterRegistry the registry to which the rejected requests are counted.
+     */
+    @Autowired
+    public ClientLimitFilter(ClientLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    ClientLimitFilter(ClientLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.routes = properties.routes() == null ? Map.of() : properties.routes().entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().toLowerCase(Locale.ROOT), Map.Entry::getValue));
+        log.info("Gateway client limits: enabled={}, routes={}", properties.enabled(), routes);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String serviceId = serviceId(exchange);
+        ClientLimitProperties.Route route = serviceId == null ? null : routes.get(serviceId);
+        if (!properties.enabled() || route == null || !(route.isRateLimited() || route.isConcurrencyLimited())) {
+            return chain.filter(exchange);
+        }
+        ClientLimits client = limits(serviceId).get(clientKey(exchange.getRequest(), route), key -> newLimits(route));
+
+        if (client.bucket() != null) {
+            long waitNanos = client.bucket().tryConsume();
+            if (waitNanos > 0) {
+                return reject(exchange, serviceId, "rate", waitNanos);
+            }
+        }
+        AdaptiveConcurrencyLimit concurrency = client.concurrency();
+        if (concurrency == null) {
+            return chain.filter(exchange);
+        }
+        if (!concurrency.tryAcquire()) {
+            return reject(exchange, serviceId, "concurrency", TimeUnit.SECONDS.toNanos(1));
+        }
+        long start = nanoClock.getAsLong();
+        return chain.filter(exchange)
+                .doFinally(signal -> concurrency.release(nanoClock.getAsLong() - start, outcome(signal, exchange.getResponse())));
+    }
+
+    /**
+     * Returns the limits of the clients of a route, created on first use.
+     */
+    private Cache<String, ClientLimits> limits(String serviceId) {
+        return limits.computeIfAbsent(serviceId, id -> Caffeine.newBuilder()
+                .maximumSize(properties.maximumClients())
+                .expireAfterAccess(properties.idleTimeout())
+                .build());
+    }
+
+    private ClientLimits newLimits(ClientLimitProperties.Route route) {
+        return new ClientLimits(
+                route.isRateLimited() ? new TokenBucket(route.replenishRate(), route.burstCapacity(), nanoClock) : null,
+                route.isConcurrencyLimited()
+                        ? new AdaptiveConcurrencyLimit(route.initialConcurrency(), route.minConcurrency(), route.maxConcurrency())
+                        : null);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String serviceId, String reason, long waitNanos) {
+        Counter.builder(REJECTED_METRIC)
+                .description("Requests rejected because their client went over a limit")
+                .tag("route", serviceId)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        return response.setComplete();
+    }
+
+    private static AdaptiveConcurrencyLimit.Outcome outcome(SignalType signal, ServerHttpResponse response) {
+        if (signal == SignalType.CANCEL) {
+            return AdaptiveConcurrencyLimit.Outcome.IGNORED;
+        }
+        HttpStatusCode status = response.getStatusCode();
+        if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+            return AdaptiveConcurrencyLimit.Outcome.FAILURE;
+        }
+        return AdaptiveConcurrencyLimit.Outcome.SUCCESS;
+    }
+
+    private static String clientKey(ServerHttpRequest request, ClientLimitProperties.Route route) {
+        if (route.key() == ClientLimitProperties.ClientKey.AUTHORIZATION) {
+            String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authorization != null && !authorization.isBlank()) {
+                return authorization;
+            }
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    private static String serviceId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null || route.getUri().getHost() == null) {
+            return null;
+        }
+        return route.getUri().getHost().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The limits of one client of a route; either may be null when the route does not apply it.
+     */
+    private record ClientLimits(TokenBucket bucket, AdaptiveConcurrencyLimit concurrency) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.mounanga.gatewayservice.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the per-client limits of the gateway.
+ *
+ * <p>
+ * Only the routes listed in {@code routes}, by the ID of the service they lead to, are limited. Each client of a
+ * route gets its own token bucket and its own concurrency limit; a limit of zero is not applied.
+ * </p>
+ *
+ * @param enabled        Whether requests are limited.
+ * @param maximumClients The maximum number of clients whose limits are kept in memory, per route.
+ * @param idleTimeout    How long the limits of a client are kept once it stops sending requests.
+ * @param routes         The configuration of each limited route, by service ID.
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@ConfigurationProperties("gateway.client-limit")
+public record ClientLimitProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("100000") long maximumClients,
+                                    @DefaultValue("10m") Duration idleTimeout,
+                                    Map<String, Route> routes) {
+
+    /**
+     * What identifies a client.
+     */
+    public enum ClientKey {
+        /** The address the request comes from */
+        IP,
+        /** The {@code Authorization} header of the request, or its address if it has none */
+        AUTHORIZATION
+    }
+
+    /**
+     * Configuration of a limited route.
+     *
+     * @param key                What identifies a client of the route.
+     * @param replenishRate      How many requests per second a client may send, on average.
+     * @param burstCapacity      How many requests a client may send at once, at least {@code replenish-rate}.
+     * @param initialConcurrency How many requests of a client may be in flight before the limit adapts.
+     * @param minConcurrency     The lowest the concurrency limit of a client may go.
+     * @param maxConcurrency     The highest the concurrency limit of a client may go.
+     */
+    public record Route(@DefaultValue("IP") ClientKey key,
+                        @DefaultValue("0") long replenishRate,
+                        @DefaultValue("0") long burstCapacity,
+                        @DefaultValue("0") int initialConcurrency,
+                        @DefaultValue("1") int minConcurrency,
+                        @DefaultValue("0") int maxConcurrency) {
+
+        boolean isRateLimited() {
+            return replenishRate > 0;
+        }
+
+        boolean isConcurrencyLimited() {
+            return maxConcurrency > 0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mounanga.gatewayservice.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket: it holds up to {@code capacity} tokens, is refilled with {@code rate} tokens per second, and each
+ * request takes one token.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final LongSupplier nanoClock;
+    private long availableNanos;
+    private long lastRefill;
+
+    /**
+     * Constructs a new full {@code TokenBucket}.
+     *
+     * @param rate      the number of tokens added per second, greater than zero.
+     * @param capacity  the maximum number of tokens, raised to {@code rate} if lower.
+     * @param nanoClock the clock, in nanoseconds, used to refill the bucket.
+     */
+    public TokenBucket(long rate, long capacity, LongSupplier nanoClock) {
+        this.capacity = Math.max(rate, capacity);
+        this.nanosPerToken = Math.max(1, NANOS_PER_SECOND / rate);
+        this.nanoClock = nanoClock;
+        this.lastRefill = nanoClock.getAsLong();
+        this.availableNanos = this.capacity * nanosPerToken;
+    }
+
+    /**
+     * Takes a token if there is one.
+     *
+     * @return zero if a token was taken, otherwise the number of nanoseconds until one is available.
+     */
+    public synchronized long tryConsume() {
+        long now = nanoClock.getAsLong();
+        availableNanos = Math.min(capacity * nanosPerToken, availableNanos + (now - lastRefill));
+        lastRefill = now;
+        if (availableNanos >= nanosPerToken) {
+            availableNanos -= nanosPerToken;
+            return 0;
+        }
+        return nanosPerToken - availableNanos;
+    }
+}
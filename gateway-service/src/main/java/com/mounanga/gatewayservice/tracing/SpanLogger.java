@@ -0,0 +1,47 @@
+package com.mounanga.gatewayservice.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the spans of the gateway at DEBUG when they end, with
+ * {@code logging.level.com.mounanga.gatewayservice.tracing.SpanLogger=DEBUG}. The gateway does not propagate the
+ * trace into the Reactor context, so its other log lines carry no trace id: these lines give it.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Component
+public class SpanLogger implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(SpanLogger.class);
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        if (log.isDebugEnabled()) {
+            spans.forEach(span -> log.debug("span {} trace={} id={} parent={} kind={} {}us status={}", span.getName(),
+                    span.getTraceId(), span.getSpanId(), span.getParentSpanId(), span.getKind(),
+                    TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                    span.getStatus().getStatusCode()));
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
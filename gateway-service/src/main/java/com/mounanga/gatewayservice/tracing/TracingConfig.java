@@ -0,0 +1,34 @@
+package com.mounanga.gatewayservice.tracing;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+
+/**
+ * Configuration of what the gateway traces.
+ *
+ * <p>
+ * Each request gets a span, continuing the trace of the client when it sends a W3C {@code traceparent} header, and
+ * the call to the service a child span, whose context is sent on as {@code traceparent}. The gateway filters run
+ * within the span of the request, the Reactor context carrying it from one operator to the next. The requests to
+ * the actuator are not traced.
+ * </p>
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Does not observe the requests to the actuator, such as health checks.
+     *
+     * @return the {@link ObservationPredicate}.
+     */
+    @Bean
+    public ObservationPredicate actuatorObservationPredicate() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext)
+                || !serverContext.getCarrier().getPath().pathWithinApplication().value().startsWith("/actuator");
+    }
+}
@@ -0,0 +1,168 @@
+package com.mounanga.gatewayservice.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class ResponseCacheFilterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private ResponseCacheFilter filter;
+    private HttpHeaders serviceHeaders;
+    private Mono<Void> serviceDelay;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(new ResponseCacheProperties(true, DataSize.ofKilobytes(1), Duration.ofSeconds(5),
+                Map.of("CUSTOMER-SERVICE", new ResponseCacheProperties.Route(Duration.ofSeconds(30), 100),
+                        "ACCOUNT-SERVICE", new ResponseCacheProperties.Route(Duration.ZERO, 100))),
+                new SimpleMeterRegistry());
+        serviceHeaders = new HttpHeaders();
+        serviceHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serviceDelay = Mono.empty();
+    }
+
+    @Test
+    void testGetResponsesAreServedFromTheCache() {
+        MockServerWebExchange first = get("lb://CUSTOMER-SERVICE", "/customers/get/1");
+        filter.filter(first, this::service).block();
+        MockServerWebExchange second = get("lb://CUSTOMER-SERVICE", "/customers/get/1");
+        filter.filter(second, this::service).block();
+
+        assertEquals(1, calls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("{\"call\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+    }
+
+    @Test
+    void testMatchingEtagIsAnsweredWithNotModified() {
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/get/1"), this::service).block();
+        MockServerWebExchange cached = get("lb://CUSTOMER-SERVICE", "/customers/get/1");
+        filter.filter(cached, this::service).block();
+        String etag = cached.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get("/customers/get/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        conditional.getAttributes().put(GATEWAY_ROUTE_ATTR, route("lb://CUSTOMER-SERVICE"));
+        filter.filter(conditional, this::service).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testCacheControlIsHonored() {
+        serviceHeaders.setCacheControl("no-store");
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/get/1"), this::service).block();
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/get/1"), this::service).block();
+        assertEquals(2, calls.get());
+
+        serviceHeaders.setCacheControl("max-age=60");
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/get/2"), this::service).block();
+        MockServerWebExchange noCache = MockServerWebExchange.from(MockServerHttpRequest.get("/customers/get/2")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        noCache.getAttributes().put(GATEWAY_ROUTE_ATTR, route("lb://CUSTOMER-SERVICE"));
+        filter.filter(noCache, this::service).block();
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void testSuccessfulChangeEmptiesTheCacheOfTheRoute() {
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/get/1"), this::service).block();
+        MockServerWebExchange update = MockServerWebExchange.from(MockServerHttpRequest.put("/customers/update/1").build());
+        update.getAttributes().put(GATEWAY_ROUTE_ATTR, route("lb://CUSTOMER-SERVICE"));
+        filter.filter(update, this::service).block();
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/get/1"), this::service).block();
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsAreCoalesced() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        serviceDelay = gate.asMono();
+        MockServerWebExchange leader = get("lb://ACCOUNT-SERVICE", "/accounts/queries/get/1");
+        MockServerWebExchange follower = get("lb://ACCOUNT-SERVICE", "/accounts/queries/get/1");
+
+        Mono<Void> leaderCall = filter.filter(leader, this::service).cache();
+        leaderCall.subscribe();
+        Mono<Void> followerCall = filter.filter(follower, this::service).cache();
+        followerCall.subscribe();
+        gate.tryEmitEmpty();
+        leaderCall.block(Duration.ofSeconds(5));
+        followerCall.block(Duration.ofSeconds(5));
+
+        assertEquals(1, calls.get());
+        assertEquals("COALESCED", follower.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("{\"call\":1}", follower.getResponse().getBodyAsString().block());
+
+        // the route is not cached, so a later request calls the service again
+        filter.filter(get("lb://ACCOUNT-SERVICE", "/accounts/queries/get/1"), this::service).block();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testLargeAndStreamedResponsesAreNotShared() {
+        serviceHeaders.setContentLength(4096);
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/list"), this::service).block();
+        filter.filter(get("lb://CUSTOMER-SERVICE", "/customers/list"), this::service).block();
+        assertEquals(2, calls.get());
+
+        MockServerWebExchange events = MockServerWebExchange.from(MockServerHttpRequest.get("/customers/get/1")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+        events.getAttributes().put(GATEWAY_ROUTE_ATTR, route("lb://CUSTOMER-SERVICE"));
+        filter.filter(events, this::service).block();
+        assertNull(events.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    void testUnconfiguredRoutesAreNotCached() {
+        filter.filter(get("lb://DISCOVERY-SERVICE", "/eureka/apps"), this::service).block();
+        filter.filter(get("lb://DISCOVERY-SERVICE", "/eureka/apps"), this::service).block();
+        assertEquals(2, calls.get());
+    }
+
+    /**
+     * Stands for the service behind the route: answers with the number of the call.
+     */
+    private Mono<Void> service(ServerWebExchange exchange) {
+        int call = calls.incrementAndGet();
+        return serviceDelay.then(Mono.defer(() -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().addAll(serviceHeaders);
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        }));
+    }
+
+    private static MockServerWebExchange get(String uri, String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route(uri));
+        return exchange;
+    }
+
+    private static Route route(String uri) {
+        return Route.async().id(uri).uri(uri).predicate(exchange -> true).build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.mounanga.gatewayservice.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void testRequestsOverTheLimitAreRejected() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(FAST, AdaptiveConcurrencyLimit.Outcome.IGNORED);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void testLimitGrowsWhileTheServiceKeepsUp() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST, AdaptiveConcurrencyLimit.Outcome.SUCCESS);
+        }
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void testLimitShrinksWhenTheServiceSlowsDownOrFails() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 10);
+        limit.tryAcquire();
+        limit.release(FAST, AdaptiveConcurrencyLimit.Outcome.SUCCESS);
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.release(SLOW, AdaptiveConcurrencyLimit.Outcome.SUCCESS);
+        }
+        assertEquals(5, limit.getLimit());
+
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, AdaptiveConcurrencyLimit.Outcome.FAILURE);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+}
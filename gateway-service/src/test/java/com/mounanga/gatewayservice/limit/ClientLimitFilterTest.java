@@ -0,0 +1,105 @@
+package com.mounanga.gatewayservice.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class ClientLimitFilterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClientLimitFilter filter;
+    private Mono<Void> serviceDelay;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ClientLimitFilter(new ClientLimitProperties(true, 100, Duration.ofMinutes(10), Map.of(
+                "CUSTOMER-SERVICE", new ClientLimitProperties.Route(ClientLimitProperties.ClientKey.IP, 2, 2, 0, 1, 0),
+                "ACCOUNT-SERVICE", new ClientLimitProperties.Route(ClientLimitProperties.ClientKey.AUTHORIZATION, 0, 0, 1, 1, 1))),
+                meterRegistry, now::get);
+        serviceDelay = Mono.empty();
+    }
+
+    @Test
+    void testClientOverItsRateIsRejectedUntilItsBucketRefills() {
+        assertEquals(HttpStatus.OK, call(request("lb://CUSTOMER-SERVICE", "10.0.0.1", null)));
+        assertEquals(HttpStatus.OK, call(request("lb://CUSTOMER-SERVICE", "10.0.0.1", null)));
+        MockServerWebExchange rejected = request("lb://CUSTOMER-SERVICE", "10.0.0.1", null);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, call(rejected));
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(HttpStatus.OK, call(request("lb://CUSTOMER-SERVICE", "10.0.0.2", null)));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(HttpStatus.OK, call(request("lb://CUSTOMER-SERVICE", "10.0.0.1", null)));
+
+        assertEquals(4, calls.get());
+        assertEquals(1.0, meterRegistry.get("gateway.requests.rejected").tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    void testClientOverItsConcurrencyIsRejected() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        serviceDelay = gate.asMono();
+        Mono<Void> pending = filter.filter(request("lb://ACCOUNT-SERVICE", "10.0.0.1", "Bearer a"), this::service).cache();
+        pending.subscribe();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, call(request("lb://ACCOUNT-SERVICE", "10.0.0.2", "Bearer a")));
+        serviceDelay = Mono.empty();
+        assertEquals(HttpStatus.OK, call(request("lb://ACCOUNT-SERVICE", "10.0.0.1", "Bearer b")));
+
+        gate.tryEmitEmpty();
+        pending.block(Duration.ofSeconds(5));
+        assertEquals(HttpStatus.OK, call(request("lb://ACCOUNT-SERVICE", "10.0.0.2", "Bearer a")));
+        assertEquals(1.0, meterRegistry.get("gateway.requests.rejected").tag("reason", "concurrency").counter().count());
+    }
+
+    @Test
+    void testUnconfiguredRoutesAreNotLimited() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(HttpStatus.OK, call(request("lb://DISCOVERY-SERVICE", "10.0.0.1", null)));
+        }
+    }
+
+    private HttpStatus call(MockServerWebExchange exchange) {
+        filter.filter(exchange, this::service).block(Duration.ofSeconds(5));
+        return HttpStatus.resolve(exchange.getResponse().getStatusCode().value());
+    }
+
+    /**
+     * Stands for the service behind the route.
+     */
+    private Mono<Void> service(ServerWebExchange exchange) {
+        calls.incrementAndGet();
+        return serviceDelay.then(Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(HttpStatus.OK)));
+    }
+
+    private static MockServerWebExchange request(String uri, String address, String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/")
+                .remoteAddress(new InetSocketAddress(address, 40000));
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id(uri).uri(uri).predicate(e -> true).build());
+        return exchange;
+    }
+}
@@ -0,0 +1,147 @@
+package com.mounanga.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends the requests of a load test to customer-service and account-service, through the gateway unless the scenario
+ * says otherwise. Every request is asynchronous: its future completes with the response, whatever its status, or
+ * exceptionally if no response came.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class BankClient {
+
+    private static final String JSON = "application/json";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI customers;
+    private final URI accounts;
+    private final Duration requestTimeout;
+
+    /**
+     * @param scenario       the scenario, which gives the addresses of the services.
+     * @param requestTimeout the time after which a request without response fails.
+     * @param executor       the executor of the response handlers.
+     */
+    public BankClient(Scenario scenario, Duration requestTimeout, Executor executor) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+        this.customers = URI.create(scenario.customerUrl() + "/customers/");
+        this.accounts = URI.create(scenario.accountUrl() + "/accounts/");
+        this.requestTimeout = requestTimeout;
+    }
+
+    public CompletableFuture<HttpResponse<String>> createCustomer(Dataset.NewCustomer customer) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("cin", customer.cin())
+                .put("firstname", customer.firstname())
+                .put("name", customer.name())
+                .put("dateOfBirth", "1990-05-15")
+                .put("placeOfBirth", "Libreville")
+                .put("nationality", "Gabonese")
+                .put("sex", "M")
+                .put("email", customer.email());
+        return send(request(customers.resolve("create")).POST(json(body)));
+    }
+
+    public CompletableFuture<HttpResponse<String>> getCustomer(String id) {
+        return send(request(customers.resolve("get/" + encode(id))).GET());
+    }
+
+    public CompletableFuture<HttpResponse<String>> searchCustomers(String keyword) {
+        return send(request(customers.resolve("search?size=20&keyword=" + encode(keyword))).GET());
+    }
+
+    public CompletableFuture<HttpResponse<String>> createAccount(String customerId) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("customerId", customerId)
+                .put("currency", "XAF");
+        return send(request(accounts.resolve("commands/create")).POST(json(body)));
+    }
+
+    public CompletableFuture<HttpResponse<String>> credit(String accountId, BigDecimal amount) {
+        return send(request(accounts.resolve("commands/credit")).PUT(json(operation(accountId, "load test credit", amount))));
+    }
+
+    public CompletableFuture<HttpResponse<String>> debit(String accountId, BigDecimal amount) {
+        return send(request(accounts.resolve("commands/debit")).PUT(json(operation(accountId, "load test debit", amount))));
+    }
+
+    public CompletableFuture<HttpResponse<String>> getAccount(String id) {
+        return send(request(accounts.resolve("queries/get-account/" + encode(id))).GET());
+    }
+
+    public CompletableFuture<HttpResponse<String>> findAccount(String customerId) {
+        return send(request(accounts.resolve("queries/find-account/" + encode(customerId))).GET());
+    }
+
+    public CompletableFuture<HttpResponse<String>> listOperations(String accountId) {
+        return send(request(accounts.resolve("queries/list-operations?size=10&accountId=" + encode(accountId))).GET());
+    }
+
+    /**
+     * Returns the id of a created customer, from the response of {@link #createCustomer}.
+     *
+     * @throws IllegalStateException if the response is not a customer.
+     */
+    public String customerId(HttpResponse<String> response) {
+        try {
+            String id = objectMapper.readTree(response.body()).path("id").asText(null);
+            if (id == null) {
+                throw new IllegalStateException("no customer id in " + response.body());
+            }
+            return id;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("the response is not a customer: " + response.body(), e);
+        }
+    }
+
+    /**
+     * Returns the id of a created account, from the response of {@link #createAccount}.
+     */
+    public String accountId(HttpResponse<String> response) {
+        return response.body().trim().replace("\"", "");
+    }
+
+    private ObjectNode operation(String accountId, String description, BigDecimal amount) {
+        return objectMapper.createObjectNode()
+                .put("accountId", accountId)
+                .put("description", description)
+                .put("amount", amount);
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(requestTimeout).header("Accept", JSON).header("Content-Type", JSON);
+    }
+
+    private HttpRequest.BodyPublisher json(ObjectNode body) {
+        return HttpRequest.BodyPublishers.ofString(body.toString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest.Builder request) {
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mounanga.loadtest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends requests from a fixed number of clients, each on its own virtual thread: a client sends a request, waits for
+ * its response, waits the think time, then sends the next one. The throughput is whatever the services sustain
+ * with that many requests in flight.
+ *
+ * <p>
+ * The latency of a request is measured from the time it was sent. A closed model slows down with the services, so
+ * its latencies understate what users arriving independently would see: use it to measure the services at a given
+ * concurrency, and the {@link OpenModelDriver} to measure them at a given load.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class ClosedModelDriver extends Driver {
+
+    public ClosedModelDriver(Scenario scenario, BankClient client, Dataset dataset, Results results) {
+        super(scenario, client, dataset, results);
+    }
+
+    @Override
+    public void run(long measureStartNanos, long endNanos) {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < scenario.clients(); i++) {
+                clients.submit(() -> {
+                    long start;
+                    while ((start = System.nanoTime()) < endNanos) {
+                        Operation operation = scenario.mix().next(ThreadLocalRandom.current());
+                        send(operation, start, start >= measureStartNanos).join();
+                        if (scenario.thinkTime().isPositive()) {
+                            Thread.sleep(scenario.thinkTime());
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mounanga.loadtest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * The customers and accounts a load test works on: the accounts seeded before it, and the new customers it creates.
+ *
+ * <p>
+ * New customers get a CIN and an email unique to the run, so that a test can be run again against the same services.
+ * Names are drawn from {@value #NAMES_COUNT} names, so that a name searched for matches one customer in
+ * {@value #NAMES_COUNT}.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public final class Dataset {
+
+    /**
+     * A seeded account, of its own customer.
+     */
+    public record Account(String id, String customerId) {
+    }
+
+    /**
+     * A customer to create.
+     */
+    public record NewCustomer(String cin, String firstname, String name, String email) {
+    }
+
+    private static final int NAMES_COUNT = 10;
+    private static final List<String> FIRSTNAMES = List.of("John", "Marie", "Pierre", "Fatou", "Aminata",
+            "Paul", "Ines", "Omar", "Lea", "Karim");
+    private static final List<String> NAMES = List.of("Smith", "Dupont", "Durand", "Diallo", "Mbemba",
+            "Martin", "Bernard", "Traore", "Moreau", "Ndiaye");
+
+    private final String run = Long.toString(System.currentTimeMillis(), 36).toUpperCase(Locale.ROOT);
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile List<Account> accounts = List.of();
+
+    /**
+     * Returns a customer never created before.
+     */
+    public NewCustomer newCustomer() {
+        long i = sequence.getAndIncrement();
+        String suffix = run + i;
+        return new NewCustomer("LT" + suffix, FIRSTNAMES.get((int) (i % NAMES_COUNT)),
+                NAMES.get((int) ((i / NAMES_COUNT) % NAMES_COUNT)), "load-test-" + suffix.toLowerCase(Locale.ROOT) + "@e-bank.com");
+    }
+
+    /**
+     * Returns a seeded account, drawn at random.
+     */
+    public Account account(RandomGenerator random) {
+        List<Account> seeded = accounts;
+        return seeded.get(random.nextInt(seeded.size()));
+    }
+
+    /**
+     * Returns a name of the customers, drawn at random.
+     */
+    public String name(RandomGenerator random) {
+        return NAMES.get(random.nextInt(NAMES_COUNT));
+    }
+
+    List<Account> accounts() {
+        return accounts;
+    }
+
+    void seeded(List<Account> accounts) {
+        this.accounts = List.copyOf(accounts);
+    }
+}
@@ -0,0 +1,88 @@
+package com.mounanga.loadtest;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends the requests of a scenario, as its {@link Scenario.Model} says, and records them in the {@link Results}.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public abstract class Driver {
+
+    protected final Scenario scenario;
+    private final BankClient client;
+    private final Dataset dataset;
+    private final Results results;
+
+    protected Driver(Scenario scenario, BankClient client, Dataset dataset, Results results) {
+        this.scenario = scenario;
+        this.client = client;
+        this.dataset = dataset;
+        this.results = results;
+    }
+
+    /**
+     * Returns the driver of a scenario.
+     */
+    public static Driver of(Scenario scenario, BankClient client, Dataset dataset, Results results) {
+        return switch (scenario.model()) {
+            case OPEN -> new OpenModelDriver(scenario, client, dataset, results);
+            case CLOSED -> new ClosedModelDriver(scenario, client, dataset, results);
+        };
+    }
+
+    /**
+     * Sends requests until {@code endNanos}, measuring those started from {@code measureStartNanos}. Both are
+     * {@link System#nanoTime()} values.
+     *
+     * @throws InterruptedException if interrupted while sending.
+     */
+    public abstract void run(long measureStartNanos, long endNanos) throws InterruptedException;
+
+    /**
+     * Sends an operation.
+     *
+     * @param startNanos the time the operation should have been sent, from which its latency is measured.
+     * @param measured   whether it is recorded.
+     * @return a future completed once the operation is recorded, never exceptionally.
+     */
+    protected CompletableFuture<Void> send(Operation operation, long startNanos, boolean measured) {
+        results.started();
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = operation.send(client, dataset, ThreadLocalRandom.current());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.handle((value, failure) -> {
+            results.completed(operation, measured, System.nanoTime() - startNanos, error(value, failure));
+            return null;
+        });
+    }
+
+    /**
+     * Records an operation not sent, because too many are in flight.
+     */
+    protected void drop(Operation operation, boolean measured) {
+        if (measured) {
+            results.dropped(operation);
+        }
+    }
+
+    protected int inFlight() {
+        return results.inFlight();
+    }
+
+    private static String error(HttpResponse<String> response, Throwable failure) {
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            return cause.getClass().getSimpleName();
+        }
+        return Operation.isSuccess(response) ? null : "HTTP " + response.statusCode();
+    }
+}
@@ -0,0 +1,92 @@
+package com.mounanga.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a load test against the gateway, customer-service and account-service, started beforehand.
+ *
+ * <p>
+ * Usage: {@code LoadTest <scenario> [key=value...]}, where the scenario is the name of one of
+ * {@code src/main/resources/scenarios} or the path of a properties file, and each {@code key=value} overrides one of
+ * its properties (see {@link Scenario}). The test seeds its accounts, sends requests for the warmup then the duration
+ * of the scenario, waits for the last responses, then reports the throughput, the latency percentiles and the errors
+ * of each operation. The reports go to a directory named after the scenario and the time, in {@code output}.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class LoadTest {
+
+    private static final DateTimeFormatter DIRECTORY_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Scenario scenario;
+    private final PrintStream out;
+
+    public LoadTest(Scenario scenario, PrintStream out) {
+        this.scenario = scenario;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("usage: LoadTest <scenario> [key=value...]");
+            System.exit(2);
+        }
+        Scenario scenario = Scenario.load(args[0], Arrays.asList(args).subList(1, args.length));
+        new LoadTest(scenario, System.out).run();
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @throws IOException          if a report can not be written.
+     * @throws InterruptedException if interrupted.
+     */
+    public void run() throws IOException, InterruptedException {
+        Path directory = scenario.output().resolve(scenario.name() + "-" + LocalDateTime.now().format(DIRECTORY_TIME));
+        out.println(scenario.describe());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             Results results = new Results(scenario, directory)) {
+            Dataset dataset = new Dataset();
+            new Seeder(scenario, executor).seed(dataset, out);
+            BankClient client = new BankClient(scenario, scenario.requestTimeout(), executor);
+
+            long warmupNanos = scenario.warmup().toNanos();
+            long intervalNanos = scenario.reportInterval().toNanos();
+            long start = System.nanoTime();
+            long measureStart = start + warmupNanos;
+            long end = measureStart + scenario.duration().toNanos();
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            try {
+                out.printf("Warming up for %s%n", scenario.warmup());
+                reporter.schedule(results::start, warmupNanos, TimeUnit.NANOSECONDS);
+                reporter.scheduleAtFixedRate(() -> results.reportInterval(out), warmupNanos + intervalNanos,
+                        intervalNanos, TimeUnit.NANOSECONDS);
+                Driver.of(scenario, client, dataset, results).run(measureStart, end);
+                awaitLastResponses(results);
+            } finally {
+                reporter.shutdownNow();
+                reporter.awaitTermination(1, TimeUnit.MINUTES);
+            }
+            results.report(out, scenario.duration().toNanos() / 1e9);
+        }
+    }
+
+    private void awaitLastResponses(Results results) throws InterruptedException {
+        long deadline = System.nanoTime() + scenario.requestTimeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (results.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mounanga.loadtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at the rate of the scenario, whatever the response times, as independent users would.
+ *
+ * <p>
+ * Each request has an intended start time, spaced from the previous one by an exponential delay for Poisson arrivals
+ * or by a constant one for uniform arrivals. Its latency is measured from that time, not from the time it was
+ * actually sent, so that a stall of the driver or of the services shows in the latencies instead of hiding behind
+ * fewer requests. A request is dropped, and counted as such, when {@code max-in-flight} requests are already waiting
+ * for their response.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class OpenModelDriver extends Driver {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    public OpenModelDriver(Scenario scenario, BankClient client, Dataset dataset, Results results) {
+        super(scenario, client, dataset, results);
+    }
+
+    @Override
+    public void run(long measureStartNanos, long endNanos) throws InterruptedException {
+        long intended = System.nanoTime();
+        while (intended < endNanos) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            Operation operation = scenario.mix().next(random);
+            boolean measured = intended >= measureStartNanos;
+            if (inFlight() >= scenario.maxInFlight()) {
+                drop(operation, measured);
+            } else {
+                send(operation, intended, measured);
+            }
+            intended += nextInterval();
+        }
+    }
+
+    private long nextInterval() {
+        double meanNanos = NANOS_PER_SECOND / scenario.rate();
+        return switch (scenario.arrivals()) {
+            case POISSON -> Math.round(-Math.log(1.0 - random.nextDouble()) * meanNanos);
+            case UNIFORM -> Math.round(meanNanos);
+        };
+    }
+}
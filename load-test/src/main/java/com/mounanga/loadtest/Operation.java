@@ -0,0 +1,145 @@
+package com.mounanga.loadtest;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+
+/**
+ * The operations a load test sends, each measured on its own. An operation is known in the scenarios by its
+ * {@link #key()}.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public enum Operation {
+
+    /**
+     * Creates a customer.
+     */
+    CREATE_CUSTOMER {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.createCustomer(dataset.newCustomer());
+        }
+    },
+
+    /**
+     * Creates a customer, then an account for this customer: the two requests are measured as one.
+     */
+    OPEN_ACCOUNT {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.createCustomer(dataset.newCustomer()).thenCompose(response -> isSuccess(response)
+                    ? client.createAccount(client.customerId(response))
+                    : CompletableFuture.completedFuture(response));
+        }
+    },
+
+    /**
+     * Credits a seeded account with 1 to 100.
+     */
+    CREDIT {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.credit(dataset.account(random).id(), amount(random));
+        }
+    },
+
+    /**
+     * Debits a seeded account of 1 to 100.
+     */
+    DEBIT {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.debit(dataset.account(random).id(), amount(random));
+        }
+    },
+
+    /**
+     * Reads a seeded account by its id.
+     */
+    GET_ACCOUNT {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.getAccount(dataset.account(random).id());
+        }
+    },
+
+    /**
+     * Reads the account of a seeded customer.
+     */
+    FIND_ACCOUNT {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.findAccount(dataset.account(random).customerId());
+        }
+    },
+
+    /**
+     * Reads the last operations of a seeded account.
+     */
+    LIST_OPERATIONS {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.listOperations(dataset.account(random).id());
+        }
+    },
+
+    /**
+     * Reads a seeded customer by its id.
+     */
+    GET_CUSTOMER {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.getCustomer(dataset.account(random).customerId());
+        }
+    },
+
+    /**
+     * Searches the customers by a name, which matches one in ten.
+     */
+    SEARCH_CUSTOMERS {
+        @Override
+        CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random) {
+            return client.searchCustomers(dataset.name(random));
+        }
+    };
+
+    /**
+     * Sends the request, or requests, of the operation.
+     *
+     * @return the future of the last response.
+     */
+    abstract CompletableFuture<HttpResponse<String>> send(BankClient client, Dataset dataset, RandomGenerator random);
+
+    /**
+     * Returns the name of the operation in the scenarios and the reports, such as {@code open-account}.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Returns the operation of a key.
+     *
+     * @throws IllegalArgumentException if no operation has this key.
+     */
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key().equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("no operation " + key));
+    }
+
+    static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static BigDecimal amount(RandomGenerator random) {
+        return BigDecimal.valueOf(1 + random.nextInt(100));
+    }
+}
@@ -0,0 +1,78 @@
+package com.mounanga.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * The operations of a scenario, each drawn in proportion to its weight.
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public final class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    /**
+     * @param weights the weight of each operation. Operations of weight {@code 0} are never drawn.
+     * @throws IllegalArgumentException if a weight is negative or no weight is positive.
+     */
+    public OperationMix(Map<Operation, Integer> weights) {
+        EnumMap<Operation, Integer> positive = new EnumMap<>(Operation.class);
+        weights.forEach((operation, weight) -> {
+            if (weight < 0) {
+                throw new IllegalArgumentException("the weight of " + operation.key() + " is negative");
+            }
+            if (weight > 0) {
+                positive.put(operation, weight);
+            }
+        });
+        if (positive.isEmpty()) {
+            throw new IllegalArgumentException("the mix has no operation");
+        }
+        this.weights = Collections.unmodifiableMap(positive);
+        this.operations = positive.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += positive.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Draws an operation.
+     */
+    public Operation next(RandomGenerator random) {
+        int drawn = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (drawn < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    /**
+     * Returns the operations that can be drawn.
+     */
+    public Set<Operation> operations() {
+        return weights.keySet();
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().key() + "=" + entry.getValue())
+                .collect(Collectors.joining(", ", "{", "}"));
+    }
+}
@@ -0,0 +1,239 @@
+package com.mounanga.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies and errors of the measured requests of a load test, by operation.
+ *
+ * <p>
+ * Latencies are recorded in microseconds in HDR histograms, those of errors included; requests dropped because too
+ * many were in flight have none. Every report interval, the latencies of the interval are printed and appended to
+ * {@code latency.hlog}, tagged by operation. At the end, the report of the whole test is printed and written to
+ * {@code summary.txt}, and the percentile distribution of each operation to {@code <operation>.hgrm}, both readable by
+ * the HdrHistogram tools.
+ * </p>
+ *
+ * <p>
+ * {@link #started()} and {@link #completed} are called by the drivers from any thread, the other methods from the
+ * thread that reports.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class Results implements AutoCloseable {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String ALL = "all";
+
+    private final Scenario scenario;
+    private final Path directory;
+    private final Map<Operation, OperationResults> operations = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final PrintStream log;
+    private final HistogramLogWriter logWriter;
+    private long startMillis;
+    private long intervalStartMillis;
+
+    /**
+     * @param scenario  the scenario measured.
+     * @param directory the directory of the reports, created if needed.
+     * @throws IOException if the directory or the log can not be created.
+     */
+    public Results(Scenario scenario, Path directory) throws IOException {
+        this.scenario = scenario;
+        this.directory = Files.createDirectories(directory);
+        for (Operation operation : scenario.mix().operations()) {
+            operations.put(operation, new OperationResults());
+        }
+        this.log = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")), false);
+        this.logWriter = new HistogramLogWriter(log);
+    }
+
+    /**
+     * Starts the measurement: what completes from now on is recorded, if it was started after now too.
+     */
+    public void start() {
+        startMillis = System.currentTimeMillis();
+        intervalStartMillis = startMillis;
+        logWriter.outputComment(scenario.describe());
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(startMillis);
+        logWriter.setBaseTime(startMillis);
+        logWriter.outputLegend();
+        operations.values().forEach(results -> results.recorder.reset());
+        peakInFlight.set(inFlight.get());
+    }
+
+    /**
+     * Counts a request sent, measured or not, in the requests in flight. Their peak is reported from the start of the
+     * measurement.
+     */
+    public void started() {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Counts a request completed, and records it if it was measured.
+     *
+     * @param latencyNanos the latency of the request, from the time it should have been sent.
+     * @param error        what went wrong, or {@code null} if the request succeeded.
+     */
+    public void completed(Operation operation, boolean measured, long latencyNanos, String error) {
+        inFlight.decrementAndGet();
+        if (measured) {
+            OperationResults results = operations.get(operation);
+            results.recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            if (error != null) {
+                results.errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    /**
+     * Records a measured request that was not sent, because too many were in flight.
+     */
+    public void dropped(Operation operation) {
+        operations.get(operation).dropped.increment();
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Closes the current interval: prints its latencies and appends them to the log. An interval without any request,
+     * sent or completed, is not printed.
+     */
+    public void reportInterval(PrintStream out) {
+        long now = System.currentTimeMillis();
+        double seconds = Math.max(now - intervalStartMillis, 1) / 1000.0;
+        Histogram all = new Histogram(3);
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "[%6.1fs]", (now - startMillis) / 1000.0));
+        for (Map.Entry<Operation, OperationResults> entry : operations.entrySet()) {
+            Histogram interval = entry.getValue().interval();
+            interval.setStartTimeStamp(intervalStartMillis);
+            interval.setEndTimeStamp(now);
+            interval.setTag(entry.getKey().key());
+            logWriter.outputIntervalHistogram(interval);
+            all.add(interval);
+        }
+        line.append(String.format(Locale.ROOT, " %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  in flight %d",
+                all.getTotalCount() / seconds, millis(all.getValueAtPercentile(50)), millis(all.getValueAtPercentile(99)),
+                millis(all.getMaxValue()), inFlight.get()));
+        if (all.getTotalCount() > 0 || inFlight.get() > 0) {
+            out.println(line);
+        }
+        log.flush();
+        intervalStartMillis = now;
+    }
+
+    /**
+     * Closes the last interval, then prints and writes the report of the whole test.
+     *
+     * @param measuredSeconds the duration of the measurement.
+     * @throws IOException if a report can not be written.
+     */
+    public void report(PrintStream out, double measuredSeconds) throws IOException {
+        reportInterval(out);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")), false)) {
+            for (PrintStream stream : new PrintStream[]{out, summary}) {
+                printSummary(stream, measuredSeconds);
+            }
+        }
+        Histogram all = new Histogram(3);
+        for (Map.Entry<Operation, OperationResults> entry : operations.entrySet()) {
+            writeDistribution(entry.getKey().key(), entry.getValue().total);
+            all.add(entry.getValue().total);
+        }
+        writeDistribution(ALL, all);
+        out.println("Reports written to " + directory.toAbsolutePath());
+    }
+
+    private void printSummary(PrintStream out, double measuredSeconds) {
+        out.println();
+        out.println(scenario.describe());
+        out.printf(Locale.ROOT, "%-17s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n", "operation", "count", "req/s",
+                "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        long allDropped = 0;
+        Map<String, Long> errors = new TreeMap<>();
+        for (Map.Entry<Operation, OperationResults> entry : operations.entrySet()) {
+            OperationResults results = entry.getValue();
+            long operationErrors = 0;
+            for (Map.Entry<String, LongAdder> error : results.errors.entrySet()) {
+                long count = error.getValue().sum();
+                operationErrors += count;
+                errors.merge(entry.getKey().key() + ": " + error.getKey(), count, Long::sum);
+            }
+            printRow(out, entry.getKey().key(), results.total, operationErrors, results.dropped.sum(), measuredSeconds);
+            all.add(results.total);
+            allErrors += operationErrors;
+            allDropped += results.dropped.sum();
+        }
+        printRow(out, ALL, all, allErrors, allDropped, measuredSeconds);
+        long sent = all.getTotalCount() + allDropped;
+        out.printf(Locale.ROOT, "error rate %.3f%%, dropped %.3f%%, peak in flight %d%n",
+                sent == 0 ? 0.0 : 100.0 * allErrors / sent, sent == 0 ? 0.0 : 100.0 * allDropped / sent, peakInFlight.get());
+        errors.forEach((error, count) -> out.printf(Locale.ROOT, "  %s x %d%n", error, count));
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors, long dropped, double seconds) {
+        out.printf(Locale.ROOT, "%-17s %9d %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors, dropped,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private void writeDistribution(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")), false)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    private static final class OperationResults {
+
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram total = new Histogram(3);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+        private Histogram interval;
+
+        private Histogram interval() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return interval;
+        }
+    }
+}
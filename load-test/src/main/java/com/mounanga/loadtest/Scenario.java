@@ -0,0 +1,155 @@
+package com.mounanga.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A load test: the services it targets, how its requests arrive, how long it lasts and which operations it sends.
+ *
+ * <p>
+ * A scenario is read from a properties file, one of {@code src/main/resources/scenarios} by its name or any file by
+ * its path, then from {@code key=value} overrides. The keys are:
+ * </p>
+ * <ul>
+ *     <li>{@code customer-url}, {@code account-url}: where the requests to each service go, through the gateway by
+ *     default. Point one at its service, such as {@code http://localhost:8880/bank}, to bypass the gateway.</li>
+ *     <li>{@code model}: {@code open}, where requests arrive at {@code rate} per second whatever the response times,
+ *     with {@code arrivals} {@code poisson} or {@code uniform} and at most {@code max-in-flight} at once; or
+ *     {@code closed}, where {@code clients} clients each send a request, wait for its response, then
+ *     {@code think-time}, and start again.</li>
+ *     <li>{@code warmup}, {@code duration}, {@code report-interval}, {@code request-timeout}: ISO-8601 durations.
+ *     Nothing sent during the warmup is measured.</li>
+ *     <li>{@code seed.accounts}, {@code seed.balance}: the customers and accounts created before the test, each account
+ *     credited with the balance. Credits, debits and queries go to these accounts and customers.</li>
+ *     <li>{@code mix.<operation>}: the weight of each {@link Operation}, by its key. An operation without weight is
+ *     not sent.</li>
+ *     <li>{@code output}: the directory of the reports.</li>
+ * </ul>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public record Scenario(String name, URI customerUrl, URI accountUrl, Model model,
+                       double rate, Arrivals arrivals, int maxInFlight, int clients, Duration thinkTime,
+                       Duration warmup, Duration duration, Duration reportInterval, Duration requestTimeout,
+                       int seedAccounts, BigDecimal seedBalance, OperationMix mix, Path output) {
+
+    /**
+     * How the requests of a scenario are started.
+     */
+    public enum Model {
+        OPEN, CLOSED
+    }
+
+    /**
+     * How the requests of an open scenario are spaced.
+     */
+    public enum Arrivals {
+        POISSON, UNIFORM
+    }
+
+    private static final String MIX_PREFIX = "mix.";
+
+    /**
+     * Reads a scenario.
+     *
+     * @param nameOrPath the name of a scenario of {@code src/main/resources/scenarios}, or the path of a properties file.
+     * @param overrides  properties as {@code key=value}, which replace those of the file.
+     * @return the scenario.
+     * @throws IOException if the file can not be read.
+     * @throws IllegalArgumentException if the scenario does not exist or a property is invalid.
+     */
+    public static Scenario load(String nameOrPath, List<String> overrides) throws IOException {
+        Properties properties = new Properties();
+        Path file = Path.of(nameOrPath);
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+        } else {
+            try (InputStream in = Scenario.class.getResourceAsStream("/scenarios/" + nameOrPath + ".properties")) {
+                if (in == null) {
+                    throw new IllegalArgumentException("no scenario " + nameOrPath);
+                }
+                properties.load(in);
+            }
+        }
+        for (String override : overrides) {
+            int equals = override.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("override " + override + " is not key=value");
+            }
+            properties.setProperty(override.substring(0, equals).trim(), override.substring(equals + 1).trim());
+        }
+        String name = properties.getProperty("name", file.getFileName().toString().replaceFirst("\\.properties$", ""));
+        return from(name, properties);
+    }
+
+    static Scenario from(String name, Properties properties) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(MIX_PREFIX)) {
+                weights.put(Operation.fromKey(key.substring(MIX_PREFIX.length())), Integer.parseInt(properties.getProperty(key)));
+            }
+        }
+        Scenario scenario = new Scenario(
+                name,
+                URI.create(properties.getProperty("customer-url", "http://localhost:8888/CUSTOMER-SERVICE/bank")),
+                URI.create(properties.getProperty("account-url", "http://localhost:8888/ACCOUNT-SERVICE/bank")),
+                Model.valueOf(properties.getProperty("model", "open").toUpperCase(Locale.ROOT)),
+                Double.parseDouble(properties.getProperty("rate", "100")),
+                Arrivals.valueOf(properties.getProperty("arrivals", "poisson").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(properties.getProperty("max-in-flight", "10000")),
+                Integer.parseInt(properties.getProperty("clients", "100")),
+                Duration.parse(properties.getProperty("think-time", "PT0S")),
+                Duration.parse(properties.getProperty("warmup", "PT10S")),
+                Duration.parse(properties.getProperty("duration", "PT60S")),
+                Duration.parse(properties.getProperty("report-interval", "PT5S")),
+                Duration.parse(properties.getProperty("request-timeout", "PT10S")),
+                Integer.parseInt(properties.getProperty("seed.accounts", "100")),
+                new BigDecimal(properties.getProperty("seed.balance", "1000000")),
+                new OperationMix(weights),
+                Path.of(properties.getProperty("output", "target/load-test")));
+        scenario.validate();
+        return scenario;
+    }
+
+    private void validate() {
+        if (model == Model.OPEN && (rate <= 0 || maxInFlight <= 0)) {
+            throw new IllegalArgumentException("an open scenario needs a positive rate and max-in-flight");
+        }
+        if (model == Model.CLOSED && clients <= 0) {
+            throw new IllegalArgumentException("a closed scenario needs at least one client");
+        }
+        if (duration.isZero() || duration.isNegative() || reportInterval.isZero() || reportInterval.isNegative()) {
+            throw new IllegalArgumentException("duration and report-interval must be positive");
+        }
+        if (seedAccounts <= 0) {
+            throw new IllegalArgumentException("seed.accounts must be positive");
+        }
+    }
+
+    /**
+     * Describes the scenario in one line, for the reports.
+     */
+    public String describe() {
+        String load = model == Model.OPEN
+                ? String.format(Locale.ROOT, "open model, %s arrivals at %.1f/s, at most %d in flight",
+                arrivals.name().toLowerCase(Locale.ROOT), rate, maxInFlight)
+                : String.format(Locale.ROOT, "closed model, %d clients, think time %s", clients, thinkTime);
+        return String.format(Locale.ROOT, "%s: %s, warmup %s, duration %s, %d seeded accounts, mix %s, targets %s and %s",
+                name, load, warmup, duration, seedAccounts, mix, customerUrl, accountUrl);
+    }
+}
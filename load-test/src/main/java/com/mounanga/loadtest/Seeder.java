@@ -0,0 +1,107 @@
+package com.mounanga.loadtest;
+
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates the customers and accounts of a scenario before it runs: {@code seed.accounts} customers, an account for
+ * each, credited with {@code seed.balance} so that the debits of the test do not fail for lack of funds.
+ *
+ * <p>
+ * Its requests may wait for {@value #REQUEST_TIMEOUT_SECONDS} seconds, much longer than those of the test: the first
+ * ones reach services that have not handled any request yet, whose event processors and caches are still starting.
+ * </p>
+ *
+ * <p>
+ * The queries of account-service read a projection updated asynchronously by its event processors, so the seeder
+ * then waits until every account can be read: the queries of the test would otherwise fail for accounts not yet
+ * projected.
+ * </p>
+ *
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @since 2024
+ * @version 3.0
+ */
+public class Seeder {
+
+    private static final int CONCURRENCY = 32;
+    private static final long REQUEST_TIMEOUT_SECONDS = 60;
+    private static final Duration PROJECTION_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration PROJECTION_POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final Scenario scenario;
+    private final BankClient client;
+
+    /**
+     * @param executor the executor of the response handlers.
+     */
+    public Seeder(Scenario scenario, Executor executor) {
+        this.scenario = scenario;
+        this.client = new BankClient(scenario, Duration.ofSeconds(REQUEST_TIMEOUT_SECONDS), executor);
+    }
+
+    /**
+     * Creates the accounts and gives them to the dataset.
+     *
+     * @throws IllegalStateException if an account can not be created, or read in time.
+     * @throws InterruptedException  if interrupted while seeding.
+     */
+    public void seed(Dataset dataset, PrintStream out) throws InterruptedException {
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<Dataset.Account>> futures = new ArrayList<>(scenario.seedAccounts());
+        for (int i = 0; i < scenario.seedAccounts(); i++) {
+            permits.acquire();
+            futures.add(seedAccount(dataset.newCustomer()).whenComplete((account, failure) -> permits.release()));
+        }
+        List<Dataset.Account> accounts = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<Dataset.Account> future : futures) {
+                accounts.add(future.join());
+            }
+        } catch (CompletionException e) {
+            throw new IllegalStateException("seeding failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        dataset.seeded(accounts);
+        awaitProjection(accounts);
+        out.printf("Seeded %d accounts in %d ms%n", accounts.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private CompletableFuture<Dataset.Account> seedAccount(Dataset.NewCustomer customer) {
+        return client.createCustomer(customer)
+                .thenApply(response -> client.customerId(expectSuccess("create customer", response)))
+                .thenCompose(customerId -> client.createAccount(customerId)
+                        .thenApply(response -> new Dataset.Account(client.accountId(expectSuccess("create account", response)), customerId)))
+                .thenCompose(account -> client.credit(account.id(), scenario.seedBalance())
+                        .thenApply(response -> {
+                            expectSuccess("credit", response);
+                            return account;
+                        }));
+    }
+
+    private void awaitProjection(List<Dataset.Account> accounts) throws InterruptedException {
+        long deadline = System.nanoTime() + PROJECTION_TIMEOUT.toNanos();
+        for (Dataset.Account account : accounts) {
+            while (!Operation.isSuccess(client.getAccount(account.id()).join())) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("account " + account.id() + " not readable after " + PROJECTION_TIMEOUT);
+                }
+                Thread.sleep(PROJECTION_POLL_INTERVAL);
+            }
+        }
+    }
+
+    private static HttpResponse<String> expectSuccess(String request, HttpResponse<String> response) {
+        if (!Operation.isSuccess(response)) {
+            throw new IllegalStateException(request + " answered HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,59 @@
+package com.mounanga.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioTest {
+
+    @Test
+    void testScenarioIsReadFromItsFileThenFromTheOverrides() throws IOException {
+        Scenario scenario = Scenario.load("mixed", List.of("rate=500", "duration=PT5M", "mix.search-customers=0"));
+
+        assertEquals("mixed", scenario.name());
+        assertEquals(Scenario.Model.OPEN, scenario.model());
+        assertEquals(500, scenario.rate());
+        assertEquals(Duration.ofMinutes(5), scenario.duration());
+        assertEquals(200, scenario.seedAccounts());
+        assertTrue(scenario.mix().operations().contains(Operation.OPEN_ACCOUNT));
+        assertFalse(scenario.mix().operations().contains(Operation.SEARCH_CUSTOMERS));
+    }
+
+    @Test
+    void testEveryScenarioIsValid() throws IOException {
+        for (String name : List.of("mixed", "account-queries-2k", "virtual-threads")) {
+            assertNotNull(Scenario.load(name, List.of()).mix());
+        }
+        assertEquals(2000, Scenario.load("account-queries-2k", List.of()).clients());
+    }
+
+    @Test
+    void testInvalidScenariosAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Scenario.load("unknown", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.load("mixed", List.of("mix.transfer=1")));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.load("mixed", List.of("rate=0")));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.load("mixed", List.of("rate")));
+    }
+
+    @Test
+    void testOperationsAreDrawnInProportionToTheirWeight() {
+        OperationMix mix = new OperationMix(Map.of(Operation.CREDIT, 3, Operation.GET_ACCOUNT, 1, Operation.DEBIT, 0));
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Operation, Integer> drawn = new EnumMap<>(Operation.class);
+
+        for (int i = 0; i < 40_000; i++) {
+            drawn.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(30_000, drawn.get(Operation.CREDIT), 600);
+        assertEquals(10_000, drawn.get(Operation.GET_ACCOUNT), 600);
+        assertNull(drawn.get(Operation.DEBIT));
+    }
+}